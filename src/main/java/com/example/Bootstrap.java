@@ -1,16 +1,103 @@
 package com.example;
 
+import akka.javasdk.DependencyProvider;
 import akka.javasdk.ServiceSetup;
 import akka.javasdk.annotations.Setup;
+import akka.javasdk.client.ComponentClient;
 import com.example.application.ContentPushConsumer;
+import com.example.application.PushBatchConsumer;
+import com.example.application.agents.OutputLimits;
+import com.example.application.agents.ResponseRepair;
+import com.example.application.agents.VerdictStream;
+import com.example.application.agents.VerdictStreamSettings;
+import com.example.application.calibration.ReviewCalibrationConsumer;
+import com.example.application.calibration.ReviewCalibrationSettings;
+import com.example.application.coalescing.ProgressCoalescing;
+import com.example.application.ingestion.ContentIngestionConsumer;
+import com.example.application.ingestion.IngestionMetrics;
+import com.example.application.ingestion.IngestionSettings;
+import com.example.application.invocation.AgentInvoker;
+import com.example.application.invocation.CircuitBreakerSettings;
+import com.example.application.invocation.FairScheduler;
+import com.example.application.invocation.FairSchedulerSettings;
+import com.example.application.invocation.HedgingSettings;
+import com.example.application.logo.LogoMatcher;
+import com.example.application.logo.LogoMatcherSettings;
+import com.example.application.preprocessing.PayloadNormalizer;
+import com.example.application.preprocessing.PreprocessingSettings;
+import com.example.application.similarity.NearDuplicateIndex;
+import com.example.application.similarity.NearDuplicateSettings;
+import com.example.application.streaming.StatusStreamHub;
+import com.example.application.warmup.WarmUp;
+import com.example.application.warmup.WarmUpSettings;
+import com.example.domain.PayloadCodec;
+import com.typesafe.config.Config;
 
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Setup
 public class Bootstrap implements ServiceSetup {
 
+  private final Map<Class<?>, Object> dependencies;
+  private final IngestionSettings ingestionSettings;
+  private final ReviewCalibrationSettings calibrationSettings;
+  private final ComponentClient componentClient;
+  private final WarmUp warmUp;
+
+  public Bootstrap(Config config, ComponentClient componentClient) {
+    this.ingestionSettings = IngestionSettings.fromConfig(config);
+    this.calibrationSettings = ReviewCalibrationSettings.fromConfig(config);
+    this.componentClient = componentClient;
+    this.warmUp = new WarmUp(WarmUpSettings.fromConfig(config));
+    this.dependencies = Map.ofEntries(
+        Map.entry(AgentInvoker.class, new AgentInvoker(HedgingSettings.fromConfig(config), CircuitBreakerSettings.fromConfig(config))),
+        Map.entry(NearDuplicateIndex.class, new NearDuplicateIndex(NearDuplicateSettings.fromConfig(config))),
+        Map.entry(LogoMatcher.class, LogoMatcher.fromResources(LogoMatcherSettings.fromConfig(config))),
+        Map.entry(IngestionMetrics.class, new IngestionMetrics()),
+        Map.entry(WarmUp.class, warmUp),
+        Map.entry(StatusStreamHub.class, new StatusStreamHub(config)),
+        Map.entry(FairScheduler.class, new FairScheduler(FairSchedulerSettings.fromConfig(config))),
+        Map.entry(ResponseRepair.class, new ResponseRepair(config.getBoolean("content-validation.response-repair.enabled"))),
+        Map.entry(OutputLimits.class, OutputLimits.fromConfig(config)),
+        Map.entry(VerdictStream.class, new VerdictStream(VerdictStreamSettings.fromConfig(config))),
+        Map.entry(PayloadNormalizer.class, new PayloadNormalizer(PreprocessingSettings.fromConfig(config))),
+        Map.entry(ProgressCoalescing.class, new ProgressCoalescing(config.getBoolean("content-validation.coalescing.enabled"))),
+        Map.entry(PayloadCodec.class, new PayloadCodec(
+            config.getBoolean("content-validation.state-codec.compact"),
+            config.getInt("content-validation.state-codec.min-length"))));
+  }
+
+  @Override
+  public void onStartup() {
+    warmUp.start(componentClient);
+  }
+
   @Override
   public Set<Class<?>> disabledComponents() {
-    return Set.of(ContentPushConsumer.class);
+    var disabled = new HashSet<Class<?>>(Set.of(ContentPushConsumer.class, PushBatchConsumer.class));
+    if (!ingestionSettings.enabled()) {
+      disabled.add(ContentIngestionConsumer.class);
+    }
+    if (!calibrationSettings.enabled()) {
+      disabled.add(ReviewCalibrationConsumer.class);
+    }
+    return disabled;
+  }
+
+  @Override
+  public DependencyProvider createDependencyProvider() {
+    return new DependencyProvider() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> T getDependency(Class<T> clazz) {
+        var dependency = dependencies.get(clazz);
+        if (dependency == null) {
+          throw new IllegalArgumentException("No such dependency: " + clazz.getName());
+        }
+        return (T) dependency;
+      }
+    };
   }
 }
\ No newline at end of file
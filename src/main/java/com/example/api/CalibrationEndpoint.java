@@ -0,0 +1,44 @@
+package com.example.api;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.AbstractHttpEndpoint;
+import com.example.application.calibration.ReviewCalibrationEntity;
+import com.example.application.calibration.ReviewCalibrationSettings;
+import com.example.domain.CalibrationReport;
+import com.typesafe.config.Config;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Review threshold calibration maintained by {@link com.example.application.calibration.ReviewCalibrationConsumer},
+ * per tenant and content type; items without either share the "default" segment.
+ */
+@HttpEndpoint("/calibration")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class CalibrationEndpoint extends AbstractHttpEndpoint {
+
+  private final ComponentClient componentClient;
+  private final ReviewCalibrationSettings settings;
+
+  public CalibrationEndpoint(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.settings = ReviewCalibrationSettings.fromConfig(config);
+  }
+
+  /**
+   * Suggested threshold and expected reduction of reviews for {@code ?tenant=&type=}.
+   */
+  @Get
+  public CompletionStage<CalibrationReport> getReport() {
+    var params = requestContext().queryParams();
+    var segment = ReviewCalibrationSettings.segmentId(
+        params.getString("tenant").map(String::toLowerCase).orElse(ReviewCalibrationSettings.DEFAULT_SEGMENT_PART),
+        params.getString("type").map(String::toLowerCase).orElse(ReviewCalibrationSettings.DEFAULT_SEGMENT_PART));
+    return componentClient.forEventSourcedEntity(segment)
+        .method(ReviewCalibrationEntity::getReport)
+        .invokeAsync(settings.target());
+  }
+}
\ No newline at end of file
@@ -1,20 +1,37 @@
 package com.example.api;
 
 import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.headers.Location;
+import akka.http.javadsl.model.headers.RawHeader;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.annotations.http.Post;
 import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
+import com.example.application.ContentStatusView;
 import com.example.application.ContentValidationWorkflow;
+import com.example.application.tracing.ContentSpans;
 import com.example.domain.AggregatedResult;
 import com.example.domain.ContentRequest;
+import com.example.domain.Pipeline;
+import com.example.domain.PushReference;
 import com.example.domain.ReviewDecision;
+import com.typesafe.config.Config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 @HttpEndpoint("/content")
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
-public class ContentEndpoint {
+public class ContentEndpoint extends AbstractHttpEndpoint {
 
   public record SubmitResponse(String contentId, String status) {}
 
@@ -25,37 +42,84 @@ public class ContentEndpoint {
       String language,
       AggregatedResult aggregatedResult,
       ReviewDecision reviewDecision,
-      String failureReason) {}
+      String failureReason,
+      Pipeline pipeline) {}
+
+  public record PayloadResponse(String contentId, String payload, String payloadHash) {}
+
+  /**
+   * @param contentIds the failed items to resume; when empty, failed items are taken from the view
+   */
+  public record ResumeRequest(List<String> contentIds) {}
+
+  public record ResumeResult(String contentId, boolean resumed, String error) {}
+
+  public record ResumeResponse(int resumed, int notResumed, List<ResumeResult> results) {}
 
   private final ComponentClient componentClient;
+  private final int resumeParallelism;
+  private final int resumeMaxItems;
+  private final boolean acceptAsync;
 
-  public ContentEndpoint(ComponentClient componentClient) {
+  public ContentEndpoint(ComponentClient componentClient, Config config) {
     this.componentClient = componentClient;
+    this.acceptAsync = config.getBoolean("content-validation.submit.accept-async");
+    var resume = config.getConfig("content-validation.resume");
+    this.resumeParallelism = resume.getInt("bulk-parallelism");
+    this.resumeMaxItems = resume.getInt("max-items");
   }
 
+  /**
+   * Completes once the workflow has persisted the item, with 201 or, when {@code accept-async} is set
+   * or the request carries {@code Prefer: respond-async}, with 202; either way validation continues in
+   * the background and the response points at the status.
+   */
   @Post
-  public HttpResponse submit(ContentRequest request) {
-    componentClient.forWorkflow(request.contentId())
-        .method(ContentValidationWorkflow::start)
-        .invoke(request);
-    return HttpResponses.created(
-        new SubmitResponse(request.contentId(), "RECEIVED"),
-        "/content/" + request.contentId() + "/status");
+  public CompletionStage<HttpResponse> submit(ContentRequest request) {
+    var respondAsync = acceptAsync || requestContext().requestHeader("Prefer")
+        .map(prefer -> prefer.value().contains("respond-async"))
+        .orElse(false);
+    var location = "/content/" + request.contentId() + "/status";
+    return ContentSpans.tracedAsync(requestContext().tracing(), "submit", request.contentId(), span -> {},
+            () -> componentClient.forWorkflow(request.contentId())
+                .method(ContentValidationWorkflow::start)
+                .invokeAsync(request))
+        .thenApply(done -> respondAsync
+            ? HttpResponses.accepted(new SubmitResponse(request.contentId(), "RECEIVED"))
+                .addHeader(Location.create(location))
+                .addHeader(RawHeader.create("Preference-Applied", "respond-async"))
+            : HttpResponses.created(new SubmitResponse(request.contentId(), "RECEIVED"), location));
   }
 
   @Get("/{contentId}/status")
-  public StatusResponse getStatus(String contentId) {
-    var status = componentClient.forWorkflow(contentId)
+  public CompletionStage<StatusResponse> getStatus(String contentId) {
+    return componentClient.forWorkflow(contentId)
         .method(ContentValidationWorkflow::getStatus)
-        .invoke();
-    return new StatusResponse(
-        status.contentId(),
-        status.status().name(),
-        status.routingTarget(),
-        status.language(),
-        status.aggregatedResult(),
-        status.reviewDecision(),
-        status.failureReason());
+        .invokeAsync()
+        .thenApply(status -> new StatusResponse(
+            status.contentId(),
+            status.status().name(),
+            status.routingTarget(),
+            status.language(),
+            status.aggregatedResult(),
+            status.reviewDecision(),
+            status.failureReason(),
+            status.pipeline()));
+  }
+
+  @Get("/{contentId}/payload")
+  public CompletionStage<PayloadResponse> getPayload(String contentId) {
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::getPayload)
+        .invokeAsync()
+        .thenApply(payload -> new PayloadResponse(contentId, payload, PushReference.sha256(payload.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Get("/{contentId}/normalized")
+  public CompletionStage<ContentValidationWorkflow.NormalizedResponse> getNormalized(String contentId) {
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::getNormalized)
+        .invokeAsync();
   }
 
   @Get("/{contentId}/stream")
@@ -65,4 +129,60 @@ public class ContentEndpoint {
             .notificationStream(ContentValidationWorkflow::statusUpdates)
             .source());
   }
+
+  @Post("/{contentId}/resume")
+  public CompletionStage<HttpResponse> resume(String contentId) {
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::resume)
+        .invokeAsync()
+        .thenApply(done -> HttpResponses.ok());
+  }
+
+  /**
+   * Resumes the listed failed items, or up to {@code max-items} failed items from the view, with at most
+   * {@code bulk-parallelism} calls in flight, and reports the outcome per item. Items rejected by a
+   * guardrail or a reviewer are reported as not resumed.
+   */
+  @Post("/resume")
+  public CompletionStage<ResumeResponse> resumeFailed(ResumeRequest request) {
+    var contentIds = request.contentIds() != null && !request.contentIds().isEmpty()
+        ? CompletableFuture.completedStage(request.contentIds())
+        : componentClient.forView().method(ContentStatusView::getFailedItems).invokeAsync()
+            .thenApply(items -> items.entries().stream()
+                .map(ContentStatusView.StatusEntry::contentId)
+                .limit(resumeMaxItems)
+                .toList());
+    return contentIds.thenCompose(this::resumeAll);
+  }
+
+  private CompletionStage<ResumeResponse> resumeAll(List<String> contentIds) {
+    var results = new ResumeResult[contentIds.size()];
+    var next = new AtomicInteger();
+    var lanes = IntStream.range(0, Math.min(resumeParallelism, contentIds.size()))
+        .mapToObj(i -> resumeNext(contentIds, results, next))
+        .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(lanes).thenApply(done -> {
+      var resumed = (int) Arrays.stream(results).filter(ResumeResult::resumed).count();
+      return new ResumeResponse(resumed, results.length - resumed, List.of(results));
+    });
+  }
+
+  private CompletableFuture<Void> resumeNext(List<String> contentIds, ResumeResult[] results, AtomicInteger next) {
+    var index = next.getAndIncrement();
+    if (index >= contentIds.size()) return CompletableFuture.completedFuture(null);
+    var contentId = contentIds.get(index);
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::resume)
+        .invokeAsync()
+        .handle((done, error) -> results[index] = error == null
+            ? new ResumeResult(contentId, true, null)
+            : new ResumeResult(contentId, false, errorMessage(error)))
+        .thenCompose(result -> resumeNext(contentIds, results, next))
+        .toCompletableFuture();
+  }
+
+  private static String errorMessage(Throwable error) {
+    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause.getMessage();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.example.api;
+
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.http.HttpResponses;
+import com.example.application.agents.ResponseRepair;
+import com.example.application.agents.VerdictStream;
+import com.example.application.coalescing.ProgressCoalescing;
+import com.example.application.ingestion.IngestionMetrics;
+import com.example.application.invocation.AgentInvoker;
+import com.example.application.invocation.CircuitBreaker;
+import com.example.application.invocation.FairScheduler;
+import com.example.application.streaming.StatusStreamHub;
+import com.example.application.warmup.WarmUp;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@HttpEndpoint("/ops")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class OperationsEndpoint {
+
+  public record AgentStatsResponse(List<AgentInvoker.AgentStats> agents) {}
+
+  public record BreakersResponse(boolean enabled, List<CircuitBreaker.Snapshot> breakers) {}
+
+  public record StreamsResponse(List<StatusStreamHub.QueryStats> streams) {}
+
+  /**
+   * @param repairRate share of the agent's calls whose malformed response was repaired locally
+   * @param reAskRate  share of the agent's calls that were retried because repair failed
+   */
+  public record RepairStats(String agentId, long calls, long malformed, long repaired, long reAsked, double repairRate, double reAskRate) {}
+
+  public record RepairsResponse(List<RepairStats> agents) {}
+
+  public record VerdictStreamsResponse(List<VerdictStream.AgentStreamStats> agents) {}
+
+  public record CoalescingResponse(boolean enabled, List<ProgressCoalescing.HandlerStats> handlers) {}
+
+  public record TenantsResponse(boolean enabled, int capacity, List<FairScheduler.TenantStats> tenants) {}
+
+  private final AgentInvoker agentInvoker;
+  private final IngestionMetrics ingestionMetrics;
+  private final WarmUp warmUp;
+  private final StatusStreamHub streamHub;
+  private final FairScheduler fairScheduler;
+  private final ProgressCoalescing progressCoalescing;
+  private final ResponseRepair responseRepair;
+  private final VerdictStream verdictStream;
+
+  public OperationsEndpoint(AgentInvoker agentInvoker, IngestionMetrics ingestionMetrics, WarmUp warmUp,
+                            StatusStreamHub streamHub, FairScheduler fairScheduler, ProgressCoalescing progressCoalescing,
+                            ResponseRepair responseRepair, VerdictStream verdictStream) {
+    this.agentInvoker = agentInvoker;
+    this.ingestionMetrics = ingestionMetrics;
+    this.warmUp = warmUp;
+    this.streamHub = streamHub;
+    this.fairScheduler = fairScheduler;
+    this.progressCoalescing = progressCoalescing;
+    this.responseRepair = responseRepair;
+    this.verdictStream = verdictStream;
+  }
+
+  /**
+   * Per-agent call counts, latency percentiles and hedging outcomes and circuit breaker rejections for this node.
+   */
+  @Get("/agents")
+  public AgentStatsResponse agentStats() {
+    return new AgentStatsResponse(agentInvoker.stats());
+  }
+
+  /**
+   * State of each agent's circuit breaker on this node; empty until an agent is first called.
+   */
+  @Get("/breakers")
+  public BreakersResponse breakers() {
+    return new BreakersResponse(agentInvoker.breakerSettings().enabled(), agentInvoker.breakers());
+  }
+
+  /**
+   * Counts, start rate over the last minute and publish-to-consume lag of the content-inbound topic on this node.
+   */
+  @Get("/ingestion")
+  public IngestionMetrics.Stats ingestion() {
+    return ingestionMetrics.stats();
+  }
+
+  /**
+   * Agent call slots granted per tenant on this node, calls running and waiting, and queue wait percentiles.
+   */
+  @Get("/tenants")
+  public TenantsResponse tenants() {
+    var settings = fairScheduler.settings();
+    return new TenantsResponse(settings.enabled(), settings.capacity(), fairScheduler.stats());
+  }
+
+  /**
+   * Shared view streams of this node: subscribers, rows received from the view and rows dropped by conflation.
+   */
+  @Get("/streams")
+  public StreamsResponse streams() {
+    return new StreamsResponse(streamHub.stats());
+  }
+
+  /**
+   * Malformed structured responses per agent on this node, repaired locally or asked again, relative to
+   * the agent's calls.
+   */
+  @Get("/repairs")
+  public RepairsResponse repairs() {
+    var calls = agentInvoker.stats().stream()
+        .collect(Collectors.toMap(AgentInvoker.AgentStats::agentId, AgentInvoker.AgentStats::calls));
+    return new RepairsResponse(responseRepair.stats().stream()
+        .map(r -> {
+          var agentCalls = Math.max(calls.getOrDefault(r.agentId(), 0L), r.malformed());
+          return new RepairStats(r.agentId(), agentCalls, r.malformed(), r.repaired(), r.reAsked(),
+              agentCalls == 0 ? 0.0 : (double) r.repaired() / agentCalls,
+              agentCalls == 0 ? 0.0 : (double) r.reAsked() / agentCalls);
+        })
+        .toList());
+  }
+
+  /**
+   * Streamed validator responses on this node and how many were cancelled once their verdict was decided.
+   */
+  @Get("/verdict-streams")
+  public VerdictStreamsResponse verdictStreams() {
+    return new VerdictStreamsResponse(verdictStream.stats());
+  }
+
+  /**
+   * Workflow state updates applied and skipped as intermediate progress by each consumer on this node.
+   * The view skips the same updates but takes no dependencies to count them.
+   */
+  @Get("/coalescing")
+  public CoalescingResponse coalescing() {
+    return new CoalescingResponse(progressCoalescing.enabled(), progressCoalescing.stats());
+  }
+
+  /**
+   * 200 once this node has finished warming up, 503 before; the body carries the warm-up timings either way.
+   */
+  @Get("/ready")
+  public HttpResponse ready() {
+    var response = HttpResponses.ok(warmUp.report());
+    return warmUp.ready() ? response : response.withStatus(StatusCodes.SERVICE_UNAVAILABLE);
+  }
+}
\ No newline at end of file
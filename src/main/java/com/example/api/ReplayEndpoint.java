@@ -0,0 +1,57 @@
+package com.example.api;
+
+import akka.http.javadsl.model.HttpResponse;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.annotations.http.Post;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.HttpResponses;
+import com.example.application.ReplayJobWorkflow;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+@HttpEndpoint("/replays")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class ReplayEndpoint {
+
+  public record ReplayCreated(String jobId) {}
+
+  private final ComponentClient componentClient;
+
+  public ReplayEndpoint(ComponentClient componentClient) {
+    this.componentClient = componentClient;
+  }
+
+  /**
+   * Starts a replay job over the items matching the criteria; concurrency and ratePerSecond default to
+   * and are capped by the configured maximums.
+   */
+  @Post
+  public CompletionStage<HttpResponse> start(ReplayJobWorkflow.StartReplay request) {
+    var jobId = UUID.randomUUID().toString();
+    return componentClient.forWorkflow(jobId)
+        .method(ReplayJobWorkflow::start)
+        .invokeAsync(request)
+        .thenApply(done -> HttpResponses.created(new ReplayCreated(jobId), "/replays/" + jobId));
+  }
+
+  /**
+   * Progress of the job and the items whose verdict or validator outcomes changed.
+   */
+  @Get("/{jobId}")
+  public CompletionStage<ReplayJobWorkflow.ReplayReport> getReport(String jobId) {
+    return componentClient.forWorkflow(jobId)
+        .method(ReplayJobWorkflow::getReport)
+        .invokeAsync();
+  }
+
+  @Post("/{jobId}/cancel")
+  public CompletionStage<HttpResponse> cancel(String jobId) {
+    return componentClient.forWorkflow(jobId)
+        .method(ReplayJobWorkflow::cancel)
+        .invokeAsync()
+        .thenApply(done -> HttpResponses.ok());
+  }
+}
\ No newline at end of file
@@ -1,58 +1,319 @@
 package com.example.api;
 
+import akka.NotUsed;
 import akka.http.javadsl.model.HttpResponse;
 import akka.javasdk.annotations.Acl;
 import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.annotations.http.Post;
 import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.AbstractHttpEndpoint;
 import akka.javasdk.http.HttpResponses;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
 import com.example.application.ContentStatusView;
 import com.example.application.ContentValidationWorkflow;
+import com.example.application.streaming.StatusStreamHub;
 import com.example.domain.ReviewDecision;
+import com.example.domain.ReviewLease;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @HttpEndpoint("/reviews")
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
-public class ReviewEndpoint {
+public class ReviewEndpoint extends AbstractHttpEndpoint {
+
+  public record ClaimRequest(String reviewer, int count, String order) {}
+
+  public record ClaimedReview(ContentStatusView.StatusEntry entry, Instant leaseExpiresAt) {}
+
+  public record ClaimResponse(List<ClaimedReview> claimed) {}
+
+  public record ReleaseRequest(String reviewer) {}
+
+  public record BulkDecisionItem(String contentId, ReviewDecision decision) {}
+
+  public record BulkDecisionRequest(List<BulkDecisionItem> items) {}
+
+  public record BulkDecisionResult(String contentId, boolean applied, String error) {}
+
+  public record BulkDecisionResponse(int applied, int failed, List<BulkDecisionResult> results) {}
+
+  public record QueueStats(
+      int depth,
+      int leased,
+      int claimable,
+      int expiredLeases,
+      long oldestAgeSeconds,
+      long p50AgeSeconds,
+      long p90AgeSeconds,
+      long p99AgeSeconds) {}
+
+  /**
+   * What {@code ?fields=slim} streams instead of the full row: no payload or per-validator results.
+   */
+  public record StatusSummary(
+      String contentId,
+      String status,
+      String language,
+      String routingTarget,
+      Boolean overallPassed,
+      Double confidence,
+      int priority,
+      String leaseReviewer,
+      String failureReason) {
+
+    static StatusSummary of(ContentStatusView.StatusEntry entry) {
+      var aggregated = entry.aggregatedResult();
+      return new StatusSummary(
+          entry.contentId(),
+          entry.status(),
+          entry.language(),
+          entry.routingTarget(),
+          aggregated != null ? aggregated.overallPassed() : null,
+          aggregated != null ? aggregated.confidence() : null,
+          entry.priority(),
+          entry.leaseReviewer(),
+          entry.failureReason());
+    }
+  }
 
   private final ComponentClient componentClient;
+  private final StatusStreamHub streamHub;
+  private final Materializer materializer;
+  private final Duration leaseDuration;
+  private final int maxClaim;
+  private final int bulkParallelism;
+  private final int snapshotLimit;
 
-  public ReviewEndpoint(ComponentClient componentClient) {
+  public ReviewEndpoint(ComponentClient componentClient, StatusStreamHub streamHub, Materializer materializer, Config config) {
     this.componentClient = componentClient;
+    this.streamHub = streamHub;
+    this.materializer = materializer;
+    var queue = config.getConfig("content-validation.review-queue");
+    this.leaseDuration = queue.getDuration("lease-duration");
+    this.maxClaim = queue.getInt("max-claim");
+    this.bulkParallelism = queue.getInt("bulk-parallelism");
+    this.snapshotLimit = config.getInt("content-validation.status-streams.snapshot-limit");
   }
 
   @Post("/{contentId}/decision")
-  public HttpResponse submitDecision(String contentId, ReviewDecision decision) {
-    componentClient.forWorkflow(contentId)
+  public CompletionStage<HttpResponse> submitDecision(String contentId, ReviewDecision decision) {
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::submitReview)
+        .invokeAsync(decision)
+        .thenApply(done -> HttpResponses.ok());
+  }
+
+  /**
+   * Leases up to {@code count} unleased items awaiting review to the reviewer, oldest first or, with
+   * {@code order = "priority"}, highest priority first. Items leased by someone else in the meantime
+   * are skipped, so concurrent reviewers never get the same item; the candidates are read a page at a
+   * time until {@code count} are leased or none are left.
+   */
+  @Post("/claim")
+  public CompletionStage<ClaimResponse> claim(ClaimRequest request) {
+    var count = Math.max(1, Math.min(request.count(), maxClaim));
+    var now = Instant.now();
+    var byPriority = "priority".equals(request.order());
+    var lease = new ReviewLease(request.reviewer(), now.plus(leaseDuration));
+    return claimPage(byPriority, new ContentStatusView.ClaimablePageQuery(now, "", count * 2), lease, count, new ArrayList<>())
+        .thenApply(ClaimResponse::new);
+  }
+
+  private CompletionStage<List<ClaimedReview>> claimPage(boolean byPriority, ContentStatusView.ClaimablePageQuery query,
+                                                         ReviewLease lease, int count, List<ClaimedReview> claimed) {
+    var page = byPriority
+        ? componentClient.forView().method(ContentStatusView::getClaimableByPriority).invokeAsync(query)
+        : componentClient.forView().method(ContentStatusView::getClaimableByAge).invokeAsync(query);
+    return page.thenCompose(candidates -> claimNext(candidates.entries(), 0, lease, count, claimed)
+        .thenCompose(result -> result.size() == count || !candidates.hasMore() || candidates.entries().isEmpty()
+            ? CompletableFuture.completedStage(result)
+            : claimPage(byPriority, new ContentStatusView.ClaimablePageQuery(query.now(), candidates.nextPageToken(), query.pageSize()),
+                lease, count, result)));
+  }
+
+  /**
+   * Claims the candidates of one page one at a time, in order, until {@code count} are claimed.
+   */
+  private CompletionStage<List<ClaimedReview>> claimNext(List<ContentStatusView.StatusEntry> candidates, int index,
+                                                         ReviewLease lease, int count, List<ClaimedReview> claimed) {
+    if (claimed.size() == count || index >= candidates.size()) return CompletableFuture.completedStage(claimed);
+    var entry = candidates.get(index);
+    return componentClient.forWorkflow(entry.contentId())
+        .method(ContentValidationWorkflow::claimReview)
+        .invokeAsync(lease)
+        .handle((done, error) -> {
+          // an error means claimed by another reviewer or decided since the view was updated
+          if (error == null) claimed.add(new ClaimedReview(entry, lease.expiresAt()));
+          return claimed;
+        })
+        .thenCompose(result -> claimNext(candidates, index + 1, lease, count, claimed));
+  }
+
+  @Post("/{contentId}/release")
+  public CompletionStage<HttpResponse> release(String contentId, ReleaseRequest request) {
+    return componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::releaseReview)
+        .invokeAsync(request.reviewer())
+        .thenApply(done -> HttpResponses.ok());
+  }
+
+  /**
+   * Applies each decision with at most {@code bulk-parallelism} calls in flight and reports the outcome
+   * per item; a failed item does not affect the others.
+   */
+  @Post("/decisions")
+  public CompletionStage<BulkDecisionResponse> submitDecisions(BulkDecisionRequest request) {
+    var items = request.items();
+    var results = new BulkDecisionResult[items.size()];
+    var next = new AtomicInteger();
+    var lanes = IntStream.range(0, Math.min(bulkParallelism, items.size()))
+        .mapToObj(i -> applyNext(items, results, next))
+        .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(lanes).thenApply(done -> {
+      var applied = (int) Arrays.stream(results).filter(BulkDecisionResult::applied).count();
+      return new BulkDecisionResponse(applied, results.length - applied, List.of(results));
+    });
+  }
+
+  private CompletableFuture<Void> applyNext(List<BulkDecisionItem> items, BulkDecisionResult[] results, AtomicInteger next) {
+    var index = next.getAndIncrement();
+    if (index >= items.size()) return CompletableFuture.completedFuture(null);
+    var item = items.get(index);
+    return componentClient.forWorkflow(item.contentId())
         .method(ContentValidationWorkflow::submitReview)
-        .invoke(decision);
-    return HttpResponses.ok();
+        .invokeAsync(item.decision())
+        .handle((done, error) -> results[index] = error == null
+            ? new BulkDecisionResult(item.contentId(), true, null)
+            : new BulkDecisionResult(item.contentId(), false, errorMessage(error)))
+        .thenCompose(result -> applyNext(items, results, next))
+        .toCompletableFuture();
+  }
+
+  private static String errorMessage(Throwable error) {
+    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause.getMessage();
+  }
+
+  /**
+   * Depth, lease and age statistics of the review queue, computed from the pending items in the view.
+   */
+  @Get("/queue/stats")
+  public CompletionStage<QueueStats> queueStats() {
+    return componentClient.forView()
+        .method(ContentStatusView::getPendingReviews)
+        .invokeAsync()
+        .thenApply(pending -> queueStats(pending.entries(), Instant.now()));
+  }
+
+  private static QueueStats queueStats(List<ContentStatusView.StatusEntry> pending, Instant now) {
+    var leased = 0;
+    var expiredLeases = 0;
+    var ages = new ArrayList<Long>();
+    for (var entry : pending) {
+      var hasLease = !entry.leaseReviewer().isEmpty();
+      if (hasLease && entry.leaseExpiresAt().isAfter(now)) leased++;
+      else if (hasLease) expiredLeases++;
+      if (entry.reviewRequestedAt() != null) {
+        ages.add(Duration.between(entry.reviewRequestedAt(), now).toSeconds());
+      }
+    }
+    ages.sort(null);
+    return new QueueStats(
+        pending.size(),
+        leased,
+        pending.size() - leased,
+        expiredLeases,
+        ages.isEmpty() ? 0 : ages.get(ages.size() - 1),
+        percentile(ages, 0.50),
+        percentile(ages, 0.90),
+        percentile(ages, 0.99));
+  }
+
+  private static long percentile(List<Long> sorted, double percentile) {
+    if (sorted.isEmpty()) return 0;
+    var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
   }
 
   @Get("/status/stream")
   public HttpResponse streamAll() {
-    var source = componentClient
-        .forView()
-        .stream(ContentStatusView::streamAll)
-        .entriesSource();
-    return HttpResponses.serverSentEventsForView(source);
+    if (resumable()) {
+      return HttpResponses.serverSentEventsForView(
+          componentClient.forView().stream(ContentStatusView::streamAll).entriesSource());
+    }
+    return stream(StatusStreamHub.Query.ALL,
+        since -> componentClient.forView().stream(ContentStatusView::streamUpdatedSince)
+            .source(new ContentStatusView.UpdatedSinceQuery(since)),
+        () -> componentClient.forView().method(ContentStatusView::getRecent)
+            .invokeAsync(new ContentStatusView.RecentQuery(snapshotLimit)));
   }
 
   @Get("/pending/stream")
   public HttpResponse streamPendingReviews() {
-    var source = componentClient
-        .forView()
-        .stream(ContentStatusView::streamPendingReviews)
-        .entriesSource();
-    return HttpResponses.serverSentEventsForView(source);
+    if (resumable()) {
+      return HttpResponses.serverSentEventsForView(
+          componentClient.forView().stream(ContentStatusView::streamPendingReviews).entriesSource());
+    }
+    return stream(StatusStreamHub.Query.PENDING_REVIEWS,
+        since -> componentClient.forView().stream(ContentStatusView::streamPendingReviewsUpdatedSince)
+            .source(new ContentStatusView.UpdatedSinceQuery(since)),
+        () -> componentClient.forView().method(ContentStatusView::getRecentPendingReviews)
+            .invokeAsync(new ContentStatusView.RecentQuery(snapshotLimit)));
   }
 
   @Get("/failed/stream")
   public HttpResponse streamFailedItems() {
-    var source = componentClient
-        .forView()
-        .stream(ContentStatusView::streamFailedItems)
-        .entriesSource();
-    return HttpResponses.serverSentEventsForView(source);
+    if (resumable()) {
+      return HttpResponses.serverSentEventsForView(
+          componentClient.forView().stream(ContentStatusView::streamFailedItems).entriesSource());
+    }
+    return stream(StatusStreamHub.Query.FAILED,
+        since -> componentClient.forView().stream(ContentStatusView::streamFailedItemsUpdatedSince)
+            .source(new ContentStatusView.UpdatedSinceQuery(since)),
+        () -> componentClient.forView().method(ContentStatusView::getRecentFailedItems)
+            .invokeAsync(new ContentStatusView.RecentQuery(snapshotLimit)));
+  }
+
+  /**
+   * Shared updates carry no view offsets, so a client that reconnects with {@code Last-Event-ID} or asks
+   * for {@code ?resumable=true} gets its own view stream with event ids instead, resumable from the last
+   * event it saw.
+   */
+  private boolean resumable() {
+    return requestContext().requestHeader("Last-Event-ID").isPresent()
+        || requestContext().queryParams().getString("resumable").map("true"::equals).orElse(false);
+  }
+
+  /**
+   * Up to {@code snapshot-limit} of the most recently updated rows of the query, followed by the live
+   * updates of the node's shared stream. The live subscription starts before the snapshot is read, so no
+   * update in between is lost; a row updated in between may be sent twice, the later one being current.
+   * With {@code ?fields=slim} each row is sent as a {@link StatusSummary}.
+   */
+  private HttpResponse stream(StatusStreamHub.Query query,
+                              Function<Instant, Source<ContentStatusView.StatusEntry, NotUsed>> updatedSince,
+                              Supplier<CompletionStage<ContentStatusView.StatusEntries>> snapshot) {
+    var live = streamHub.subscribe(query, updatedSince, materializer);
+    var entries = Source.completionStage(snapshot.get())
+        .mapConcat(ContentStatusView.StatusEntries::entries)
+        .concat(live);
+    var slim = requestContext().queryParams().getString("fields").map("slim"::equals).orElse(false);
+    return slim
+        ? HttpResponses.serverSentEvents(entries.map(StatusSummary::of))
+        : HttpResponses.serverSentEvents(entries);
   }
 }
\ No newline at end of file
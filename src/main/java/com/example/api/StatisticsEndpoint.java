@@ -0,0 +1,64 @@
+package com.example.api;
+
+import akka.http.javadsl.model.HttpResponse;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.HttpResponses;
+import akka.stream.javadsl.Source;
+import com.example.application.ContentStatisticsEntity;
+import com.example.domain.ContentStatistics;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.IntStream;
+
+/**
+ * Dashboard counters maintained incrementally by {@link com.example.application.ContentStatisticsConsumer}.
+ * A read costs one call per statistics shard, independent of the number of items.
+ */
+@HttpEndpoint("/statistics")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class StatisticsEndpoint {
+
+  private final ComponentClient componentClient;
+  private final int shards;
+  private final Duration streamInterval;
+
+  public StatisticsEndpoint(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.shards = config.getInt("content-validation.statistics.shards");
+    this.streamInterval = config.getDuration("content-validation.statistics.stream-interval");
+  }
+
+  @Get
+  public CompletionStage<ContentStatistics> getStatistics() {
+    return fetch();
+  }
+
+  /**
+   * Server-Sent Events stream of the merged counters, at most one snapshot per stream interval.
+   */
+  @Get("/stream")
+  public HttpResponse streamStatistics() {
+    var source = Source.tick(Duration.ZERO, streamInterval, "tick")
+        .mapAsync(1, tick -> fetch());
+    return HttpResponses.serverSentEvents(source);
+  }
+
+  private CompletionStage<ContentStatistics> fetch() {
+    var perShard = IntStream.range(0, shards)
+        .mapToObj(shard -> componentClient.forEventSourcedEntity(ContentStatisticsEntity.shardId(shard))
+            .method(ContentStatisticsEntity::getStatistics)
+            .invokeAsync()
+            .toCompletableFuture())
+        .toList();
+    return CompletableFuture.allOf(perShard.toArray(CompletableFuture[]::new))
+        .thenApply(done -> perShard.stream()
+            .map(CompletableFuture::join)
+            .reduce(ContentStatistics.empty(), ContentStatistics::merge));
+  }
+}
\ No newline at end of file
@@ -5,13 +5,19 @@ import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.Consume;
 import akka.javasdk.annotations.DeleteHandler;
 import akka.javasdk.annotations.Produce;
+import akka.javasdk.client.ComponentClient;
 import akka.javasdk.consumer.Consumer;
+import com.example.application.tracing.ContentSpans;
 import com.example.domain.ContentValidationState;
 import com.example.domain.ContentValidationStatus;
+import com.example.domain.PushReference;
 import com.example.domain.PushRequest;
+import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 @Component(id = "content-push-consumer")
 @Consume.FromWorkflow(ContentValidationWorkflow.class)
 @Produce.ToTopic("content-push")
@@ -19,14 +25,56 @@ public class ContentPushConsumer extends Consumer {
 
   private static final Logger logger = LoggerFactory.getLogger(ContentPushConsumer.class);
 
+  /**
+   * FULL publishes a {@link PushRequest} with the payload, REFERENCE publishes a compact
+   * {@link PushReference} and BATCHED_REFERENCE collects references per target in {@link PushBatchEntity},
+   * from where {@link PushBatchConsumer} publishes them as batches.
+   */
+  enum PushMode { FULL, REFERENCE, BATCHED_REFERENCE }
+
+  private final ComponentClient componentClient;
+  private final PushMode pushMode;
+  private final int maxBatchSize;
+  private final Duration maxBatchDelay;
+
+  public ContentPushConsumer(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.pushMode = PushMode.valueOf(config.getString("content-validation.push.mode").toUpperCase().replace('-', '_'));
+    this.maxBatchSize = config.getInt("content-validation.push.batch.max-size");
+    this.maxBatchDelay = config.getDuration("content-validation.push.batch.max-delay");
+  }
+
   public Effect onUpdate(ContentValidationState state) {
-    if (state.status() == ContentValidationStatus.COMPLETED && state.routingTarget() != null) {
-      logger.info("Publishing content {} to topic for target {}", state.contentId(), state.routingTarget());
-      var pushRequest = new PushRequest(state.contentId(), state.routingTarget(), state.payload());
-      var metadata = Metadata.EMPTY.add("ce-subject", state.contentId());
-      return effects().produce(pushRequest, metadata);
+    if (state.status() != ContentValidationStatus.COMPLETED || state.routingTarget() == null) {
+      return effects().ignore();
     }
-    return effects().ignore();
+    logger.info("Publishing content {} to topic for target {}", state.contentId(), state.routingTarget());
+    ContentSpans.start(messageContext().tracing(), "push", state.contentId()).ifPresent(span -> span
+        .setAttribute(ContentSpans.ROUTING_TARGET, state.routingTarget())
+        .setAttribute(ContentSpans.OUTCOME, pushMode.name().toLowerCase())
+        .end());
+    var metadata = Metadata.EMPTY.add("ce-subject", state.contentId());
+    return switch (pushMode) {
+      case FULL -> effects().produce(new PushRequest(state.contentId(), state.routingTarget(), state.payload()), metadata);
+      case REFERENCE -> effects().produce(PushReference.of(state.contentId(), state.routingTarget(), state.payload()), metadata);
+      case BATCHED_REFERENCE -> addToBatch(PushReference.of(state.contentId(), state.routingTarget(), state.payload()));
+    };
+  }
+
+  private Effect addToBatch(PushReference reference) {
+    var added = componentClient.forEventSourcedEntity(reference.target())
+        .method(PushBatchEntity::add)
+        .invoke(new PushBatchEntity.AddReference(reference, maxBatchSize, maxBatchDelay));
+    if (added.flushAfter() != null) {
+      // the batch is published within maxBatchDelay of its first reference even if it never fills
+      timers().createSingleTimer(
+          "push-batch-flush-" + reference.target(),
+          added.flushAfter(),
+          componentClient.forEventSourcedEntity(reference.target())
+              .method(PushBatchEntity::flush)
+              .deferred());
+    }
+    return effects().done();
   }
 
   @DeleteHandler
@@ -0,0 +1,54 @@
+package com.example.application;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.application.coalescing.ProgressCoalescing;
+import com.example.domain.ContentValidationState;
+import com.example.domain.StatisticsUpdate;
+import com.typesafe.config.Config;
+
+import java.time.Instant;
+
+/**
+ * Feeds every workflow state change into the {@link ContentStatisticsEntity} shard of the item.
+ */
+@Component(id = "content-statistics-consumer")
+@Consume.FromWorkflow(ContentValidationWorkflow.class)
+public class ContentStatisticsConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+  private final ProgressCoalescing coalescing;
+  private final int shards;
+
+  public ContentStatisticsConsumer(ComponentClient componentClient, ProgressCoalescing coalescing, Config config) {
+    this.componentClient = componentClient;
+    this.coalescing = coalescing;
+    this.shards = config.getInt("content-validation.statistics.shards");
+  }
+
+  public Effect onUpdate(ContentValidationState state) {
+    if (state.isReplay() || coalescing.skip("content-statistics-consumer", state)) {
+      return effects().ignore();
+    }
+    var update = new StatisticsUpdate(
+        state.contentId(),
+        state.status().name(),
+        state.routingTarget(),
+        state.language(),
+        state.results(),
+        Instant.now(),
+        state.recovery().resumes());
+    componentClient.forEventSourcedEntity(ContentStatisticsEntity.shardOf(state.contentId(), shards))
+        .method(ContentStatisticsEntity::record)
+        .invoke(update);
+    return effects().done();
+  }
+
+  @DeleteHandler
+  public Effect onDelete() {
+    return effects().ignore();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import com.example.domain.ContentStatistics;
+import com.example.domain.StatisticsEvent;
+import com.example.domain.StatisticsState;
+import com.example.domain.StatisticsUpdate;
+
+/**
+ * One shard of the content statistics; {@link ContentStatisticsConsumer} routes each item to a shard by
+ * its content id, so reading all counters costs one call per shard regardless of the number of items.
+ */
+@Component(id = "content-statistics")
+public class ContentStatisticsEntity extends EventSourcedEntity<StatisticsState, StatisticsEvent> {
+
+  public static String shardId(int shard) {
+    return "shard-" + shard;
+  }
+
+  public static String shardOf(String contentId, int shards) {
+    return shardId(Math.floorMod(contentId.hashCode(), shards));
+  }
+
+  @Override
+  public StatisticsState emptyState() {
+    return StatisticsState.empty();
+  }
+
+  public Effect<Done> record(StatisticsUpdate update) {
+    if (currentState().isDuplicate(update)) {
+      return effects().reply(Done.getInstance());
+    }
+    var previousStatus = currentState().previousStatus(update);
+    return effects()
+        .persist(new StatisticsEvent.ItemUpdated(update, previousStatus))
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  public ReadOnlyEffect<ContentStatistics> getStatistics() {
+    return effects().reply(currentState().statistics());
+  }
+
+  @Override
+  public StatisticsState applyEvent(StatisticsEvent event) {
+    return switch (event) {
+      case StatisticsEvent.ItemUpdated evt -> currentState().apply(evt);
+    };
+  }
+}
\ No newline at end of file
@@ -2,12 +2,16 @@ package com.example.application;
 
 import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
 import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
+import com.example.application.coalescing.ProgressCoalescing;
 import com.example.domain.*;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Component(id = "content-status-view")
 public class ContentStatusView extends View {
@@ -21,14 +25,52 @@ public class ContentStatusView extends View {
       ReviewDecision reviewDecision,
       String status,
       String routingTarget,
-      String failureReason) {}
+      String failureReason,
+      int priority,
+      Instant reviewRequestedAt,
+      String leaseReviewer,
+      Instant leaseExpiresAt,
+      int escalations,
+      String reusedFrom,
+      Instant receivedAt,
+      Instant updatedAt) {}
 
   public record StatusEntries(List<StatusEntry> entries) {}
 
+  /**
+   * @param pageToken empty for the first page, then the {@code nextPageToken} of the previous page
+   */
+  public record ClaimablePageQuery(Instant now, String pageToken, int pageSize) {}
+
+  /**
+   * @param pageToken empty for the first page, then the {@code nextPageToken} of the previous page
+   */
+  public record ReceivedPageQuery(Instant from, Instant to, String pageToken, int pageSize) {}
+
+  public record ReceivedWithStatusPageQuery(String status, Instant from, Instant to, String pageToken, int pageSize) {}
+
+  public record StatusPage(List<StatusEntry> entries, String nextPageToken, boolean hasMore) {}
+
+  public record UpdatedSinceQuery(Instant since) {}
+
+  public record RecentQuery(int limit) {}
+
+  /**
+   * Metadata entry with an integer review priority; higher is reviewed first, default 0.
+   */
+  public static final String PRIORITY_METADATA_KEY = "priority";
+
   @Consume.FromWorkflow(ContentValidationWorkflow.class)
   public static class ContentStatusUpdater extends TableUpdater<StatusEntry> {
 
     public Effect<StatusEntry> onUpdate(ContentValidationState state) {
+      if (state.isReplay()) {
+        return effects().ignore();
+      }
+      var row = rowState();
+      if (ProgressCoalescing.skips(state, row != null ? row.status() : null)) {
+        return effects().ignore();
+      }
       return effects().updateRow(new StatusEntry(
           state.contentId(),
           state.payload(),
@@ -38,7 +80,29 @@ public class ContentStatusView extends View {
           state.reviewDecision(),
           state.status().name(),
           state.routingTarget() != null ? state.routingTarget() : "",
-          state.failureReason() != null ? state.failureReason() : ""));
+          state.failureReason() != null ? state.failureReason() : "",
+          priority(state.metadata()),
+          state.review().requestedAt(),
+          state.review().lease() != null ? state.review().lease().reviewer() : "",
+          state.review().lease() != null ? state.review().lease().expiresAt() : Instant.EPOCH,
+          state.review().escalations(),
+          state.origin().resultReuse() != null ? state.origin().resultReuse().sourceContentId() : "",
+          state.receivedAt(),
+          Instant.now()));
+    }
+
+    @DeleteHandler
+    public Effect<StatusEntry> onDelete() {
+      return effects().deleteRow();
+    }
+
+    private static int priority(Map<String, String> metadata) {
+      if (metadata == null || !metadata.containsKey(PRIORITY_METADATA_KEY)) return 0;
+      try {
+        return Integer.parseInt(metadata.get(PRIORITY_METADATA_KEY).trim());
+      } catch (NumberFormatException e) {
+        return 0;
+      }
     }
   }
 
@@ -47,11 +111,86 @@ public class ContentStatusView extends View {
     return queryResult();
   }
 
+  // Pages of the items received in a period, oldest first, for replay jobs
+
+  @Query("SELECT * AS entries, next_page_token() AS nextPageToken, has_more() AS hasMore FROM content_status"
+      + " WHERE receivedAt >= :from AND receivedAt < :to ORDER BY receivedAt ASC"
+      + " OFFSET page_token_offset(:pageToken) LIMIT :pageSize")
+  public QueryEffect<StatusPage> getReceivedPage(ReceivedPageQuery query) {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries, next_page_token() AS nextPageToken, has_more() AS hasMore FROM content_status"
+      + " WHERE status = :status AND receivedAt >= :from AND receivedAt < :to ORDER BY receivedAt ASC"
+      + " OFFSET page_token_offset(:pageToken) LIMIT :pageSize")
+  public QueryEffect<StatusPage> getReceivedWithStatusPage(ReceivedWithStatusPageQuery query) {
+    return queryResult();
+  }
+
   @Query(value = "SELECT * FROM content_status", streamUpdates = true)
   public QueryStreamEffect<StatusEntry> streamAll() {
     return queryStreamResult();
   }
 
+  @Query("SELECT * AS entries FROM content_status WHERE status = 'AWAITING_REVIEW'")
+  public QueryEffect<StatusEntries> getPendingReviews() {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries, next_page_token() AS nextPageToken, has_more() AS hasMore FROM content_status"
+      + " WHERE status = 'AWAITING_REVIEW' AND leaseExpiresAt <= :now"
+      + " ORDER BY reviewRequestedAt ASC OFFSET page_token_offset(:pageToken) LIMIT :pageSize")
+  public QueryEffect<StatusPage> getClaimableByAge(ClaimablePageQuery query) {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries, next_page_token() AS nextPageToken, has_more() AS hasMore FROM content_status"
+      + " WHERE status = 'AWAITING_REVIEW' AND leaseExpiresAt <= :now"
+      + " ORDER BY escalations DESC, priority DESC, reviewRequestedAt ASC"
+      + " OFFSET page_token_offset(:pageToken) LIMIT :pageSize")
+  public QueryEffect<StatusPage> getClaimableByPriority(ClaimablePageQuery query) {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries FROM content_status WHERE status = 'FAILED'")
+  public QueryEffect<StatusEntries> getFailedItems() {
+    return queryResult();
+  }
+
+  // Bounded snapshots and updates without an initial result set for the shared status streams
+
+  @Query("SELECT * AS entries FROM content_status ORDER BY updatedAt DESC LIMIT :limit")
+  public QueryEffect<StatusEntries> getRecent(RecentQuery query) {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries FROM content_status WHERE status = 'AWAITING_REVIEW'"
+      + " ORDER BY updatedAt DESC LIMIT :limit")
+  public QueryEffect<StatusEntries> getRecentPendingReviews(RecentQuery query) {
+    return queryResult();
+  }
+
+  @Query("SELECT * AS entries FROM content_status WHERE status = 'FAILED' ORDER BY updatedAt DESC LIMIT :limit")
+  public QueryEffect<StatusEntries> getRecentFailedItems(RecentQuery query) {
+    return queryResult();
+  }
+
+  @Query(value = "SELECT * FROM content_status WHERE updatedAt >= :since", streamUpdates = true)
+  public QueryStreamEffect<StatusEntry> streamUpdatedSince(UpdatedSinceQuery query) {
+    return queryStreamResult();
+  }
+
+  @Query(value = "SELECT * FROM content_status WHERE status = 'AWAITING_REVIEW' AND updatedAt >= :since",
+      streamUpdates = true)
+  public QueryStreamEffect<StatusEntry> streamPendingReviewsUpdatedSince(UpdatedSinceQuery query) {
+    return queryStreamResult();
+  }
+
+  @Query(value = "SELECT * FROM content_status WHERE status = 'FAILED' AND updatedAt >= :since", streamUpdates = true)
+  public QueryStreamEffect<StatusEntry> streamFailedItemsUpdatedSince(UpdatedSinceQuery query) {
+    return queryStreamResult();
+  }
+
   @Query(value = "SELECT * FROM content_status WHERE status = 'AWAITING_REVIEW'", streamUpdates = true)
   public QueryStreamEffect<StatusEntry> streamPendingReviews() {
     return queryStreamResult();
@@ -1,11 +1,16 @@
 package com.example.application;
 
 import akka.Done;
+import akka.NotUsed;
 import akka.javasdk.NotificationPublisher;
+import akka.javasdk.Tracing;
 import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.StepName;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.workflow.Workflow;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
+import com.example.application.agents.CombinedValidationAgent;
 import com.example.application.agents.LanguageDetectionAgent;
 import com.example.application.agents.LocalizedNLPAgent;
 import com.example.application.agents.TextLanguageValidationAgent;
@@ -13,10 +18,34 @@ import com.example.application.agents.LogoValidationAgent;
 import com.example.application.agents.EnterpriseValidationAgent;
 import com.example.application.agents.ValidationAggregatorAgent;
 import com.example.application.agents.RoutingComplianceAgent;
+import com.example.application.agents.StreamingValidatorAgent;
+import com.example.application.agents.VerdictStream;
+import com.example.application.calibration.ReviewCalibrationEntity;
+import com.example.application.calibration.ReviewCalibrationSettings;
+import com.example.application.coalescing.ProgressCoalescing;
+import com.example.application.invocation.AgentInvoker;
+import com.example.application.invocation.CircuitOpenException;
+import com.example.application.invocation.FairScheduler;
+import com.example.application.logo.LogoMatcher;
+import com.example.application.pipeline.PipelineSettings;
+import com.example.application.preprocessing.PayloadNormalizer;
+import com.example.application.similarity.MinHash;
+import com.example.application.similarity.NearDuplicateIndex;
+import com.example.application.tracing.ContentSpans;
 import com.example.domain.*;
+import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
 import static java.time.Duration.ofSeconds;
 
 @Component(id = "content-validation-workflow")
@@ -31,15 +60,91 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
       String language,
       AggregatedResult aggregatedResult,
       ReviewDecision reviewDecision,
-      String failureReason) {}
+      String failureReason,
+      Pipeline pipeline) {}
+
+  public record ResultsResponse(String language, List<ValidationResult> results) {}
+
+  /**
+   * @param started false when the workflow already existed, so the request was a duplicate
+   */
+  public record StartResponse(boolean started) {}
+
+  public record IssueLocation(String agentId, String issue, List<NormalizedPayload.Span> originalSpans) {}
+
+  /**
+   * @param issues validator issues with the original spans of the excerpts they quote
+   */
+  public record NormalizedResponse(
+      String text,
+      int originalLength,
+      int estimatedTokens,
+      int originalEstimatedTokens,
+      boolean normalized,
+      List<IssueLocation> issues) {}
 
   private final ComponentClient componentClient;
   private final NotificationPublisher<String> notificationPublisher;
+  private final AgentInvoker agentInvoker;
+  private final FairScheduler fairScheduler;
+  private final NearDuplicateIndex nearDuplicateIndex;
+  private final LogoMatcher logoMatcher;
+  private final PayloadCodec payloadCodec;
+  private final ProgressCoalescing progressCoalescing;
+  private final int combinedModeMaxPayloadLength;
+  private final Duration reviewTimeout;
+  private final ReviewTimeoutAction reviewTimeoutAction;
+  private final int maxReviewEscalations;
+  private final Duration completedRetention;
+  private final Duration failedRetention;
+  private final Duration shadowRetention;
+  private final String modelName;
+  private final PipelineSettings pipelineSettings;
+  private final ReviewCalibrationSettings calibrationSettings;
+  private final PayloadNormalizer payloadNormalizer;
+  private final VerdictStream verdictStream;
+  private final Materializer materializer;
+
+  /**
+   * What happens to a review that is still undecided after the review timeout: REJECT fails the
+   * workflow, ESCALATE releases any lease and moves the item to the front of the priority queue, up to
+   * max-escalations times, after which it is rejected.
+   */
+  enum ReviewTimeoutAction { REJECT, ESCALATE }
 
   public ContentValidationWorkflow(ComponentClient componentClient,
-                                   NotificationPublisher<String> notificationPublisher) {
+                                   NotificationPublisher<String> notificationPublisher,
+                                   AgentInvoker agentInvoker,
+                                   FairScheduler fairScheduler,
+                                   NearDuplicateIndex nearDuplicateIndex,
+                                   LogoMatcher logoMatcher,
+                                   PayloadCodec payloadCodec,
+                                   ProgressCoalescing progressCoalescing,
+                                   PayloadNormalizer payloadNormalizer,
+                                   VerdictStream verdictStream,
+                                   Materializer materializer,
+                                   Config config) {
     this.componentClient = componentClient;
     this.notificationPublisher = notificationPublisher;
+    this.agentInvoker = agentInvoker;
+    this.fairScheduler = fairScheduler;
+    this.nearDuplicateIndex = nearDuplicateIndex;
+    this.logoMatcher = logoMatcher;
+    this.payloadCodec = payloadCodec;
+    this.progressCoalescing = progressCoalescing;
+    this.payloadNormalizer = payloadNormalizer;
+    this.verdictStream = verdictStream;
+    this.combinedModeMaxPayloadLength = config.getInt("content-validation.combined-mode.max-payload-length");
+    this.reviewTimeout = config.getDuration("content-validation.review-timeout.timeout");
+    this.reviewTimeoutAction = ReviewTimeoutAction.valueOf(config.getString("content-validation.review-timeout.action").toUpperCase());
+    this.maxReviewEscalations = config.getInt("content-validation.review-timeout.max-escalations");
+    this.completedRetention = config.getDuration("content-validation.retention.completed");
+    this.failedRetention = config.getDuration("content-validation.retention.failed");
+    this.shadowRetention = config.getDuration("content-validation.replay.shadow-retention");
+    this.modelName = ContentSpans.modelName(config);
+    this.pipelineSettings = PipelineSettings.fromConfig(config);
+    this.calibrationSettings = ReviewCalibrationSettings.fromConfig(config);
+    this.materializer = materializer;
   }
 
   public NotificationPublisher.NotificationStream<String> statusUpdates() {
@@ -48,10 +153,23 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
 
   @Override
   public WorkflowSettings settings() {
-    return WorkflowSettings.builder()
+    var builder = WorkflowSettings.builder()
         .defaultStepTimeout(ofSeconds(60))
-        .defaultStepRecovery(maxRetries(2).failoverTo(ContentValidationWorkflow::failStep))
-        .build();
+        .defaultStepRecovery(maxRetries(2).failoverTo(ContentValidationWorkflow::failStep));
+    pipelineSettings.stepTimeouts().forEach((step, timeout) -> {
+      switch (step) {
+        case "detect-language" -> builder.stepTimeout(ContentValidationWorkflow::detectLanguageStep, timeout);
+        case "validate-nlp" -> builder.stepTimeout(ContentValidationWorkflow::validateNLPStep, timeout);
+        case "validate-text" -> builder.stepTimeout(ContentValidationWorkflow::validateTextStep, timeout);
+        case "validate-logo" -> builder.stepTimeout(ContentValidationWorkflow::validateLogoStep, timeout);
+        case "validate-enterprise" -> builder.stepTimeout(ContentValidationWorkflow::validateEnterpriseStep, timeout);
+        case "validate-combined" -> builder.stepTimeout(ContentValidationWorkflow::validateCombinedStep, timeout);
+        case "aggregate" -> builder.stepTimeout(ContentValidationWorkflow::aggregateStep, timeout);
+        case "route" -> builder.stepTimeout(ContentValidationWorkflow::routeStep, timeout);
+        default -> throw new IllegalArgumentException("Unknown step in content-validation.pipelines.step-timeouts: " + step);
+      }
+    });
+    return builder.build();
   }
 
   // --- Command handlers ---
@@ -61,7 +179,44 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
       return effects().error("Workflow already started");
     }
     return effects()
-        .updateState(ContentValidationState.initial(request).withStatus(ContentValidationStatus.DETECTING))
+        .updateState(started(request))
+        .transitionTo(ContentValidationWorkflow::detectLanguageStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Like {@link #start}, for callers that may deliver the same request more than once: a request for
+   * an item that already exists is not an error, the reply tells that it was a duplicate.
+   */
+  public Effect<StartResponse> startIfAbsent(ContentRequest request) {
+    if (currentState() != null) {
+      return effects().reply(new StartResponse(false));
+    }
+    return effects()
+        .updateState(started(request))
+        .transitionTo(ContentValidationWorkflow::detectLanguageStep)
+        .thenReply(new StartResponse(true));
+  }
+
+  private ContentValidationState started(ContentRequest request) {
+    return prepare(ContentValidationState.initial(request, Instant.now())).withStatus(ContentValidationStatus.DETECTING);
+  }
+
+  /**
+   * Starts a shadow run of an existing item for {@link ReplayJobWorkflow}. It goes through the same
+   * validation steps with the current prompts and rules, never reuses near-duplicate results and ends
+   * after aggregation. Starting the shadow run of the same job again is a no-op, so a retried dispatch
+   * succeeds.
+   */
+  public Effect<Done> replay(ReplayRequest request) {
+    if (currentState() != null) {
+      if (request.jobId().equals(currentState().origin().replayJobId())) {
+        return effects().reply(Done.getInstance());
+      }
+      return effects().error("Workflow already started");
+    }
+    return effects()
+        .updateState(prepare(ContentValidationState.replay(request.content(), request.jobId(), Instant.now())).withStatus(ContentValidationStatus.DETECTING))
         .transitionTo(ContentValidationWorkflow::detectLanguageStep)
         .thenReply(Done.getInstance());
   }
@@ -77,7 +232,54 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
         currentState().language(),
         currentState().aggregatedResult(),
         currentState().reviewDecision(),
-        currentState().failureReason()));
+        currentState().failureReason(),
+        currentState().effectivePipeline()));
+  }
+
+  public ReadOnlyEffect<String> getPayload() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    return effects().reply(currentState().payload());
+  }
+
+  public ReadOnlyEffect<ResultsResponse> getResults() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    return effects().reply(new ResultsResponse(currentState().language(), currentState().results()));
+  }
+
+  /**
+   * The text sent to the validators with its token estimates, and the validator issues located in the
+   * original payload.
+   */
+  public ReadOnlyEffect<NormalizedResponse> getNormalized() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    var state = currentState();
+    var normalized = state.preparation().normalized() != null
+        ? state.preparation().normalized()
+        : NormalizedPayload.unchanged(state.payload(), payloadNormalizer.estimateTokens(state.payload()));
+    var issues = state.results().stream()
+        .flatMap(result -> result.issues().stream()
+            .map(issue -> new IssueLocation(result.agentId(), issue, normalized.locateQuoted(issue))))
+        .toList();
+    return effects().reply(new NormalizedResponse(
+        normalized.text(),
+        normalized.originalLength(),
+        normalized.estimatedTokens(),
+        normalized.originalEstimatedTokens(),
+        state.preparation().normalized() != null,
+        issues));
+  }
+
+  public ReadOnlyEffect<ContentRequest> getRequest() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    return effects().reply(new ContentRequest(currentState().contentId(), currentState().payload(), currentState().metadata()));
   }
 
   public Effect<Done> submitReview(ReviewDecision decision) {
@@ -87,9 +289,15 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
     if (currentState().status() != ContentValidationStatus.AWAITING_REVIEW) {
       return effects().error("Workflow is not awaiting review, current status: " + currentState().status());
     }
+    var lease = currentState().review().lease();
+    if (lease != null && lease.isHeldByOtherAt(decision.reviewer(), Instant.now())) {
+      return effects().error("Review is leased by " + lease.reviewer() + " until " + lease.expiresAt());
+    }
+    // the item leaves the review queue, so its timeout must not fire on the finished workflow
+    timers().delete("review-timeout-" + commandContext().workflowId());
     return switch (decision.decision()) {
       case APPROVE, OVERRIDE -> effects()
-          .updateState(currentState().withReviewDecision(decision).withStatus(ContentValidationStatus.ROUTING))
+          .updateState(currentState().withReviewDecision(decision).advancedTo(ContentValidationStatus.ROUTING))
           .transitionTo(ContentValidationWorkflow::routeStep)
           .thenReply(Done.getInstance());
       case REJECT -> effects()
@@ -100,168 +308,599 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
     };
   }
 
+  /**
+   * Leases the review to one reviewer until the lease expires, so concurrent reviewers pulling from the
+   * queue do not work on the same item. A reviewer may renew their own lease; an expired lease can be
+   * taken over by anyone.
+   */
+  public Effect<ReviewLease> claimReview(ReviewLease lease) {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    if (currentState().status() != ContentValidationStatus.AWAITING_REVIEW) {
+      return effects().error("Workflow is not awaiting review, current status: " + currentState().status());
+    }
+    var current = currentState().review().lease();
+    if (current != null && current.isHeldByOtherAt(lease.reviewer(), Instant.now())) {
+      return effects().error("Review is leased by " + current.reviewer() + " until " + current.expiresAt());
+    }
+    return effects()
+        .updateState(currentState().withReview(currentState().review().withLease(lease)))
+        .pause()
+        .thenReply(lease);
+  }
+
+  public Effect<Done> releaseReview(String reviewer) {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    var current = currentState().review().lease();
+    if (currentState().status() != ContentValidationStatus.AWAITING_REVIEW
+        || current == null || !current.reviewer().equals(reviewer)) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .updateState(currentState().withReview(currentState().review().withLease(null)))
+        .pause()
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Called by the review timer; a no-op once the review has been decided.
+   */
+  public Effect<Done> expireReview() {
+    if (currentState() == null || currentState().status() != ContentValidationStatus.AWAITING_REVIEW) {
+      return effects().reply(Done.getInstance());
+    }
+    if (reviewTimeoutAction == ReviewTimeoutAction.ESCALATE && currentState().review().escalations() < maxReviewEscalations) {
+      var escalations = currentState().review().escalations() + 1;
+      logger.info("Review of content {} timed out, escalation {}", currentState().contentId(), escalations);
+      scheduleReviewTimeout();
+      return effects()
+          .updateState(currentState().withReview(currentState().review().escalated()))
+          .pause()
+          .thenReply(Done.getInstance());
+    }
+    logger.info("Review of content {} timed out, rejecting", currentState().contentId());
+    return effects()
+        .updateState(currentState().withFailureReason("Review timed out after " + reviewTimeout))
+        .transitionTo(ContentValidationWorkflow::failStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Called by the retention timer once a finished workflow has outlived its TTL. Deleting the workflow
+   * also removes its row from {@link ContentStatusView}.
+   */
+  public Effect<Done> expire() {
+    if (currentState() == null) {
+      return effects().reply(Done.getInstance());
+    }
+    var status = currentState().status();
+    if (status != ContentValidationStatus.COMPLETED && status != ContentValidationStatus.FAILED) {
+      return effects().error("Workflow is not finished, current status: " + status);
+    }
+    logger.info("Deleting {} content {} after retention period", status, currentState().contentId());
+    return effects().delete().thenReply(Done.getInstance());
+  }
+
+  /**
+   * Called by {@link ReplayJobWorkflow} for the shadow runs in flight when their job is cancelled. A
+   * shadow run that is parked or failed at a step is ended; a running one finishes on its own. Either
+   * way it is deleted after the shadow retention.
+   */
+  public Effect<Done> cancelReplay() {
+    if (currentState() == null) {
+      return effects().reply(Done.getInstance());
+    }
+    if (!currentState().isReplay()) {
+      return effects().error("Not a shadow run: " + commandContext().workflowId());
+    }
+    if (currentState().recovery().parkedStep() == null && !currentState().isResumable()) {
+      return effects().reply(Done.getInstance());
+    }
+    logger.info("Ending shadow run {} of cancelled replay job {}", commandContext().workflowId(), currentState().origin().replayJobId());
+    timers().delete("resume-" + commandContext().workflowId());
+    scheduleRetention(shadowRetention);
+    return effects()
+        .updateState(currentState()
+            .withStatus(ContentValidationStatus.FAILED)
+            .withFailureReason("Replay job cancelled")
+            .withRecovery(Recovery.NONE))
+        .end()
+        .thenReply(Done.getInstance());
+  }
+
+  public Effect<Done> resumeParked() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    var step = currentState().recovery().parkedStep();
+    if (step == null) {
+      return effects().reply(Done.getInstance());
+    }
+    return resumeAt(step, currentState().withRecovery(currentState().recovery().unparked()));
+  }
+
+  /**
+   * Restarts a workflow that failed after a step exhausted its retries at that step, keeping the
+   * detected language and the results of the steps that completed before it.
+   */
+  public Effect<Done> resume() {
+    if (currentState() == null) {
+      return effects().error("Workflow not started");
+    }
+    if (currentState().status() != ContentValidationStatus.FAILED) {
+      return effects().error("Workflow is not failed, current status: " + currentState().status());
+    }
+    if (!currentState().isResumable()) {
+      return effects().error("Workflow cannot be resumed: " + currentState().failureReason());
+    }
+    var step = currentState().recovery().failedStep();
+    var status = statusOf(step);
+    logger.info("Resuming content {} at step {}", currentState().contentId(), step);
+    timers().delete("retention-" + commandContext().workflowId());
+    notificationPublisher.publish(status.name());
+    return resumeAt(step, currentState().withStatus(status).withFailureReason(null).withRecovery(currentState().recovery().resumed()));
+  }
+
+  private Effect<Done> resumeAt(String step, ContentValidationState resumed) {
+    return switch (step) {
+      case "detect-language" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::detectLanguageStep).thenReply(Done.getInstance());
+      case "validate-nlp" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::validateNLPStep).thenReply(Done.getInstance());
+      case "validate-text" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::validateTextStep).thenReply(Done.getInstance());
+      case "validate-logo" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::validateLogoStep).thenReply(Done.getInstance());
+      case "validate-enterprise" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::validateEnterpriseStep).thenReply(Done.getInstance());
+      case "validate-combined" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::validateCombinedStep).thenReply(Done.getInstance());
+      case "aggregate" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::aggregateStep).thenReply(Done.getInstance());
+      case "route" -> effects().updateState(resumed)
+          .transitionTo(ContentValidationWorkflow::routeStep).thenReply(Done.getInstance());
+      default -> effects().error("Unknown step: " + step);
+    };
+  }
+
   // --- Steps ---
 
   @StepName("detect-language")
   private StepEffect detectLanguageStep() {
-    logger.info("Detecting language for content {}", currentState().contentId());
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(LanguageDetectionAgent::detect)
-          .invoke(currentState().payload());
+      var language = currentState().language();
+      if (language == null) {
+        logger.info("Detecting language for content {}", currentState().contentId());
+        var request = currentState().promptPayload();
+        language = invokeAgent("detect-language", "language-detection-agent", session ->
+            componentClient.forAgent()
+                .inSession(session)
+                .method(LanguageDetectionAgent::detect)
+                .invokeAsync(request)).language();
+      }
 
-      notificationPublisher.publish(ContentValidationStatus.NLP.name());
-      return stepEffects()
-          .updateState(currentState().withLanguage(result.language()).withStatus(ContentValidationStatus.NLP))
-          .thenTransitionTo(ContentValidationWorkflow::validateNLPStep);
+      var reused = withReusedResults(language);
+      if (reused.isPresent()) {
+        notificationPublisher.publish(ContentValidationStatus.AGGREGATING.name());
+        return stepEffects()
+            .updateState(reused.get().advancedTo(ContentValidationStatus.AGGREGATING))
+            .thenTransitionTo(ContentValidationWorkflow::aggregateStep);
+      }
+
+      var mode = ValidationMode.select(currentState().promptPayload(), currentState().metadata(), combinedModeMaxPayloadLength);
+      if (mode == ValidationMode.COMBINED) {
+        notificationPublisher.publish(ContentValidationStatus.VALIDATING_COMBINED.name());
+        return stepEffects()
+            .updateState(currentState().withLanguage(language).advancedTo(ContentValidationStatus.VALIDATING_COMBINED))
+            .thenTransitionTo(ContentValidationWorkflow::validateCombinedStep);
+      }
+      return nextValidator(currentState().withLanguage(language), null);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("detect-language", e);
     }
   }
 
   @StepName("validate-nlp")
   private StepEffect validateNLPStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(LocalizedNLPAgent::validate)
-          .invoke(new NLPRequest(currentState().payload(), currentState().language()));
-
-      notificationPublisher.publish(ContentValidationStatus.VALIDATING_TEXT.name());
-      return stepEffects()
-          .updateState(currentState()
-              .withResult(new ValidationResult("localized-nlp-agent", result.passed(), result.issues()))
-              .withStatus(ContentValidationStatus.VALIDATING_TEXT))
-          .thenTransitionTo(ContentValidationWorkflow::validateTextStep);
+      var request = new NLPRequest(currentState().promptPayload(), currentState().language());
+      var result = verdictStream.streams("localized-nlp-agent")
+          ? streamVerdict("validate-nlp", "localized-nlp-agent")
+          : invokeAgent("validate-nlp", "localized-nlp-agent", session ->
+              componentClient.forAgent()
+                  .inSession(session)
+                  .method(LocalizedNLPAgent::validate)
+                  .invokeAsync(request)
+                  .thenApply(nlp -> new ValidationResult("localized-nlp-agent", nlp.passed(), nlp.issues())));
+
+      return nextValidator(currentState().withResult(result), Pipeline.NLP);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("validate-nlp", e);
     }
   }
 
   @StepName("validate-text")
   private StepEffect validateTextStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(TextLanguageValidationAgent::validate)
-          .invoke(new ValidationRequest(currentState().payload(), currentState().language()));
-
-      notificationPublisher.publish(ContentValidationStatus.VALIDATING_LOGO.name());
-      return stepEffects()
-          .updateState(currentState()
-              .withResult(new ValidationResult("text-language-validation-agent", result.passed(), result.issues()))
-              .withStatus(ContentValidationStatus.VALIDATING_LOGO))
-          .thenTransitionTo(ContentValidationWorkflow::validateLogoStep);
+      var request = new ValidationRequest(currentState().promptPayload(), currentState().language());
+      var result = verdictStream.streams("text-language-validation-agent")
+          ? streamVerdict("validate-text", "text-language-validation-agent")
+          : invokeAgent("validate-text", "text-language-validation-agent", session ->
+              componentClient.forAgent()
+                  .inSession(session)
+                  .method(TextLanguageValidationAgent::validate)
+                  .invokeAsync(request)
+                  .thenApply(text -> new ValidationResult("text-language-validation-agent", text.passed(), text.issues())));
+
+      return nextValidator(currentState().withResult(result), Pipeline.TEXT);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("validate-text", e);
     }
   }
 
   @StepName("validate-logo")
   private StepEffect validateLogoStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(LogoValidationAgent::validate)
-          .invoke(new LogoRequest(currentState().contentId(), currentState().payload()));
-
-      notificationPublisher.publish(ContentValidationStatus.VALIDATING_ENTERPRISE.name());
-      return stepEffects()
-          .updateState(currentState()
-              .withResult(new ValidationResult("logo-validation-agent", result.passed(), result.findings()))
-              .withStatus(ContentValidationStatus.VALIDATING_ENTERPRISE))
-          .thenTransitionTo(ContentValidationWorkflow::validateEnterpriseStep);
+      var request = new LogoRequest(currentState().contentId(), currentState().payload());
+      var result = ContentSpans.traced(tracing(), "validate-logo", currentState().contentId(),
+          span -> span
+              .setAttribute(ContentSpans.STEP, "validate-logo")
+              .setAttribute(ContentSpans.AGENT_ID, logoMatcher.enabled() ? "logo-matcher" : "logo-validation-agent"),
+          () -> validateLogo(request));
+
+      return nextValidator(
+          currentState().withResult(new ValidationResult("logo-validation-agent", result.passed(), result.findings())),
+          Pipeline.LOGO);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("validate-logo", e);
     }
   }
 
   @StepName("validate-enterprise")
   private StepEffect validateEnterpriseStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(EnterpriseValidationAgent::validate)
-          .invoke(new EnterpriseRequest(currentState().payload(), currentState().metadata()));
+      var request = new EnterpriseRequest(currentState().promptPayload(), currentState().metadata());
+      var result = verdictStream.streams("enterprise-validation-agent")
+          ? streamVerdict("validate-enterprise", "enterprise-validation-agent")
+          : invokeAgent("validate-enterprise", "enterprise-validation-agent", session ->
+              componentClient.forAgent()
+                  .inSession(session)
+                  .method(EnterpriseValidationAgent::validate)
+                  .invokeAsync(request)
+                  .thenApply(enterprise -> new ValidationResult("enterprise-validation-agent", enterprise.passed(), enterprise.violations())));
+
+      return nextValidator(currentState().withResult(result), Pipeline.ENTERPRISE);
+    } catch (RuntimeException e) {
+      return recover("validate-enterprise", e);
+    }
+  }
 
+  @StepName("validate-combined")
+  private StepEffect validateCombinedStep() {
+    try {
+      var request = new CombinedValidationRequest(
+          currentState().contentId(),
+          currentState().promptPayload(),
+          currentState().language(),
+          currentState().metadata());
+      var result = invokeAgent("validate-combined", "combined-validation-agent", session ->
+          componentClient.forAgent()
+              .inSession(session)
+              .method(CombinedValidationAgent::validate)
+              .invokeAsync(request));
+
+      // the combined agent always answers for every validator; only those of the pipeline are kept
+      var pipeline = currentState().effectivePipeline();
+      var newState = currentState();
+      for (var validationResult : result.toValidationResults()) {
+        if (pipeline.includesAgent(validationResult.agentId())) newState = newState.withResult(validationResult);
+      }
       notificationPublisher.publish(ContentValidationStatus.AGGREGATING.name());
       return stepEffects()
-          .updateState(currentState()
-              .withResult(new ValidationResult("enterprise-validation-agent", result.passed(), result.violations()))
-              .withStatus(ContentValidationStatus.AGGREGATING))
+          .updateState(newState.advancedTo(ContentValidationStatus.AGGREGATING))
           .thenTransitionTo(ContentValidationWorkflow::aggregateStep);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("validate-combined", e);
     }
   }
 
   @StepName("aggregate")
   private StepEffect aggregateStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(ValidationAggregatorAgent::aggregate)
-          .invoke(new AggregationRequest(currentState().contentId(), currentState().results()));
+      var request = new AggregationRequest(currentState().contentId(), currentState().results());
+      var result = invokeAgent("aggregate", "validation-aggregator-agent", session ->
+          componentClient.forAgent()
+              .inSession(session)
+              .method(ValidationAggregatorAgent::aggregate)
+              .invokeAsync(request));
 
       logger.info("Aggregation for {}: passed={}, confidence={}", currentState().contentId(), result.overallPassed(), result.confidence());
 
       var newState = currentState().withAggregatedResult(result);
-      if (!result.overallPassed() || result.confidence() < 0.8) {
+      if (currentState().isReplay()) {
+        notificationPublisher.publish(ContentValidationStatus.COMPLETED.name());
+        // the replay job deletes the shadow run once it collected it; this covers a job that stopped
+        scheduleRetention(shadowRetention);
+        return stepEffects()
+            .updateState(newState.advancedTo(ContentValidationStatus.COMPLETED))
+            .thenEnd();
+      }
+      if (result.needsReview() && !passesCalibratedThreshold(result)) {
         notificationPublisher.publish(ContentValidationStatus.AWAITING_REVIEW.name());
+        scheduleReviewTimeout();
         return stepEffects()
-            .updateState(newState.withStatus(ContentValidationStatus.AWAITING_REVIEW))
+            .updateState(newState.advancedTo(ContentValidationStatus.AWAITING_REVIEW).withReview(newState.review().requested(Instant.now())))
             .thenPause();
       }
       notificationPublisher.publish(ContentValidationStatus.ROUTING.name());
       return stepEffects()
-          .updateState(newState.withStatus(ContentValidationStatus.ROUTING))
+          .updateState(newState.advancedTo(ContentValidationStatus.ROUTING))
           .thenTransitionTo(ContentValidationWorkflow::routeStep);
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("aggregate", e);
     }
   }
 
   @StepName("route")
   private StepEffect routeStep() {
     try {
-      var result = componentClient.forAgent()
-          .inSession(sessionId())
-          .method(RoutingComplianceAgent::route)
-          .invoke(new RoutingRequest(
-              currentState().contentId(),
-              currentState().aggregatedResult(),
-              currentState().reviewDecision()));
+      var request = new RoutingRequest(
+          currentState().contentId(),
+          currentState().aggregatedResult(),
+          currentState().reviewDecision());
+      var result = invokeAgent("route", "routing-compliance-agent", session ->
+          componentClient.forAgent()
+              .inSession(session)
+              .method(RoutingComplianceAgent::route)
+              .invokeAsync(request));
 
       notificationPublisher.publish(ContentValidationStatus.COMPLETED.name());
+      scheduleRetention(completedRetention);
       return stepEffects()
-          .updateState(currentState().withRoutingTarget(result.target()).withStatus(ContentValidationStatus.COMPLETED))
+          .updateState(currentState().withRoutingTarget(result.target()).advancedTo(ContentValidationStatus.COMPLETED))
           .thenEnd();
     } catch (RuntimeException e) {
-      if (isGuardrailBlocked(e)) return guardrailFailEffect(e);
-      throw e;
+      return recover("route", e);
     }
   }
 
+  /**
+   * A step that exhausted its retries fails the workflow with the step recorded and pauses it, so it can
+   * be resumed; guardrail blocks, reviewer rejections and review timeouts end it.
+   */
   @StepName("fail")
   private StepEffect failStep() {
-    logger.warn("Workflow failed for content {}", currentState().contentId());
+    var failedStep = stepOf(currentState().status());
+    logger.warn("Workflow failed for content {}{}", currentState().contentId(), failedStep != null ? " at step " + failedStep : "");
     notificationPublisher.publish(ContentValidationStatus.FAILED.name());
+    scheduleRetention(currentState().isReplay() ? shadowRetention : failedRetention);
+    if (failedStep == null) {
+      return stepEffects()
+          .updateState(currentState().withStatus(ContentValidationStatus.FAILED))
+          .thenEnd();
+    }
+    var reason = currentState().failureReason() != null ? currentState().failureReason() : "Step " + failedStep + " failed";
     return stepEffects()
-        .updateState(currentState().withStatus(ContentValidationStatus.FAILED))
-        .thenEnd();
+        .updateState(currentState().withStatus(ContentValidationStatus.FAILED).withFailureReason(reason).withRecovery(currentState().recovery().failedAt(failedStep)))
+        .thenPause();
+  }
+
+  /**
+   * The step running while the workflow has the given status, or null when no step is running.
+   */
+  private static String stepOf(ContentValidationStatus status) {
+    return switch (status) {
+      case DETECTING -> "detect-language";
+      case NLP -> "validate-nlp";
+      case VALIDATING_TEXT -> "validate-text";
+      case VALIDATING_LOGO -> "validate-logo";
+      case VALIDATING_ENTERPRISE -> "validate-enterprise";
+      case VALIDATING_COMBINED -> "validate-combined";
+      case AGGREGATING -> "aggregate";
+      case ROUTING -> "route";
+      case RECEIVED, AWAITING_REVIEW, COMPLETED, FAILED -> null;
+    };
+  }
+
+  private static ContentValidationStatus statusOf(String step) {
+    return switch (step) {
+      case "detect-language" -> ContentValidationStatus.DETECTING;
+      case "validate-nlp" -> ContentValidationStatus.NLP;
+      case "validate-text" -> ContentValidationStatus.VALIDATING_TEXT;
+      case "validate-logo" -> ContentValidationStatus.VALIDATING_LOGO;
+      case "validate-enterprise" -> ContentValidationStatus.VALIDATING_ENTERPRISE;
+      case "validate-combined" -> ContentValidationStatus.VALIDATING_COMBINED;
+      case "aggregate" -> ContentValidationStatus.AGGREGATING;
+      case "route" -> ContentValidationStatus.ROUTING;
+      default -> throw new IllegalArgumentException("Unknown step: " + step);
+    };
+  }
+
+  /**
+   * In apply mode, an item that passed every check with a confidence below the fixed review threshold
+   * but at or above the calibrated threshold of its tenant and content type is routed without review,
+   * apart from an audit sample.
+   */
+  private boolean passesCalibratedThreshold(AggregatedResult result) {
+    if (!calibrationSettings.apply() || !result.overallPassed()
+        || !currentState().results().stream().allMatch(ValidationResult::passed)) return false;
+    var segment = calibrationSettings.segmentOf(currentState().metadata());
+    try {
+      var report = componentClient.forEventSourcedEntity(segment)
+          .method(ReviewCalibrationEntity::getReport)
+          .invoke(calibrationSettings.target());
+      if (result.confidence() < report.suggestedThreshold()) return false;
+      if (ThreadLocalRandom.current().nextDouble() < calibrationSettings.auditRate()) {
+        logger.info("Sending content {} to review as calibration audit sample of {}", currentState().contentId(), segment);
+        return false;
+      }
+      logger.info("Content {} passes calibrated threshold {} of {} with confidence {}",
+          currentState().contentId(), report.suggestedThreshold(), segment, result.confidence());
+      return true;
+    } catch (RuntimeException e) {
+      logger.debug("No calibrated threshold for {}: {}", segment, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Moves on to the validator after the completed one in the item's pipeline, or to aggregation after
+   * the last one.
+   */
+  private StepEffect nextValidator(ContentValidationState state, String completed) {
+    var next = state.effectivePipeline().next(completed);
+    if (next.isEmpty()) {
+      notificationPublisher.publish(ContentValidationStatus.AGGREGATING.name());
+      return stepEffects()
+          .updateState(state.advancedTo(ContentValidationStatus.AGGREGATING))
+          .thenTransitionTo(ContentValidationWorkflow::aggregateStep);
+    }
+    var status = Pipeline.statusOf(next.get());
+    notificationPublisher.publish(status.name());
+    var newState = state.advancedTo(status);
+    return switch (next.get()) {
+      case Pipeline.NLP -> stepEffects().updateState(newState).thenTransitionTo(ContentValidationWorkflow::validateNLPStep);
+      case Pipeline.TEXT -> stepEffects().updateState(newState).thenTransitionTo(ContentValidationWorkflow::validateTextStep);
+      case Pipeline.LOGO -> stepEffects().updateState(newState).thenTransitionTo(ContentValidationWorkflow::validateLogoStep);
+      case Pipeline.ENTERPRISE -> stepEffects().updateState(newState).thenTransitionTo(ContentValidationWorkflow::validateEnterpriseStep);
+      default -> throw new IllegalStateException("Unknown validator in pipeline " + state.effectivePipeline().name() + ": " + next.get());
+    };
+  }
+
+  /**
+   * Records the pipeline selected for the item's metadata, a language declared in the metadata so
+   * language detection is skipped, the normalized payload when preprocessing is enabled, and whether
+   * projections coalesce its progress; the payloads are stored compacted when the codec is enabled.
+   */
+  private ContentValidationState prepare(ContentValidationState state) {
+    var pipeline = pipelineSettings.select(state.metadata());
+    var language = pipelineSettings.declaredLanguage(state.metadata());
+    logger.info("Content {} uses pipeline {} {}{}", state.contentId(), pipeline.name(), pipeline.validators(),
+        language != null ? ", declared language " + language : "");
+    var preparation = state.preparation().withPipeline(pipeline).withCoalesceProgress(progressCoalescing.enabled());
+    if (payloadNormalizer.enabled() && state.payload() != null) {
+      var normalized = payloadNormalizer.normalize(state.payload());
+      logger.info("Normalized content {} from about {} to {} tokens",
+          state.contentId(), normalized.originalEstimatedTokens(), normalized.estimatedTokens());
+      preparation = preparation.withNormalized(normalized);
+    }
+    var newState = state.withPreparation(preparation).compacted(payloadCodec);
+    return language != null ? newState.withLanguage(language) : newState;
+  }
+
+  /**
+   * Guardrail blocks fail the workflow. With circuit breakers enabled any other failed agent call parks
+   * the step and a timer resumes it after an exponential backoff, or once the agent's open breaker lets
+   * a probe through. Without breakers the exception goes to the default step recovery.
+   */
+  private StepEffect recover(String stepName, RuntimeException e) {
+    if (AgentInvoker.isGuardrailBlocked(e)) return guardrailFailEffect(e);
+    var breakers = agentInvoker.breakerSettings();
+    if (!breakers.enabled()) throw e;
+
+    if (e instanceof CircuitOpenException open) {
+      var delay = breakers.retryAfterOpen(open.retryAfter(), ThreadLocalRandom.current().nextDouble());
+      logger.info("Parking step {} for content {}, retrying in {}: {}", stepName, currentState().contentId(), delay, e.getMessage());
+      return park(stepName, currentState().recovery().retryAttempt(), delay);
+    }
+    var attempt = currentState().recovery().retryAttempt() + 1;
+    if (attempt >= breakers.maxAttempts()) {
+      logger.warn("Step {} failed {} times for content {}: {}", stepName, attempt, currentState().contentId(), e.getMessage());
+      return stepEffects()
+          .updateState(currentState().withFailureReason("Step " + stepName + " failed after " + attempt + " attempts: " + e.getMessage()))
+          .thenTransitionTo(ContentValidationWorkflow::failStep);
+    }
+    var delay = breakers.backoff(attempt, ThreadLocalRandom.current().nextDouble());
+    logger.info("Parking step {} for content {} after failed attempt {}, retrying in {}", stepName, currentState().contentId(), attempt, delay);
+    return park(stepName, attempt, delay);
+  }
+
+  /**
+   * Uses the local logo matcher when enabled; the agent is only asked when the matcher is disabled, or
+   * when the payload references no image assets and the LLM fallback is on.
+   */
+  private LogoResult validateLogo(LogoRequest request) {
+    if (logoMatcher.enabled()) {
+      var local = logoMatcher.validate(request.contentUrl());
+      if (local.isPresent()) return local.get();
+      if (!logoMatcher.settings().llmFallback()) {
+        return new LogoResult(true, List.of("No image assets referenced"));
+      }
+    }
+    return callAgent("logo-validation-agent", session ->
+        componentClient.forAgent()
+            .inSession(session)
+            .method(LogoValidationAgent::validate)
+            .invokeAsync(request));
+  }
+
+  /**
+   * The state with the validation results of a previously completed near-duplicate in the same
+   * language, if the index knows one and that workflow still exists.
+   */
+  private Optional<ContentValidationState> withReusedResults(String language) {
+    if (!nearDuplicateIndex.enabled() || currentState().isReplay()) return Optional.empty();
+    var signature = MinHash.of(currentState().payload());
+    if (signature == null) return Optional.empty();
+    var match = nearDuplicateIndex.lookup(signature);
+    if (match.isEmpty()) return Optional.empty();
+    try {
+      var source = componentClient.forWorkflow(match.get().contentId())
+          .method(ContentValidationWorkflow::getResults)
+          .invoke();
+      if (source.results().isEmpty() || !language.equals(source.language())) return Optional.empty();
+      logger.info("Reusing results of {} for content {}, similarity {}",
+          match.get().contentId(), currentState().contentId(), match.get().similarity());
+      var newState = currentState()
+          .withLanguage(language)
+          .withOrigin(currentState().origin().reusing(new ResultReuse(match.get().contentId(), match.get().similarity())));
+      for (var validationResult : source.results()) {
+        newState = newState.withResult(validationResult);
+      }
+      return Optional.of(newState);
+    } catch (RuntimeException e) {
+      // the source may have been deleted after its retention period
+      logger.debug("Could not reuse results of {}: {}", match.get().contentId(), e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void scheduleReviewTimeout() {
+    if (reviewTimeout.isZero()) return;
+    var workflowId = commandContext().workflowId();
+    timers().createSingleTimer(
+        "review-timeout-" + workflowId,
+        reviewTimeout,
+        componentClient.forWorkflow(workflowId)
+            .method(ContentValidationWorkflow::expireReview)
+            .deferred());
+  }
+
+  private void scheduleRetention(Duration retention) {
+    if (retention.isZero()) return;
+    var workflowId = commandContext().workflowId();
+    timers().createSingleTimer(
+        "retention-" + workflowId,
+        retention,
+        componentClient.forWorkflow(workflowId)
+            .method(ContentValidationWorkflow::expire)
+            .deferred());
   }
 
-  private static boolean isGuardrailBlocked(Throwable t) {
-    if (t == null) return false;
-    String msg = t.getMessage();
-    return (msg != null && msg.contains("guardrail blocked")) || isGuardrailBlocked(t.getCause());
+  private StepEffect park(String stepName, int attempt, Duration delay) {
+    var workflowId = commandContext().workflowId();
+    timers().createSingleTimer(
+        "resume-" + workflowId,
+        delay,
+        componentClient.forWorkflow(workflowId)
+            .method(ContentValidationWorkflow::resumeParked)
+            .deferred());
+    return stepEffects()
+        .updateState(currentState().withRecovery(currentState().recovery().parked(stepName, attempt)))
+        .thenPause();
   }
 
   private StepEffect guardrailFailEffect(RuntimeException e) {
@@ -274,6 +913,63 @@ public class ContentValidationWorkflow extends Workflow<ContentValidationState>
         .thenTransitionTo(ContentValidationWorkflow::failStep);
   }
 
+  /**
+   * Calls the agent through the {@link FairScheduler} and {@link AgentInvoker} within a span for the step. Token counts are on the
+   * runtime's own model request spans.
+   */
+  private <T> T invokeAgent(String stepName, String agentId, Function<String, CompletionStage<T>> call) {
+    var attempt = currentState().recovery().retryAttempt();
+    return ContentSpans.traced(tracing(), stepName, currentState().contentId(),
+        span -> span
+            .setAttribute(ContentSpans.STEP, stepName)
+            .setAttribute(ContentSpans.AGENT_ID, agentId)
+            .setAttribute(ContentSpans.MODEL, modelName)
+            .setAttribute(ContentSpans.RETRY_ATTEMPT, (long) attempt),
+        () -> callAgent(agentId, call));
+  }
+
+  /**
+   * Streams the validator's response through {@link StreamingValidatorAgent} and returns as soon as its
+   * verdict is decided, cancelling the rest of the generation.
+   */
+  private ValidationResult streamVerdict(String stepName, String agentId) {
+    var request = new VerdictRequest(
+        agentId, currentState().promptPayload(), currentState().language(), currentState().metadata());
+    return invokeAgent(stepName, agentId, session -> {
+      Source<String, NotUsed> tokens = componentClient.forAgent()
+          .inSession(session)
+          .tokenStream(StreamingValidatorAgent::validate)
+          .source(request);
+      return verdictStream.collect(agentId, tokens, materializer)
+          .thenApply(verdict -> new ValidationResult(agentId, verdict.passed(), verdict.issues()));
+    });
+  }
+
+  /**
+   * Calls the agent once the item's tenant has been granted one of this node's agent call slots. Steps
+   * are synchronous, so this is where the step waits for the response.
+   */
+  private <T> T callAgent(String agentId, Function<String, CompletionStage<T>> call) {
+    var tenant = fairScheduler.settings().tenantOf(currentState().metadata());
+    return await(fairScheduler.run(tenant, () -> agentInvoker.invoke(agentId, sessionId(), call)));
+  }
+
+  /**
+   * The result of the stage, with the failure of the stage rethrown as it was raised.
+   */
+  private static <T> T await(CompletionStage<T> stage) {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      throw e;
+    }
+  }
+
+  private Tracing tracing() {
+    return commandContext().tracing();
+  }
+
   private String sessionId() {
     return commandContext().workflowId();
   }
@@ -0,0 +1,45 @@
+package com.example.application;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
+import akka.javasdk.consumer.Consumer;
+import com.example.application.similarity.NearDuplicateIndex;
+import com.example.application.similarity.MinHash;
+import com.example.domain.ContentValidationState;
+import com.example.domain.ContentValidationStatus;
+
+/**
+ * Adds the signature of every item that completed with its own validation results to the
+ * {@link NearDuplicateIndex} of this node. Updates are spread over the nodes by content id, so each
+ * node indexes only its share of the completed items.
+ */
+@Component(id = "near-duplicate-index-consumer")
+@Consume.FromWorkflow(ContentValidationWorkflow.class)
+public class NearDuplicateIndexConsumer extends Consumer {
+
+  private final NearDuplicateIndex nearDuplicateIndex;
+
+  public NearDuplicateIndexConsumer(NearDuplicateIndex nearDuplicateIndex) {
+    this.nearDuplicateIndex = nearDuplicateIndex;
+  }
+
+  public Effect onUpdate(ContentValidationState state) {
+    if (!nearDuplicateIndex.enabled()
+        || state.isReplay()
+        || state.status() != ContentValidationStatus.COMPLETED
+        || state.origin().resultReuse() != null
+        || state.results().isEmpty()) {
+      return effects().ignore();
+    }
+    var signature = MinHash.of(state.payload());
+    if (signature == null) return effects().ignore();
+    nearDuplicateIndex.add(state.contentId(), signature);
+    return effects().done();
+  }
+
+  @DeleteHandler
+  public Effect onDelete() {
+    return effects().ignore();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.application;
+
+import akka.javasdk.Metadata;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Produce;
+import akka.javasdk.consumer.Consumer;
+import com.example.domain.PushBatch;
+import com.example.domain.PushBatchEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Component(id = "push-batch-consumer")
+@Consume.FromEventSourcedEntity(PushBatchEntity.class)
+@Produce.ToTopic("content-push")
+public class PushBatchConsumer extends Consumer {
+
+  private static final Logger logger = LoggerFactory.getLogger(PushBatchConsumer.class);
+
+  public Effect onEvent(PushBatchEvent event) {
+    return switch (event) {
+      case PushBatchEvent.ReferenceAdded ignored -> effects().ignore();
+      case PushBatchEvent.BatchSealed sealed -> {
+        var target = messageContext().eventSubject().orElseThrow();
+        logger.info("Publishing batch {} with {} items for target {}", sealed.sequence(), sealed.items().size(), target);
+        var metadata = Metadata.EMPTY.add("ce-subject", target);
+        yield effects().produce(new PushBatch(target, sealed.sequence(), sealed.items()), metadata);
+      }
+    };
+  }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import com.example.domain.PushBatchEvent;
+import com.example.domain.PushBatchState;
+import com.example.domain.PushReference;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects push references for one routing target (the entity id) and seals them into numbered
+ * batches, either when the batch is full or when its flush timer fires. Entities cannot schedule
+ * timers, so {@link #add} tells {@link ContentPushConsumer} when a batch is owed one.
+ */
+@Component(id = "push-batch")
+public class PushBatchEntity extends EventSourcedEntity<PushBatchState, PushBatchEvent> {
+
+  public record AddReference(PushReference reference, int maxBatchSize, Duration maxBatchDelay) {}
+
+  /**
+   * @param pending    references pending after the add, 0 when the add sealed a batch
+   * @param flushAfter when not null, the pending batch must be flushed after this delay
+   */
+  public record Added(int pending, Duration flushAfter) {}
+
+  @Override
+  public PushBatchState emptyState() {
+    return PushBatchState.empty();
+  }
+
+  /**
+   * A reference that opens a batch owes it a flush timer, due max-delay after it was added. So does a
+   * redelivered pending reference, since the timer of the add it repeats may not have been created;
+   * the timer has the same deadline either way. A reference that was already sealed is ignored.
+   */
+  public Effect<Added> add(AddReference command) {
+    var contentId = command.reference().contentId();
+    if (currentState().wasSealed(contentId)) {
+      return effects().reply(new Added(currentState().pending().size(), null));
+    }
+    if (currentState().contains(contentId)) {
+      return effects().reply(new Added(currentState().pending().size(), flushAfter(currentState().openedAt(), command.maxBatchDelay())));
+    }
+    var added = new PushBatchEvent.ReferenceAdded(command.reference(), Instant.now());
+    if (currentState().pending().size() + 1 >= command.maxBatchSize()) {
+      var items = new ArrayList<>(currentState().pending());
+      items.add(command.reference());
+      var sealed = new PushBatchEvent.BatchSealed(currentState().sequence() + 1, List.copyOf(items));
+      return effects()
+          .persistAll(List.of(added, sealed))
+          .thenReply(newState -> new Added(newState.pending().size(), null));
+    }
+    var opensBatch = currentState().pending().isEmpty();
+    return effects()
+        .persist(added)
+        .thenReply(newState -> new Added(newState.pending().size(), opensBatch ? command.maxBatchDelay() : null));
+  }
+
+  public Effect<Done> flush() {
+    if (currentState().pending().isEmpty()) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .persist(new PushBatchEvent.BatchSealed(currentState().sequence() + 1, currentState().pending()))
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  private static Duration flushAfter(Instant openedAt, Duration maxBatchDelay) {
+    var remaining = Duration.between(Instant.now(), openedAt.plus(maxBatchDelay));
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+
+  @Override
+  public PushBatchState applyEvent(PushBatchEvent event) {
+    return switch (event) {
+      case PushBatchEvent.ReferenceAdded evt -> currentState().withReference(evt.reference(), evt.addedAt());
+      case PushBatchEvent.BatchSealed evt -> currentState().sealed(evt.sequence(), evt.items());
+    };
+  }
+}
\ No newline at end of file
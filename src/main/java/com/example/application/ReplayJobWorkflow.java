@@ -0,0 +1,356 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.StepName;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.workflow.Workflow;
+import com.example.domain.*;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Re-runs a selection of existing items through shadow runs of {@link ContentValidationWorkflow}, so the
+ * effect of changed prompts or enterprise rules can be reviewed before they are rolled out. The job
+ * advances on a timer tick, dispatching at most rate-per-second shadow runs per second and keeping at most
+ * concurrency of them running. Items are selected from the view a page at a time as the job needs them,
+ * so neither a step nor the job's state holds the whole selection. Its state is the checkpoint, so a
+ * restarted job continues where it stopped.
+ */
+@Component(id = "replay-job-workflow")
+public class ReplayJobWorkflow extends Workflow<ReplayJobState> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplayJobWorkflow.class);
+
+  private static final int PAGES_PER_STEP = 10;
+
+  public record StartReplay(ReplayCriteria criteria, int concurrency, int ratePerSecond) {}
+
+  public record ReplayReport(
+      String jobId,
+      ReplayJobStatus status,
+      int selected,
+      int dispatched,
+      int inFlight,
+      int completed,
+      int failed,
+      int skipped,
+      int changed,
+      int verdictsChanged,
+      List<ReplayDiff> diffs,
+      Instant startedAt,
+      Instant finishedAt) {}
+
+  private final ComponentClient componentClient;
+  private final int maxConcurrency;
+  private final int maxRatePerSecond;
+  private final int maxItems;
+  private final int maxDiffs;
+  private final int pageSize;
+  private final Duration tickInterval;
+
+  public ReplayJobWorkflow(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    var replay = config.getConfig("content-validation.replay");
+    this.maxConcurrency = replay.getInt("max-concurrency");
+    this.maxRatePerSecond = replay.getInt("max-rate-per-second");
+    this.maxItems = replay.getInt("max-items");
+    this.maxDiffs = replay.getInt("max-diffs");
+    this.pageSize = replay.getInt("page-size");
+    this.tickInterval = replay.getDuration("tick-interval");
+  }
+
+  /**
+   * Id of the shadow workflow that replays one item for a job.
+   */
+  public static String shadowId(String jobId, String contentId) {
+    return "replay-" + jobId + "-" + contentId;
+  }
+
+  @Override
+  public WorkflowSettings settings() {
+    return WorkflowSettings.builder()
+        .defaultStepTimeout(ofSeconds(60))
+        .build();
+  }
+
+  // --- Command handlers ---
+
+  public Effect<Done> start(StartReplay request) {
+    if (currentState() != null) {
+      return effects().error("Replay job already started");
+    }
+    var jobId = commandContext().workflowId();
+    var criteria = request.criteria() != null ? request.criteria() : new ReplayCriteria(null, null, null, null, 0);
+    var concurrency = clamp(request.concurrency(), maxConcurrency);
+    var rate = clamp(request.ratePerSecond(), maxRatePerSecond);
+    logger.info("Starting replay job {} with {}, concurrency {}, {} per second", jobId, criteria, concurrency, rate);
+    return effects()
+        .updateState(ReplayJobState.initial(jobId, criteria, concurrency, rate, Instant.now()))
+        .transitionTo(ReplayJobWorkflow::selectStep)
+        .thenReply(Done.getInstance());
+  }
+
+  public ReadOnlyEffect<ReplayReport> getReport() {
+    if (currentState() == null) {
+      return effects().error("Replay job not started");
+    }
+    var state = currentState();
+    return effects().reply(new ReplayReport(
+        state.jobId(),
+        state.status(),
+        state.selected(),
+        state.dispatched(),
+        state.inFlight().size(),
+        state.completed(),
+        state.failed(),
+        state.skipped(),
+        state.changed(),
+        (int) state.diffs().stream().filter(ReplayDiff::verdictChanged).count(),
+        state.diffs(),
+        state.startedAt(),
+        state.finishedAt()));
+  }
+
+  /**
+   * Stops dispatching and cancels the shadow runs in flight, which are not collected; each is deleted
+   * after the shadow retention.
+   */
+  public Effect<Done> cancel() {
+    if (currentState() == null) {
+      return effects().error("Replay job not started");
+    }
+    if (currentState().status() == ReplayJobStatus.COMPLETED || currentState().status() == ReplayJobStatus.CANCELLED) {
+      return effects().reply(Done.getInstance());
+    }
+    timers().delete("replay-tick-" + currentState().jobId());
+    return effects()
+        .updateState(currentState().withStatus(ReplayJobStatus.CANCELLED, Instant.now()))
+        .transitionTo(ReplayJobWorkflow::cancelShadowsStep)
+        .thenReply(Done.getInstance());
+  }
+
+  /**
+   * Called by the job's timer; a no-op once the job is no longer running.
+   */
+  public Effect<Done> tick() {
+    if (currentState() == null || currentState().status() != ReplayJobStatus.RUNNING) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .transitionTo(ReplayJobWorkflow::advanceStep)
+        .thenReply(Done.getInstance());
+  }
+
+  // --- Steps ---
+
+  @StepName("select")
+  private StepEffect selectStep() {
+    var state = select(currentState(), pageSize);
+    logger.info("Replay job {} selected {} items of its first page", state.jobId(), state.selected());
+    return stepEffects()
+        .updateState(state)
+        .thenTransitionTo(ReplayJobWorkflow::advanceStep);
+  }
+
+  /**
+   * Collects finished shadow runs into the report, then dispatches new ones within the concurrency and
+   * rate limits, and either ends the job or waits for the next tick. The calls for the shadow runs of a
+   * tick run concurrently, so the step waits for the slowest rather than for their sum.
+   */
+  @StepName("advance")
+  private StepEffect advanceStep() {
+    var state = currentState();
+
+    var collecting = state.inFlight().stream().map(contentId -> collect(state.jobId(), contentId)).toList();
+    var advanced = state;
+    for (var collected : join(collecting)) {
+      if (collected.finished()) {
+        advanced = advanced.withFinished(collected.contentId(), collected.failed(), collected.diff(), maxDiffs);
+      }
+    }
+
+    var perTick = (int) Math.max(1, advanced.ratePerSecond() * tickInterval.toMillis() / 1000);
+    var budget = Math.max(0, Math.min(advanced.concurrency() - advanced.inFlight().size(), perTick));
+    if (advanced.pending().size() < budget) {
+      advanced = select(advanced, Math.max(budget, pageSize));
+    }
+    var batch = advanced.pending().subList(0, Math.min(advanced.pending().size(), budget));
+    var dispatching = batch.stream().map(contentId -> dispatch(state.jobId(), contentId)).toList();
+    var dispatched = join(dispatching);
+    for (int i = 0; i < batch.size(); i++) {
+      var contentId = batch.get(i);
+      advanced = dispatched.get(i) ? advanced.withDispatched(contentId) : advanced.withSkipped(contentId);
+    }
+
+    if (advanced.isDrained()) {
+      logger.info("Replay job {} completed: {} replayed, {} changed", advanced.jobId(), advanced.completed(), advanced.changed());
+      return stepEffects()
+          .updateState(advanced.withStatus(ReplayJobStatus.COMPLETED, Instant.now()))
+          .thenEnd();
+    }
+    timers().createSingleTimer(
+        "replay-tick-" + advanced.jobId(),
+        tickInterval,
+        componentClient.forWorkflow(advanced.jobId())
+            .method(ReplayJobWorkflow::tick)
+            .deferred());
+    return stepEffects()
+        .updateState(advanced)
+        .thenPause();
+  }
+
+  @StepName("cancel-shadows")
+  private StepEffect cancelShadowsStep() {
+    var state = currentState();
+    var cancelling = state.inFlight().stream()
+        .map(contentId -> componentClient.forWorkflow(shadowId(state.jobId(), contentId))
+            .method(ContentValidationWorkflow::cancelReplay)
+            .invokeAsync()
+            .exceptionally(e -> {
+              // the shadow run still schedules its own retention when it finishes
+              logger.debug("Could not cancel shadow run of {}: {}", contentId, e.getMessage());
+              return Done.getInstance();
+            }))
+        .toList();
+    join(cancelling);
+    logger.info("Replay job {} cancelled with {} shadow runs in flight", state.jobId(), state.inFlight().size());
+    return stepEffects().thenEnd();
+  }
+
+  /**
+   * Reads pages of the selection until at least {@code wanted} items are pending, the selection is
+   * exhausted or {@value #PAGES_PER_STEP} pages were read. The view query filters status and period;
+   * the routing target and the limit are applied to each page. Only items received before the job started are
+   * selected, so items submitted while it runs do not extend it.
+   */
+  private ReplayJobState select(ReplayJobState state, int wanted) {
+    var criteria = state.criteria();
+    var from = criteria.from() != null ? criteria.from() : Instant.EPOCH;
+    var to = criteria.to() != null && criteria.to().isBefore(state.startedAt()) ? criteria.to() : state.startedAt();
+    for (int pages = 0; pages < PAGES_PER_STEP && !state.selectionDone() && state.pending().size() < wanted; pages++) {
+      var page = criteria.status() == null
+          ? componentClient.forView().method(ContentStatusView::getReceivedPage)
+              .invoke(new ContentStatusView.ReceivedPageQuery(from, to, state.pageToken(), pageSize))
+          : componentClient.forView().method(ContentStatusView::getReceivedWithStatusPage)
+              .invoke(new ContentStatusView.ReceivedWithStatusPageQuery(criteria.status().toUpperCase(), from, to, state.pageToken(), pageSize));
+      var remaining = state.remainingSelection(maxItems);
+      var contentIds = page.entries().stream()
+          .filter(e -> criteria.matches(e.status(), e.receivedAt(), e.routingTarget()))
+          .map(ContentStatusView.StatusEntry::contentId)
+          .limit(remaining)
+          .toList();
+      state = state.withPage(contentIds, page.nextPageToken(), !page.hasMore() || contentIds.size() >= remaining);
+    }
+    return state;
+  }
+
+  private record Collected(String contentId, boolean finished, boolean failed, ReplayDiff diff) {}
+
+  /**
+   * Compares a finished shadow run with its original and deletes it.
+   */
+  private CompletionStage<Collected> collect(String jobId, String contentId) {
+    var shadowId = shadowId(jobId, contentId);
+    return componentClient.forWorkflow(shadowId).method(ContentValidationWorkflow::getStatus).invokeAsync()
+        .handle((shadow, error) -> {
+          if (error != null) {
+            // collected and deleted by an earlier attempt of this step whose state update was lost
+            return CompletableFuture.completedStage(new Collected(contentId, true, true, null));
+          }
+          if (shadow.status() != ContentValidationStatus.COMPLETED && shadow.status() != ContentValidationStatus.FAILED) {
+            return CompletableFuture.completedStage(new Collected(contentId, false, false, null));
+          }
+          var failed = shadow.status() == ContentValidationStatus.FAILED;
+          return diff(contentId, shadowId, shadow).thenCompose(diff ->
+              componentClient.forWorkflow(shadowId).method(ContentValidationWorkflow::expire).invokeAsync()
+                  .thenApply(done -> new Collected(contentId, true, failed, diff)));
+        })
+        .thenCompose(collected -> collected);
+  }
+
+  /**
+   * Starts the shadow run of an item.
+   *
+   * @return false when the original was deleted after its retention period since it was selected
+   */
+  private CompletionStage<Boolean> dispatch(String jobId, String contentId) {
+    return componentClient.forWorkflow(contentId).method(ContentValidationWorkflow::getRequest).invokeAsync()
+        .handle((original, error) -> {
+          if (error != null) {
+            logger.debug("Skipping replay of {}: {}", contentId, error.getMessage());
+            return CompletableFuture.completedStage(false);
+          }
+          // a retried step may start the same shadow run again, which the shadow run accepts
+          return componentClient.forWorkflow(shadowId(jobId, contentId))
+              .method(ContentValidationWorkflow::replay)
+              .invokeAsync(new ReplayRequest(jobId, original))
+              .thenApply(done -> true);
+        })
+        .thenCompose(dispatched -> dispatched);
+  }
+
+  /**
+   * Waits for all calls of a step, failing the step if any failed.
+   */
+  private static <T> List<T> join(List<CompletionStage<T>> stages) {
+    var futures = stages.stream().map(CompletionStage::toCompletableFuture).toList();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  private record Original(ContentValidationWorkflow.StatusResponse status, ContentValidationWorkflow.ResultsResponse results) {}
+
+  /**
+   * @return null when the shadow run reached the same verdict with the same validator outcomes
+   */
+  private CompletionStage<ReplayDiff> diff(String contentId, String shadowId, ContentValidationWorkflow.StatusResponse shadow) {
+    var original = componentClient.forWorkflow(contentId).method(ContentValidationWorkflow::getStatus).invokeAsync()
+        .thenCombine(componentClient.forWorkflow(contentId).method(ContentValidationWorkflow::getResults).invokeAsync(), Original::new)
+        .exceptionally(e -> {
+          logger.debug("Original {} no longer available for comparison: {}", contentId, e.getMessage());
+          return null;
+        });
+    var shadowResults = componentClient.forWorkflow(shadowId).method(ContentValidationWorkflow::getResults).invokeAsync();
+    return original.thenCombine(shadowResults, (originalRun, results) ->
+        originalRun != null ? compare(contentId, originalRun, shadow, results) : null);
+  }
+
+  private static ReplayDiff compare(String contentId, Original original,
+                                    ContentValidationWorkflow.StatusResponse shadow,
+                                    ContentValidationWorkflow.ResultsResponse shadowResults) {
+    var originalPassed = new HashMap<String, Boolean>();
+    original.results().results().forEach(r -> originalPassed.put(r.agentId(), r.passed()));
+    var changedValidators = new ArrayList<String>();
+    for (var result : shadowResults.results()) {
+      var before = originalPassed.get(result.agentId());
+      if (before != null && before != result.passed()) changedValidators.add(result.agentId());
+    }
+
+    var originalVerdict = ReplayVerdict.of(original.status().aggregatedResult());
+    var replayVerdict = ReplayVerdict.of(shadow.aggregatedResult());
+    if (originalVerdict == replayVerdict && changedValidators.isEmpty()) return null;
+    return new ReplayDiff(
+        contentId,
+        originalVerdict,
+        replayVerdict,
+        original.status().aggregatedResult() != null ? original.status().aggregatedResult().confidence() : 0.0,
+        shadow.aggregatedResult() != null ? shadow.aggregatedResult().confidence() : 0.0,
+        List.copyOf(changedValidators));
+  }
+
+  private static int clamp(int requested, int max) {
+    return requested <= 0 ? max : Math.min(requested, max);
+  }
+}
\ No newline at end of file
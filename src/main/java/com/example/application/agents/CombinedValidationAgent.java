@@ -0,0 +1,38 @@
+package com.example.application.agents;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.annotations.AgentRole;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.JsonSupport;
+import com.example.domain.CombinedValidationRequest;
+import com.example.domain.CombinedValidationResult;
+
+@Component(id = "combined-validation-agent")
+@AgentRole("validator")
+public class CombinedValidationAgent extends Agent {
+
+  private static final String SYSTEM_MESSAGE = """
+      Validate the content in four independent sections and return all of them in one response.
+      nlp: classify the call reason and validate it meets localization requirements for the given language; return the call reason category, whether it passed and any issues.
+      text: validate the text for grammar correctness and language policy compliance; return whether it passed and a list of issues found.
+      logo: check whether required logos are present and compliant with brand guidelines; return pass/fail and any findings.
+      enterprise: apply enterprise business rules using the content and metadata; return whether all rules passed and list any violations.
+      """;
+
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public CombinedValidationAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
+  public Effect<CombinedValidationResult> validate(CombinedValidationRequest request) {
+    return outputLimits.apply("combined-validation-agent", effects())
+        .systemMessage(SYSTEM_MESSAGE)
+        .userMessage(JsonSupport.encodeToString(request))
+        .responseConformsTo(CombinedValidationResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("combined-validation-agent", CombinedValidationResult.class, failure, "nlp", "text", "logo", "enterprise"))
+        .thenReply();
+  }
+}
\ No newline at end of file
@@ -11,14 +11,27 @@ import com.example.domain.EnterpriseResult;
 @AgentRole("validator")
 public class EnterpriseValidationAgent extends Agent {
 
-  private static final String SYSTEM_MESSAGE =
+  static final String SYSTEM_MESSAGE =
       "Apply enterprise business rules to the content. Return whether all rules passed and list any violations.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public EnterpriseValidationAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<EnterpriseResult> validate(EnterpriseRequest request) {
-    return effects()
+    return outputLimits.apply("enterprise-validation-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
-        .userMessage(JsonSupport.encodeToString(request))
+        .userMessage(userMessage(request))
         .responseConformsTo(EnterpriseResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("enterprise-validation-agent", EnterpriseResult.class, failure))
         .thenReply();
   }
+
+  static String userMessage(EnterpriseRequest request) {
+    return JsonSupport.encodeToString(request);
+  }
 }
\ No newline at end of file
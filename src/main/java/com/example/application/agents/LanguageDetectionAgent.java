@@ -12,11 +12,20 @@ public class LanguageDetectionAgent extends Agent {
   private static final String SYSTEM_MESSAGE =
       "Detect the language of the provided text. Return the ISO 639-1 language code and a confidence score between 0 and 1.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public LanguageDetectionAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<DetectionResult> detect(String content) {
-    return effects()
+    return outputLimits.apply("language-detection-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
         .userMessage(content)
         .responseConformsTo(DetectionResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("language-detection-agent", DetectionResult.class, failure, "language"))
         .thenReply();
   }
 }
\ No newline at end of file
@@ -10,14 +10,27 @@ import com.example.domain.NLPResult;
 @AgentRole("validator")
 public class LocalizedNLPAgent extends Agent {
 
-  private static final String SYSTEM_MESSAGE =
+  static final String SYSTEM_MESSAGE =
       "Classify the call reason from the content and validate it meets localization requirements for the detected language. Return the call reason category and whether it passed.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public LocalizedNLPAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<NLPResult> validate(NLPRequest request) {
-    return effects()
+    return outputLimits.apply("localized-nlp-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
-        .userMessage("Content: " + request.content() + "\nLanguage: " + request.language())
+        .userMessage(userMessage(request))
         .responseConformsTo(NLPResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("localized-nlp-agent", NLPResult.class, failure))
         .thenReply();
   }
+
+  static String userMessage(NLPRequest request) {
+    return "Content: " + request.content() + "\nLanguage: " + request.language();
+  }
 }
\ No newline at end of file
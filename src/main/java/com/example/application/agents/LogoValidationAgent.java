@@ -13,11 +13,20 @@ public class LogoValidationAgent extends Agent {
   private static final String SYSTEM_MESSAGE =
       "Check whether required logos are present and compliant with brand guidelines. Return pass/fail and any findings.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public LogoValidationAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<LogoResult> validate(LogoRequest request) {
-    return effects()
+    return outputLimits.apply("logo-validation-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
         .userMessage("Content ID: " + request.contentId() + "\nContent URL: " + request.contentUrl())
         .responseConformsTo(LogoResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("logo-validation-agent", LogoResult.class, failure))
         .thenReply();
   }
 }
\ No newline at end of file
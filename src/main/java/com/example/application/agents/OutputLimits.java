@@ -0,0 +1,46 @@
+package com.example.application.agents;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.ModelProvider;
+import com.typesafe.config.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caps on the output tokens of each agent. A capped agent has a model configuration under
+ * {@code content-validation.output-limits.agents} that extends the default model settings with
+ * {@code max-tokens}; agents without one use the default model. One instance is injected into the
+ * agents of a service.
+ */
+public final class OutputLimits {
+
+  private static final String AGENTS_PATH = "content-validation.output-limits.agents";
+
+  public static final OutputLimits NONE = new OutputLimits(Map.of());
+
+  private final Map<String, ModelProvider> models;
+
+  public OutputLimits(Map<String, ModelProvider> models) {
+    this.models = Map.copyOf(models);
+  }
+
+  public static OutputLimits fromConfig(Config config) {
+    if (!config.getBoolean("content-validation.output-limits.enabled")) return NONE;
+    var configured = new HashMap<String, ModelProvider>();
+    for (var agentId : config.getConfig(AGENTS_PATH).root().keySet()) {
+      configured.put(agentId, ModelProvider.fromConfig(AGENTS_PATH + "." + agentId));
+    }
+    return new OutputLimits(configured);
+  }
+
+  public Agent.Effect.Builder apply(String agentId, Agent.Effect.Builder effects) {
+    var model = models.get(agentId);
+    return model != null ? effects.model(model) : effects;
+  }
+
+  public Agent.StreamEffect.Builder apply(String agentId, Agent.StreamEffect.Builder effects) {
+    var model = models.get(agentId);
+    return model != null ? effects.model(model) : effects;
+  }
+}
\ No newline at end of file
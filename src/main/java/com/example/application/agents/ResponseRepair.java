@@ -0,0 +1,130 @@
+package com.example.application.agents;
+
+import akka.javasdk.agent.JsonParsingException;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local repair of structured agent responses that do not parse as the expected type. Code fences and
+ * text around the JSON object are dropped; trailing commas, single quotes, comments and quoted booleans
+ * or numbers are accepted; unknown fields are ignored and missing fields take their empty, false and
+ * zero defaults, which send an item to review rather than pass it. A response without the fields the
+ * caller requires cannot be repaired, and the failure goes to the step's retry, which asks the model
+ * again. One instance is injected into the agents of a service; it counts their malformed responses.
+ */
+public final class ResponseRepair {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseRepair.class);
+
+  public record AgentRepairStats(String agentId, long malformed, long repaired, long reAsked) {}
+
+  static final JsonMapper LENIENT = JsonMapper.builder()
+      .enable(JsonReadFeature.ALLOW_TRAILING_COMMA, JsonReadFeature.ALLOW_SINGLE_QUOTES,
+          JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES, JsonReadFeature.ALLOW_JAVA_COMMENTS)
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .defaultSetterInfo(JsonSetter.Value.forValueNulls(Nulls.AS_EMPTY))
+      .build();
+
+  private final boolean enabled;
+  private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+  /**
+   * @param enabled whether malformed responses are repaired; they are counted either way
+   */
+  public ResponseRepair(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * The agent's {@code onFailure} handler: repairs a response that failed to parse, or rethrows the
+   * failure so the step retries the call.
+   *
+   * @param required fields without a safe default, such as the detected language
+   */
+  public <T> T orReAsk(String agentId, Class<T> type, Throwable failure, String... required) {
+    if (!(failure instanceof JsonParsingException parsing)) throw rethrow(failure);
+    var agentCounters = counters.computeIfAbsent(agentId, id -> new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder()});
+    agentCounters[0].increment();
+    var repaired = enabled ? parse(parsing.getRawJson(), type, required) : Optional.<T>empty();
+    if (repaired.isPresent()) {
+      agentCounters[1].increment();
+      logger.debug("Repaired malformed response of {}", agentId);
+      return repaired.get();
+    }
+    agentCounters[2].increment();
+    logger.info("Could not repair response of {}, asking the model again: {}", agentId, failure.getMessage());
+    throw rethrow(failure);
+  }
+
+  /**
+   * @return empty when the text holds no JSON object, or one without the required fields or any field
+   *         of the type
+   */
+  static <T> Optional<T> parse(String raw, Class<T> type, String... required) {
+    if (raw == null) return Optional.empty();
+    var json = extractObject(raw);
+    if (json == null) return Optional.empty();
+    try {
+      var node = LENIENT.readTree(json);
+      if (!node.isObject() || !hasFields(node, type, required)) return Optional.empty();
+      return Optional.of(LENIENT.treeToValue(node, type));
+    } catch (Exception e) {
+      return Optional.empty();
+    }
+  }
+
+  private static boolean hasFields(JsonNode node, Class<?> type, String... required) {
+    if (Arrays.stream(required).anyMatch(field -> !node.hasNonNull(field))) return false;
+    var components = type.getRecordComponents();
+    return components == null || Arrays.stream(components).anyMatch(component -> node.hasNonNull(component.getName()));
+  }
+
+  /**
+   * The first balanced {...} in the text, skipping braces inside quoted strings.
+   */
+  private static String extractObject(String text) {
+    var start = text.indexOf('{');
+    if (start < 0) return null;
+    var depth = 0;
+    char quote = 0;
+    for (int i = start; i < text.length(); i++) {
+      var c = text.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') i++;
+        else if (c == quote) quote = 0;
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '{') {
+        depth++;
+      } else if (c == '}' && --depth == 0) {
+        return text.substring(start, i + 1);
+      }
+    }
+    return null;
+  }
+
+  private static RuntimeException rethrow(Throwable failure) {
+    return failure instanceof RuntimeException runtime ? runtime : new RuntimeException(failure);
+  }
+
+  public List<AgentRepairStats> stats() {
+    return counters.entrySet().stream()
+        .map(e -> new AgentRepairStats(e.getKey(), e.getValue()[0].sum(), e.getValue()[1].sum(), e.getValue()[2].sum()))
+        .sorted(Comparator.comparing(AgentRepairStats::agentId))
+        .toList();
+  }
+}
\ No newline at end of file
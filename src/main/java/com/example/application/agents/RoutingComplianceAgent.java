@@ -14,11 +14,20 @@ public class RoutingComplianceAgent extends Agent {
   private static final String SYSTEM_MESSAGE =
       "Determine the routing destination for the content based on its validation outcome and apply final compliance checks. Return the target platform and compliance status.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public RoutingComplianceAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<RoutingDecision> route(RoutingRequest request) {
-    return effects()
+    return outputLimits.apply("routing-compliance-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
         .userMessage(JsonSupport.encodeToString(request))
         .responseConformsTo(RoutingDecision.class)
+        .onFailure(failure -> responseRepair.orReAsk("routing-compliance-agent", RoutingDecision.class, failure, "target"))
         .thenReply();
   }
 }
\ No newline at end of file
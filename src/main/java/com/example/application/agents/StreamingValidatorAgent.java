@@ -0,0 +1,62 @@
+package com.example.application.agents;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.annotations.AgentRole;
+import akka.javasdk.annotations.Component;
+import com.example.domain.EnterpriseRequest;
+import com.example.domain.NLPRequest;
+import com.example.domain.ValidationRequest;
+import com.example.domain.VerdictRequest;
+
+/**
+ * Streams the response of the NLP, text or enterprise validator, with that validator's prompt, as plain
+ * JSON with the verdict first, so {@link VerdictStream} can act on it before the generation ends. An
+ * agent has a single command handler, so the streamed variants share this component.
+ */
+@Component(id = "streaming-validator-agent")
+@AgentRole("validator")
+public class StreamingValidatorAgent extends Agent {
+
+  private static final String VERDICT_FORMAT =
+      "\nRespond with only a JSON object. Its first field is \"passed\" (true or false), followed by \"issues\" (a list of strings, empty when it passed).";
+
+  private final OutputLimits outputLimits;
+  private final VerdictStream verdictStream;
+
+  public StreamingValidatorAgent(OutputLimits outputLimits, VerdictStream verdictStream) {
+    this.outputLimits = outputLimits;
+    this.verdictStream = verdictStream;
+  }
+
+  /**
+   * Only validators configured to stream are served, so a stale caller does not stream a validator whose
+   * response is expected as structured output.
+   */
+  public StreamEffect validate(VerdictRequest request) {
+    if (!verdictStream.streams(request.validator())) {
+      throw new IllegalArgumentException("Validator is not configured to stream: " + request.validator());
+    }
+    return outputLimits.apply(request.validator(), streamEffects())
+        .systemMessage(systemMessage(request.validator()) + VERDICT_FORMAT)
+        .userMessage(userMessage(request))
+        .thenReply();
+  }
+
+  private static String systemMessage(String validator) {
+    return switch (validator) {
+      case "localized-nlp-agent" -> LocalizedNLPAgent.SYSTEM_MESSAGE;
+      case "text-language-validation-agent" -> TextLanguageValidationAgent.SYSTEM_MESSAGE;
+      case "enterprise-validation-agent" -> EnterpriseValidationAgent.SYSTEM_MESSAGE;
+      default -> throw new IllegalArgumentException("Validator does not stream: " + validator);
+    };
+  }
+
+  private static String userMessage(VerdictRequest request) {
+    return switch (request.validator()) {
+      case "localized-nlp-agent" -> LocalizedNLPAgent.userMessage(new NLPRequest(request.content(), request.language()));
+      case "text-language-validation-agent" ->
+          TextLanguageValidationAgent.userMessage(new ValidationRequest(request.content(), request.language()));
+      default -> EnterpriseValidationAgent.userMessage(new EnterpriseRequest(request.content(), request.metadata()));
+    };
+  }
+}
\ No newline at end of file
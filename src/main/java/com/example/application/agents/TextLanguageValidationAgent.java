@@ -10,14 +10,27 @@ import com.example.domain.ValidationResult;
 @AgentRole("validator")
 public class TextLanguageValidationAgent extends Agent {
 
-  private static final String SYSTEM_MESSAGE =
+  static final String SYSTEM_MESSAGE =
       "Validate the text for grammar correctness and language policy compliance. Return whether it passed and a list of issues found.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public TextLanguageValidationAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<ValidationResult> validate(ValidationRequest request) {
-    return effects()
+    return outputLimits.apply("text-language-validation-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
-        .userMessage("Content: " + request.content() + "\nLanguage: " + request.language())
+        .userMessage(userMessage(request))
         .responseConformsTo(ValidationResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("text-language-validation-agent", ValidationResult.class, failure))
         .thenReply();
   }
+
+  static String userMessage(ValidationRequest request) {
+    return "Content: " + request.content() + "\nLanguage: " + request.language();
+  }
 }
\ No newline at end of file
@@ -14,11 +14,20 @@ public class ValidationAggregatorAgent extends Agent {
   private static final String SYSTEM_MESSAGE =
       "Given a list of validation results from multiple agents, produce a consolidated report. Return overall pass/fail, a confidence score, and a brief summary of failures if any.";
 
+  private final ResponseRepair responseRepair;
+  private final OutputLimits outputLimits;
+
+  public ValidationAggregatorAgent(ResponseRepair responseRepair, OutputLimits outputLimits) {
+    this.responseRepair = responseRepair;
+    this.outputLimits = outputLimits;
+  }
+
   public Effect<AggregatedResult> aggregate(AggregationRequest request) {
-    return effects()
+    return outputLimits.apply("validation-aggregator-agent", effects())
         .systemMessage(SYSTEM_MESSAGE)
         .userMessage(JsonSupport.encodeToString(request))
         .responseConformsTo(AggregatedResult.class)
+        .onFailure(failure -> responseRepair.orReAsk("validation-aggregator-agent", AggregatedResult.class, failure))
         .thenReply();
   }
 }
\ No newline at end of file
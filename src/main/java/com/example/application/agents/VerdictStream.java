@@ -0,0 +1,151 @@
+package com.example.application.agents;
+
+import akka.NotUsed;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the streamed response of {@link StreamingValidatorAgent} as it arrives and completes as soon as
+ * the verdict is decided: on {@code "passed": true} when a pass needs no issues, otherwise once the
+ * {@code issues} list is closed. The token stream is then cancelled, which ends the generation of the
+ * fields that are not needed.
+ * <p>
+ * One instance is shared by the workflows of a node; it holds the streaming settings and counts the
+ * streams per agent for {@code GET /ops/verdict-streams}.
+ */
+public final class VerdictStream {
+
+  private static final Logger logger = LoggerFactory.getLogger(VerdictStream.class);
+
+  private static final Pattern PASSED = Pattern.compile("\"passed\"\\s*:\\s*\"?(true|false)");
+  private static final Pattern ISSUES = Pattern.compile("\"issues\"\\s*:\\s*\\[");
+  private static final TypeReference<List<String>> STRINGS = new TypeReference<>() {};
+
+  public record Verdict(boolean passed, List<String> issues) {}
+
+  /**
+   * @param decidedEarly streams cancelled once their verdict was decided
+   * @param undecided    streams that ended without a verdict and failed the step
+   */
+  public record AgentStreamStats(String agentId, long streams, long decidedEarly, long undecided, long receivedChars) {}
+
+  private final VerdictStreamSettings settings;
+  private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+  public VerdictStream(VerdictStreamSettings settings) {
+    this.settings = settings;
+  }
+
+  /**
+   * Whether the validator's response is streamed rather than requested as structured output.
+   */
+  public boolean streams(String agentId) {
+    return settings.streams(agentId);
+  }
+
+  /**
+   * Runs the token stream until the verdict is decided or the stream ends.
+   *
+   * @throws IllegalStateException through the returned stage when the response held no verdict
+   */
+  public CompletionStage<Verdict> collect(String agentId, Source<String, NotUsed> tokens, Materializer materializer) {
+    var agentCounters = counters.computeIfAbsent(agentId,
+        id -> new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()});
+    agentCounters[0].increment();
+    var reader = new Reader(settings.stopOnPass());
+    return tokens
+        .takeWhile(token -> !reader.accept(token), true)
+        .runWith(Sink.ignore(), materializer)
+        .thenApply(done -> {
+          agentCounters[3].add(reader.text.length());
+          var verdict = reader.verdict();
+          if (verdict == null) {
+            agentCounters[2].increment();
+            throw new IllegalStateException("Streamed response of " + agentId + " held no verdict");
+          }
+          if (reader.decided) agentCounters[1].increment();
+          logger.debug("Verdict of {} after {} characters: {}", agentId, reader.text.length(), verdict.passed());
+          return verdict;
+        });
+  }
+
+  /**
+   * Accumulates the streamed text; not thread-safe, a stream delivers its elements in order.
+   */
+  static final class Reader {
+    private final boolean stopOnPass;
+    private final StringBuilder text = new StringBuilder();
+    private Boolean passed;
+    private List<String> issues;
+    private boolean decided;
+
+    Reader(boolean stopOnPass) {
+      this.stopOnPass = stopOnPass;
+    }
+
+    /**
+     * @return whether the verdict is decided and the rest of the stream is not needed
+     */
+    boolean accept(String token) {
+      text.append(token);
+      if (passed == null) {
+        var matcher = PASSED.matcher(text);
+        if (matcher.find()) passed = Boolean.parseBoolean(matcher.group(1));
+      }
+      if (issues == null) issues = closedIssues();
+      decided = passed != null && (issues != null || (passed && stopOnPass));
+      return decided;
+    }
+
+    /**
+     * @return null when no verdict was streamed; issues that were not closed are empty
+     */
+    Verdict verdict() {
+      if (passed == null) return null;
+      return new Verdict(passed, issues != null ? issues : List.of());
+    }
+
+    private List<String> closedIssues() {
+      var matcher = ISSUES.matcher(text);
+      if (!matcher.find()) return null;
+      var start = matcher.end() - 1;
+      char quote = 0;
+      for (int i = start + 1; i < text.length(); i++) {
+        var c = text.charAt(i);
+        if (quote != 0) {
+          if (c == '\\') i++;
+          else if (c == quote) quote = 0;
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == ']') {
+          try {
+            return ResponseRepair.LENIENT.readValue(text.substring(start, i + 1), STRINGS);
+          } catch (Exception e) {
+            return List.of(text.substring(start + 1, i).trim());
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  public List<AgentStreamStats> stats() {
+    return counters.entrySet().stream()
+        .map(e -> new AgentStreamStats(e.getKey(),
+            e.getValue()[0].sum(), e.getValue()[1].sum(), e.getValue()[2].sum(), e.getValue()[3].sum()))
+        .sorted(Comparator.comparing(AgentStreamStats::agentId))
+        .toList();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.application.agents;
+
+import com.typesafe.config.Config;
+
+import java.util.Set;
+
+/**
+ * @param agents     validators whose responses are streamed, from the NLP, text and enterprise validators
+ * @param stopOnPass whether a pass ends the stream without waiting for the issues
+ */
+public record VerdictStreamSettings(boolean enabled, Set<String> agents, boolean stopOnPass) {
+
+  public static VerdictStreamSettings fromConfig(Config config) {
+    var streaming = config.getConfig("content-validation.streaming");
+    return new VerdictStreamSettings(
+        streaming.getBoolean("enabled"),
+        Set.copyOf(streaming.getStringList("agents")),
+        streaming.getBoolean("stop-on-pass"));
+  }
+
+  public boolean streams(String agentId) {
+    return enabled && agents.contains(agentId);
+  }
+}
\ No newline at end of file
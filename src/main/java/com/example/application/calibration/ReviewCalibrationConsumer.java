@@ -0,0 +1,62 @@
+package com.example.application.calibration;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.DeleteHandler;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.application.ContentValidationWorkflow;
+import com.example.domain.CalibrationSample;
+import com.example.domain.ContentValidationState;
+import com.example.domain.ContentValidationStatus;
+import com.example.domain.ReviewDecisionType;
+import com.example.domain.ValidationResult;
+import com.typesafe.config.Config;
+
+/**
+ * Records each finished item's aggregator confidence and review outcome in the
+ * {@link ReviewCalibrationEntity} of its tenant and content type. Items that failed without a reviewer
+ * decision, such as a review timeout or a failed step, say nothing about the threshold and are skipped.
+ */
+@Component(id = "review-calibration-consumer")
+@Consume.FromWorkflow(ContentValidationWorkflow.class)
+public class ReviewCalibrationConsumer extends Consumer {
+
+  private final ComponentClient componentClient;
+  private final ReviewCalibrationSettings settings;
+
+  public ReviewCalibrationConsumer(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.settings = ReviewCalibrationSettings.fromConfig(config);
+  }
+
+  public Effect onUpdate(ContentValidationState state) {
+    if (state.isReplay() || state.aggregatedResult() == null) {
+      return effects().ignore();
+    }
+    var decision = state.reviewDecision();
+    CalibrationSample.Outcome outcome;
+    if (decision != null && (state.status() == ContentValidationStatus.COMPLETED || state.status() == ContentValidationStatus.FAILED)) {
+      outcome = decision.decision() == ReviewDecisionType.APPROVE ? CalibrationSample.Outcome.APPROVED : CalibrationSample.Outcome.CHANGED;
+    } else if (decision == null && state.status() == ContentValidationStatus.COMPLETED) {
+      outcome = CalibrationSample.Outcome.AUTO_PASSED;
+    } else {
+      return effects().ignore();
+    }
+
+    var candidate = state.aggregatedResult().overallPassed() && state.results().stream().allMatch(ValidationResult::passed);
+    if (!candidate) {
+      if (outcome == CalibrationSample.Outcome.AUTO_PASSED) return effects().ignore();
+      outcome = CalibrationSample.Outcome.REVIEWED_OTHER;
+    }
+    componentClient.forEventSourcedEntity(settings.segmentOf(state.metadata()))
+        .method(ReviewCalibrationEntity::record)
+        .invoke(new CalibrationSample(state.contentId(), state.aggregatedResult().confidence(), outcome));
+    return effects().done();
+  }
+
+  @DeleteHandler
+  public Effect onDelete() {
+    return effects().ignore();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.application.calibration;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.eventsourcedentity.EventSourcedEntity;
+import com.example.domain.AggregatedResult;
+import com.example.domain.CalibrationEvent;
+import com.example.domain.CalibrationReport;
+import com.example.domain.CalibrationSample;
+import com.example.domain.CalibrationState;
+import com.example.domain.CalibrationTarget;
+
+/**
+ * Review calibration of one tenant and content type, fed by {@link ReviewCalibrationConsumer}. Each
+ * finished item updates one confidence bucket, so a report costs the same regardless of the number of
+ * items seen.
+ */
+@Component(id = "review-calibration")
+public class ReviewCalibrationEntity extends EventSourcedEntity<CalibrationState, CalibrationEvent> {
+
+  @Override
+  public CalibrationState emptyState() {
+    return CalibrationState.empty();
+  }
+
+  public Effect<Done> record(CalibrationSample sample) {
+    if (currentState().isDuplicate(sample)) {
+      return effects().reply(Done.getInstance());
+    }
+    return effects()
+        .persist(new CalibrationEvent.SampleRecorded(sample))
+        .thenReply(newState -> Done.getInstance());
+  }
+
+  public ReadOnlyEffect<CalibrationReport> getReport(CalibrationTarget target) {
+    return effects().reply(currentState().report(
+        commandContext().entityId(), AggregatedResult.REVIEW_CONFIDENCE_THRESHOLD, target));
+  }
+
+  @Override
+  public CalibrationState applyEvent(CalibrationEvent event) {
+    return switch (event) {
+      case CalibrationEvent.SampleRecorded evt -> currentState().apply(evt);
+    };
+  }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.application.calibration;
+
+import com.example.domain.CalibrationTarget;
+import com.typesafe.config.Config;
+
+import java.util.Map;
+
+/**
+ * @param enabled        whether ReviewCalibrationConsumer records finished items
+ * @param apply          whether the workflow uses the suggested threshold instead of only reporting it
+ * @param auditRate      share of the items the suggested threshold would auto-pass that still go to
+ *                       review, so the calibration keeps seeing reviewer outcomes in that range
+ * @param tenantKey      metadata entry that names the tenant of an item
+ * @param contentTypeKey metadata entry that names the content type of an item
+ */
+public record ReviewCalibrationSettings(
+    boolean enabled,
+    boolean apply,
+    CalibrationTarget target,
+    double auditRate,
+    String tenantKey,
+    String contentTypeKey) {
+
+  public static final String DEFAULT_SEGMENT_PART = "default";
+
+  public static ReviewCalibrationSettings fromConfig(Config config) {
+    var calibration = config.getConfig("content-validation.review-calibration");
+    var mode = calibration.getString("mode");
+    if (!mode.equals("suggest") && !mode.equals("apply")) {
+      throw new IllegalArgumentException("content-validation.review-calibration.mode must be suggest or apply, got " + mode);
+    }
+    return new ReviewCalibrationSettings(
+        calibration.getBoolean("enabled"),
+        mode.equals("apply"),
+        new CalibrationTarget(
+            calibration.getDouble("target-precision"),
+            calibration.getInt("min-samples"),
+            calibration.getDouble("min-threshold")),
+        calibration.getDouble("audit-rate"),
+        calibration.getString("tenant-key"),
+        calibration.getString("content-type-key"));
+  }
+
+  /**
+   * Id of the {@link ReviewCalibrationEntity} of the item's tenant and content type.
+   */
+  public String segmentOf(Map<String, String> metadata) {
+    return segmentId(part(metadata, tenantKey), part(metadata, contentTypeKey));
+  }
+
+  public static String segmentId(String tenant, String contentType) {
+    return tenant + ":" + contentType;
+  }
+
+  private static String part(Map<String, String> metadata, String key) {
+    var value = metadata != null ? metadata.get(key) : null;
+    return value == null || value.isBlank() ? DEFAULT_SEGMENT_PART : value.trim().toLowerCase();
+  }
+}
\ No newline at end of file
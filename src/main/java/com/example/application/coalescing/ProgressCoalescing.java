@@ -0,0 +1,85 @@
+package com.example.application.coalescing;
+
+import com.example.domain.ContentValidationState;
+import com.example.domain.ContentValidationStatus;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in coalescing of progress updates in projections and consumers. Every workflow step persists a
+ * state change, but moving from one validation step to the next ({@link #isIntermediate}) matters only to
+ * live clients, which follow the workflow's notification stream. With coalescing enabled, projections
+ * skip those changes and write an item when it starts, waits for review, resumes, and finishes.
+ * <p>
+ * The workflow records the setting in the item's {@link com.example.domain.Preparation} when it starts,
+ * so the view, which is instantiated by the runtime without dependencies, and the consumers decide the
+ * same for an item. Counts of applied and skipped updates per handler that has this instance injected
+ * are kept for this node.
+ */
+public final class ProgressCoalescing {
+
+  public record HandlerStats(String handler, long applied, long skipped) {}
+
+  private final boolean enabled;
+  private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+  public ProgressCoalescing(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Whether items started on this node coalesce their progress.
+   */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * A status the workflow passes through between entering the pipeline (DETECTING) and waiting for
+   * review or finishing.
+   */
+  public static boolean isIntermediate(ContentValidationStatus status) {
+    return switch (status) {
+      case NLP, VALIDATING_TEXT, VALIDATING_LOGO, VALIDATING_ENTERPRISE, VALIDATING_COMBINED, AGGREGATING, ROUTING -> true;
+      case RECEIVED, DETECTING, AWAITING_REVIEW, COMPLETED, FAILED -> false;
+    };
+  }
+
+  /**
+   * Whether a projection should skip the update, given the status in its row for the item, or null
+   * when it has no row yet. Moving out of review or out of a failure is applied, so queries on those
+   * statuses stay exact.
+   */
+  public static boolean skips(ContentValidationState state, String rowStatus) {
+    var inProgress = rowStatus != null
+        && (rowStatus.equals(ContentValidationStatus.DETECTING.name()) || isIntermediate(ContentValidationStatus.valueOf(rowStatus)));
+    return skips(state) && inProgress;
+  }
+
+  /**
+   * Whether a consumer that keeps no per-item status should skip the update.
+   */
+  public static boolean skips(ContentValidationState state) {
+    return state.preparation().coalesceProgress() && isIntermediate(state.status());
+  }
+
+  /**
+   * {@link #skips(ContentValidationState)}, counted for the handler.
+   */
+  public boolean skip(String handler, ContentValidationState state) {
+    var skip = skips(state);
+    counters.computeIfAbsent(handler, h -> new LongAdder[] {new LongAdder(), new LongAdder()})[skip ? 1 : 0].increment();
+    return skip;
+  }
+
+  public List<HandlerStats> stats() {
+    return counters.entrySet().stream()
+        .map(e -> new HandlerStats(e.getKey(), e.getValue()[0].sum(), e.getValue()[1].sum()))
+        .sorted(Comparator.comparing(HandlerStats::handler))
+        .toList();
+  }
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.application.guardrail;
 
 import akka.javasdk.agent.TextGuardrail;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
 
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -30,8 +32,25 @@ public class PiiGuard implements TextGuardrail {
       "feedback", "billing", "legal", "hr", "service", "team", "hello", "office"
   );
 
+  private static final Tracer tracer = GlobalOpenTelemetry.getTracer("content-validation");
+
+  /**
+   * Evaluates within a span that is a child of the current model request span, when the runtime has
+   * registered its OpenTelemetry instance globally; otherwise the span is a no-op.
+   */
   @Override
   public Result evaluate(String text) {
+    var span = tracer.spanBuilder("guardrail pii-guard").startSpan();
+    try {
+      var result = check(text);
+      span.setAttribute("guardrail.passed", result.passed());
+      return result;
+    } finally {
+      span.end();
+    }
+  }
+
+  private Result check(String text) {
     if (hasPersonalEmail(text)) {
       return new Result(false, "PII detected: email address found in input");
     }
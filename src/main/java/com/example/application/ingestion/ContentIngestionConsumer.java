@@ -0,0 +1,61 @@
+package com.example.application.ingestion;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.consumer.Consumer;
+import com.example.application.ContentValidationWorkflow;
+import com.example.domain.ContentRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts a validation workflow for every {@link ContentRequest} published to the content-inbound topic.
+ * The content id doubles as the workflow id, so a redelivered or republished request does not start
+ * a second workflow; the workflow replies that it was a duplicate.
+ * <p>
+ * Messages are handled one at a time per topic partition, each waiting for its workflow to start, and
+ * a failed start is redelivered by the broker. Ingestion throughput therefore scales with the number
+ * of partitions of the topic, spread over the nodes, and a backlog stays on the broker as lag.
+ */
+@Component(id = "content-ingestion-consumer")
+@Consume.FromTopic("content-inbound")
+public class ContentIngestionConsumer extends Consumer {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContentIngestionConsumer.class);
+
+  private final ComponentClient componentClient;
+  private final IngestionMetrics metrics;
+
+  public ContentIngestionConsumer(ComponentClient componentClient, IngestionMetrics metrics) {
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  public Effect onMessage(ContentRequest request) {
+    metrics.received(messageContext().metadata().asCloudEvent().time().map(time -> time.toInstant()).orElse(null));
+
+    if (request.contentId() == null || request.contentId().isBlank()
+        || request.payload() == null || request.payload().isBlank()) {
+      metrics.invalid();
+      logger.warn("Skipping inbound content without id or payload: {}", request.contentId());
+      return effects().ignore();
+    }
+
+    try {
+      var response = componentClient.forWorkflow(request.contentId())
+          .method(ContentValidationWorkflow::startIfAbsent)
+          .invoke(request);
+      if (response.started()) {
+        metrics.started();
+      } else {
+        metrics.duplicate();
+        logger.debug("Content {} already ingested", request.contentId());
+      }
+    } catch (RuntimeException e) {
+      metrics.failed();
+      throw e;
+    }
+    return effects().done();
+  }
+}
\ No newline at end of file
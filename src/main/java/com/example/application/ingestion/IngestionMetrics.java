@@ -0,0 +1,86 @@
+package com.example.application.ingestion;
+
+import com.example.application.invocation.LatencyWindow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingestion metrics of this node: messages received from the inbound topic, what became of them, the
+ * start rate and how long messages waited on the topic.
+ */
+public class IngestionMetrics {
+
+  public record Stats(
+      long received,
+      long started,
+      long duplicates,
+      long invalid,
+      long failures,
+      double startsPerSecond,
+      long lagP50Millis,
+      long lagP95Millis,
+      long lagMaxMillis) {}
+
+  private static final int RATE_WINDOW_SECONDS = 60;
+
+  private final LongAdder received = new LongAdder();
+  private final LongAdder started = new LongAdder();
+  private final LongAdder duplicates = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LatencyWindow lag = new LatencyWindow(1000);
+  // starts per epoch second, indexed by second modulo the window; the second is kept alongside to detect stale slots
+  private final AtomicLongArray startsPerSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+  private final AtomicLongArray startsSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+  /**
+   * @param publishedAt when the message was published, if the broker reports it
+   */
+  public void received(Instant publishedAt) {
+    received.increment();
+    if (publishedAt != null) {
+      lag.record(Math.max(0, Duration.between(publishedAt, Instant.now()).toMillis()));
+    }
+  }
+
+  public void started() {
+    started.increment();
+    var second = Instant.now().getEpochSecond();
+    var index = (int) (second % RATE_WINDOW_SECONDS);
+    if (startsSecond.getAndSet(index, second) != second) startsPerSecond.set(index, 0);
+    startsPerSecond.incrementAndGet(index);
+  }
+
+  public void duplicate() {
+    duplicates.increment();
+  }
+
+  public void invalid() {
+    invalid.increment();
+  }
+
+  public void failed() {
+    failures.increment();
+  }
+
+  public Stats stats() {
+    var now = Instant.now().getEpochSecond();
+    long recentStarts = 0;
+    for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+      if (now - startsSecond.get(i) < RATE_WINDOW_SECONDS) recentStarts += startsPerSecond.get(i);
+    }
+    return new Stats(
+        received.sum(),
+        started.sum(),
+        duplicates.sum(),
+        invalid.sum(),
+        failures.sum(),
+        recentStarts / (double) RATE_WINDOW_SECONDS,
+        lag.percentile(0.50),
+        lag.percentile(0.95),
+        lag.percentile(1.0));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.application.ingestion;
+
+import com.typesafe.config.Config;
+
+/**
+ * @param enabled whether ContentIngestionConsumer consumes the content-inbound topic
+ */
+public record IngestionSettings(boolean enabled) {
+
+  public static IngestionSettings fromConfig(Config config) {
+    return new IngestionSettings(config.getBoolean("content-validation.ingestion.enabled"));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.example.application.invocation;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Node-wide entry point for agent calls made by the workflow. Tracks the recent latency of primary
+ * calls per agent and, when hedging is enabled, issues a duplicate call once the primary has been
+ * outstanding longer than the configured latency percentile. The first successful response wins; the
+ * slower call is left to finish since agent calls cannot be cancelled. Only primaries are timed, also
+ * when a hedge wins, so hedging does not lower its own threshold.
+ *
+ * <p>With circuit breakers enabled, each agent also has a {@link CircuitBreaker}; calls to an agent
+ * whose breaker is open fail fast with {@link CircuitOpenException} so the workflow can park the step.
+ */
+public class AgentInvoker {
+
+  /** Duplicates run in their own session so they do not interleave with the primary's session memory. */
+  static final String HEDGE_SESSION_SUFFIX = "-hedge";
+
+  public record AgentStats(
+      String agentId,
+      long calls,
+      long failures,
+      long hedgesIssued,
+      long hedgeWins,
+      long hedgesDenied,
+      long rejectedByBreaker,
+      long p50Millis,
+      long p95Millis,
+      long p99Millis) {}
+
+  private static final class AgentCounters {
+    final LongAdder calls = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder hedgesIssued = new LongAdder();
+    final LongAdder hedgeWins = new LongAdder();
+    final LongAdder hedgesDenied = new LongAdder();
+    final LongAdder rejectedByBreaker = new LongAdder();
+    final LatencyWindow latency;
+
+    AgentCounters(int windowSize) {
+      this.latency = new LatencyWindow(windowSize);
+    }
+  }
+
+  /**
+   * Every call deposits {@code maxHedgeRatio} tokens and every hedge withdraws one, so hedges can never
+   * exceed that share of calls, with a small burst allowance.
+   */
+  private static final class HedgeBudget {
+    private static final double MAX_TOKENS = 10;
+    private final double depositPerCall;
+    private double tokens;
+
+    HedgeBudget(double depositPerCall) {
+      this.depositPerCall = depositPerCall;
+    }
+
+    synchronized void deposit() {
+      tokens = Math.min(MAX_TOKENS, tokens + depositPerCall);
+    }
+
+    synchronized boolean tryWithdraw() {
+      if (tokens < 1) return false;
+      tokens -= 1;
+      return true;
+    }
+  }
+
+  private final HedgingSettings hedging;
+  private final CircuitBreakerSettings breakerSettings;
+  private final HedgeBudget budget;
+  private final Map<String, AgentCounters> agents = new ConcurrentHashMap<>();
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  public AgentInvoker(HedgingSettings hedging, CircuitBreakerSettings breakerSettings) {
+    this.hedging = hedging;
+    this.breakerSettings = breakerSettings;
+    this.budget = new HedgeBudget(hedging.maxHedgeRatio());
+  }
+
+  public static boolean isGuardrailBlocked(Throwable t) {
+    if (t == null) return false;
+    String msg = t.getMessage();
+    return (msg != null && msg.contains("guardrail blocked")) || isGuardrailBlocked(t.getCause());
+  }
+
+  /**
+   * Calls the agent; completes with the first successful response, or fails once every issued call
+   * failed, or with {@link CircuitOpenException} without calling the agent when its breaker is open.
+   *
+   * @param agentId   component id of the agent, used as the metrics and latency key
+   * @param sessionId session for the primary call
+   * @param call      issues the agent call in the given session
+   */
+  public <T> CompletionStage<T> invoke(String agentId, String sessionId, Function<String, CompletionStage<T>> call) {
+    var counters = counters(agentId);
+    var breaker = breakerSettings.enabled() ? breakers.computeIfAbsent(agentId, this::newBreaker) : null;
+    if (breaker != null) {
+      var wait = breaker.tryAcquire();
+      if (!wait.isZero()) {
+        counters.rejectedByBreaker.increment();
+        return CompletableFuture.failedFuture(new CircuitOpenException(agentId, wait));
+      }
+    }
+    counters.calls.increment();
+    var result = hedging.enabled()
+        ? hedged(counters, sessionId, call)
+        : timed(counters, () -> call.apply(sessionId));
+    return result.handle((value, error) -> {
+      if (error == null) {
+        if (breaker != null) breaker.recordSuccess();
+        return value;
+      }
+      counters.failures.increment();
+      if (breaker != null) {
+        if (isGuardrailBlocked(error)) breaker.releaseProbe();
+        else breaker.recordFailure();
+      }
+      var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    });
+  }
+
+  public CircuitBreakerSettings breakerSettings() {
+    return breakerSettings;
+  }
+
+  public List<CircuitBreaker.Snapshot> breakers() {
+    return breakers.values().stream()
+        .map(CircuitBreaker::snapshot)
+        .sorted(Comparator.comparing(CircuitBreaker.Snapshot::name))
+        .toList();
+  }
+
+  public List<AgentStats> stats() {
+    return agents.entrySet().stream()
+        .map(e -> new AgentStats(
+            e.getKey(),
+            e.getValue().calls.sum(),
+            e.getValue().failures.sum(),
+            e.getValue().hedgesIssued.sum(),
+            e.getValue().hedgeWins.sum(),
+            e.getValue().hedgesDenied.sum(),
+            e.getValue().rejectedByBreaker.sum(),
+            e.getValue().latency.percentile(0.50),
+            e.getValue().latency.percentile(0.95),
+            e.getValue().latency.percentile(0.99)))
+        .sorted(Comparator.comparing(AgentStats::agentId))
+        .toList();
+  }
+
+  private <T> CompletableFuture<T> hedged(AgentCounters counters, String sessionId,
+                                          Function<String, CompletionStage<T>> call) {
+    budget.deposit();
+    var primary = timed(counters, () -> call.apply(sessionId));
+    if (counters.latency.size() < hedging.minSamples()) {
+      return primary;
+    }
+    var delay = Math.max(hedging.minDelay().toMillis(), counters.latency.percentile(hedging.latencyPercentile()));
+    var result = new CompletableFuture<T>();
+    var outstanding = new AtomicInteger(1);
+    primary.whenComplete((value, error) -> complete(result, value, error, outstanding, false, counters));
+
+    CompletableFuture.delayedExecutor(delay, MILLISECONDS).execute(() -> {
+      if (result.isDone()) return;
+      if (!budget.tryWithdraw()) {
+        counters.hedgesDenied.increment();
+        return;
+      }
+      counters.hedgesIssued.increment();
+      outstanding.incrementAndGet();
+      call.apply(sessionId + HEDGE_SESSION_SUFFIX).toCompletableFuture()
+          .whenComplete((value, error) -> complete(result, value, error, outstanding, true, counters));
+    });
+    return result;
+  }
+
+  private static <T> void complete(CompletableFuture<T> result, T value, Throwable error,
+                                   AtomicInteger outstanding, boolean hedge, AgentCounters counters) {
+    if (error == null) {
+      if (result.complete(value) && hedge) {
+        counters.hedgeWins.increment();
+      }
+    } else if (outstanding.decrementAndGet() == 0) {
+      result.completeExceptionally(error);
+    }
+  }
+
+  /**
+   * Records the latency of a successful primary call when it completes.
+   */
+  private static <T> CompletableFuture<T> timed(AgentCounters counters, Supplier<CompletionStage<T>> primary) {
+    var startedAt = System.nanoTime();
+    return primary.get().toCompletableFuture().whenComplete((value, error) -> {
+      if (error == null) counters.latency.record((System.nanoTime() - startedAt) / 1_000_000);
+    });
+  }
+
+  private CircuitBreaker newBreaker(String agentId) {
+    return new CircuitBreaker(agentId, breakerSettings, Instant::now);
+  }
+
+  private AgentCounters counters(String agentId) {
+    return agents.computeIfAbsent(agentId, id -> new AgentCounters(hedging.windowSize()));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.application.invocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Consecutive-failure circuit breaker for one agent. While OPEN every call is rejected; once the open
+ * period has elapsed the breaker is HALF_OPEN and lets a single probe through, which closes it on
+ * success or re-opens it for twice as long on failure.
+ */
+public class CircuitBreaker {
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  public record Snapshot(String name, State state, int consecutiveFailures, int consecutiveTrips, Instant openUntil) {}
+
+  private final String name;
+  private final CircuitBreakerSettings settings;
+  private final Supplier<Instant> clock;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private int consecutiveTrips;
+  private Instant openUntil = Instant.EPOCH;
+  private boolean probeInFlight;
+
+  public CircuitBreaker(String name, CircuitBreakerSettings settings, Supplier<Instant> clock) {
+    this.name = name;
+    this.settings = settings;
+    this.clock = clock;
+  }
+
+  /**
+   * @return {@link Duration#ZERO} when the call may proceed, otherwise how long the caller should wait at
+   *     least; callers add jitter with {@link CircuitBreakerSettings#retryAfterOpen}
+   */
+  public synchronized Duration tryAcquire() {
+    if (state == State.CLOSED) return Duration.ZERO;
+    var now = clock.get();
+    if (state == State.OPEN && !now.isBefore(openUntil)) {
+      state = State.HALF_OPEN;
+      probeInFlight = false;
+    }
+    if (state == State.HALF_OPEN && !probeInFlight) {
+      probeInFlight = true;
+      return Duration.ZERO;
+    }
+    var wait = Duration.between(now, openUntil);
+    // half-open with a probe in flight: check back shortly for the probe's outcome
+    return wait.isNegative() || wait.isZero() ? settings.retryBackoff() : wait;
+  }
+
+  public synchronized void recordSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    consecutiveTrips = 0;
+    probeInFlight = false;
+  }
+
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= settings.failureThreshold()) {
+      trip();
+    }
+  }
+
+  /**
+   * For outcomes that say nothing about the provider's health, such as a guardrail block.
+   */
+  public synchronized void releaseProbe() {
+    probeInFlight = false;
+  }
+
+  public synchronized Snapshot snapshot() {
+    return new Snapshot(name, state, consecutiveFailures, consecutiveTrips, state == State.CLOSED ? null : openUntil);
+  }
+
+  private void trip() {
+    var openMillis = Math.min(
+        settings.openDuration().toMillis() * (long) Math.pow(2, consecutiveTrips),
+        settings.maxOpenDuration().toMillis());
+    consecutiveTrips++;
+    state = State.OPEN;
+    probeInFlight = false;
+    openUntil = clock.get().plusMillis(openMillis);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.application.invocation;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param failureThreshold consecutive failures that open an agent's breaker
+ * @param openDuration     how long a breaker stays open after its first trip; doubles on every
+ *                         consecutive trip up to {@code maxOpenDuration}
+ * @param retryBackoff     base delay before a parked step is retried after a failed call; doubles per
+ *                         attempt up to {@code maxRetryBackoff}, with jitter
+ * @param maxAttempts      failed calls per step before the step fails for good
+ */
+public record CircuitBreakerSettings(
+    boolean enabled,
+    int failureThreshold,
+    Duration openDuration,
+    Duration maxOpenDuration,
+    Duration retryBackoff,
+    Duration maxRetryBackoff,
+    int maxAttempts) {
+
+  public static CircuitBreakerSettings fromConfig(Config config) {
+    var breaker = config.getConfig("content-validation.circuit-breaker");
+    return new CircuitBreakerSettings(
+        breaker.getBoolean("enabled"),
+        breaker.getInt("failure-threshold"),
+        breaker.getDuration("open-duration"),
+        breaker.getDuration("max-open-duration"),
+        breaker.getDuration("retry-backoff"),
+        breaker.getDuration("max-retry-backoff"),
+        breaker.getInt("max-attempts"));
+  }
+
+  /**
+   * Exponential backoff for the given attempt (1-based) with equal jitter: half the delay is fixed,
+   * the other half random, so parked steps of many workflows do not resume in lockstep.
+   */
+  public Duration backoff(int attempt, double random) {
+    var exponential = retryBackoff.toMillis() * Math.pow(2, Math.max(0, attempt - 1));
+    var capped = Math.min(exponential, maxRetryBackoff.toMillis());
+    return Duration.ofMillis((long) (capped / 2 + random * capped / 2));
+  }
+
+  /**
+   * When a step rejected by an open breaker resumes: not before the breaker lets a call through, then
+   * spread over as long again, up to {@code maxRetryBackoff}, so the parked steps of many workflows do
+   * not all hit the agent the moment its breaker closes.
+   */
+  public Duration retryAfterOpen(Duration retryAfter, double random) {
+    var spread = Math.min(retryAfter.toMillis(), maxRetryBackoff.toMillis());
+    return retryAfter.plusMillis((long) (random * spread));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.application.invocation;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling an agent whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+  private final String agentId;
+  private final Duration retryAfter;
+
+  public CircuitOpenException(String agentId, Duration retryAfter) {
+    super("Circuit breaker open for " + agentId + ", retry after " + retryAfter);
+    this.agentId = agentId;
+    this.retryAfter = retryAfter;
+  }
+
+  public String agentId() {
+    return agentId;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+}
\ No newline at end of file
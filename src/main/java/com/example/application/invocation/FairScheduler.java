@@ -0,0 +1,223 @@
+package com.example.application.invocation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Shares this node's agent call capacity between tenants with deficit round robin. While slots are free
+ * every call runs immediately, so a tenant alone uses the full capacity. Once calls queue, each freed slot
+ * goes to the tenant at the head of the round, which may take as many slots per turn as its weight before
+ * the next backlogged tenant's turn; under contention every tenant gets throughput in proportion to its
+ * weight.
+ * <p>
+ * Tenants are named by item metadata, so a tenant that is neither configured nor the default is
+ * forgotten, with its statistics, once it has no call running or waiting.
+ */
+public class FairScheduler {
+
+  public record TenantStats(
+      String tenant,
+      double weight,
+      long granted,
+      long timedOut,
+      int running,
+      int waiting,
+      long waitP50Millis,
+      long waitP95Millis,
+      long waitMaxMillis) {}
+
+  private static final class Waiter {
+    final String tenant;
+    final long enqueuedAt = System.nanoTime();
+    final CompletableFuture<Void> granted = new CompletableFuture<>();
+
+    Waiter(String tenant) {
+      this.tenant = tenant;
+    }
+  }
+
+  private static final class Tenant {
+    final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    final LatencyWindow waits = new LatencyWindow(1000);
+    double deficit;
+    long granted;
+    long timedOut;
+    int running;
+  }
+
+  private final FairSchedulerSettings settings;
+  private final Map<String, Tenant> tenants = new HashMap<>();
+  // backlogged tenants in round order; the head is the tenant whose turn it is
+  private final LinkedHashSet<String> active = new LinkedHashSet<>();
+  private int running;
+
+  public FairScheduler(FairSchedulerSettings settings) {
+    this.settings = settings;
+  }
+
+  public FairSchedulerSettings settings() {
+    return settings;
+  }
+
+  /**
+   * Runs the call once the tenant has been granted a slot, and gives the slot back when the call
+   * completes; without scheduling enabled it runs directly.
+   *
+   * @return fails with IllegalStateException when no slot was granted within the max wait
+   */
+  public <T> CompletionStage<T> run(String tenant, Supplier<CompletionStage<T>> call) {
+    if (!settings.enabled()) return call.get();
+    var slot = acquire(tenant);
+    if (!slot.isDone()) {
+      CompletableFuture.delayedExecutor(settings.maxWait().toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+        if (abandon(tenant, slot)) {
+          slot.completeExceptionally(new IllegalStateException(
+              "No agent call slot for tenant " + tenant + " within " + settings.maxWait()));
+        }
+      });
+    }
+    return slot.thenCompose(granted -> runGranted(tenant, call));
+  }
+
+  private <T> CompletionStage<T> runGranted(String tenant, Supplier<CompletionStage<T>> call) {
+    CompletionStage<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      release(tenant);
+      return CompletableFuture.failedFuture(e);
+    }
+    return result.whenComplete((value, error) -> release(tenant));
+  }
+
+  /**
+   * Completes once the tenant holds a slot, which must then be given back with {@link #release}.
+   */
+  CompletableFuture<Void> acquire(String tenant) {
+    var waiter = new Waiter(tenant);
+    List<Waiter> granted;
+    synchronized (this) {
+      var state = tenants.computeIfAbsent(tenant, t -> new Tenant());
+      if (running < settings.capacity() && active.isEmpty()) {
+        grant(state, waiter);
+        granted = List.of(waiter);
+      } else {
+        state.queue.addLast(waiter);
+        active.add(tenant);
+        granted = dispatch();
+      }
+    }
+    complete(granted);
+    return waiter.granted;
+  }
+
+  void release(String tenant) {
+    List<Waiter> granted;
+    synchronized (this) {
+      running--;
+      var state = tenants.get(tenant);
+      if (state != null) {
+        state.running--;
+        evictIfIdle(tenant, state);
+      }
+      granted = dispatch();
+    }
+    complete(granted);
+  }
+
+  /**
+   * Granted waiters are completed outside the lock, since completing one runs its call.
+   */
+  private static void complete(List<Waiter> granted) {
+    for (var waiter : granted) waiter.granted.complete(null);
+  }
+
+  /**
+   * @return false if the slot was granted in the meantime and is now held by the caller
+   */
+  private synchronized boolean abandon(String tenant, CompletableFuture<Void> slot) {
+    var state = tenants.get(tenant);
+    if (state == null) return false;
+    // a waiter leaves the queue when it is granted, possibly before its slot is completed
+    if (!state.queue.removeIf(w -> w.granted == slot)) return false;
+    state.timedOut++;
+    if (state.queue.isEmpty()) {
+      active.remove(tenant);
+      state.deficit = 0;
+    }
+    evictIfIdle(tenant, state);
+    return true;
+  }
+
+  private void evictIfIdle(String tenant, Tenant state) {
+    if (state.running == 0 && state.queue.isEmpty()
+        && !tenant.equals(FairSchedulerSettings.DEFAULT_TENANT) && !settings.weights().containsKey(tenant)) {
+      tenants.remove(tenant);
+    }
+  }
+
+  /**
+   * @return the waiters granted a slot, to be completed once the lock is released
+   */
+  private List<Waiter> dispatch() {
+    var granted = new ArrayList<Waiter>();
+    while (running < settings.capacity() && !active.isEmpty()) {
+      var name = active.iterator().next();
+      var state = tenants.get(name);
+      if (state.deficit < 1) {
+        // a new turn for the tenant at the head of the round
+        state.deficit += settings.weight(name);
+        if (state.deficit < 1) {
+          rotate(name);
+          continue;
+        }
+      }
+      var waiter = state.queue.pollFirst();
+      grant(state, waiter);
+      granted.add(waiter);
+      state.deficit -= 1;
+      if (state.queue.isEmpty()) {
+        active.remove(name);
+        state.deficit = 0;
+      } else if (state.deficit < 1) {
+        rotate(name);
+      }
+    }
+    return granted;
+  }
+
+  private void rotate(String name) {
+    active.remove(name);
+    active.add(name);
+  }
+
+  private void grant(Tenant state, Waiter waiter) {
+    running++;
+    state.running++;
+    state.granted++;
+    state.waits.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueuedAt));
+  }
+
+  public synchronized List<TenantStats> stats() {
+    var stats = new ArrayList<TenantStats>();
+    tenants.forEach((name, state) -> stats.add(new TenantStats(
+        name,
+        settings.weight(name),
+        state.granted,
+        state.timedOut,
+        state.running,
+        state.queue.size(),
+        state.waits.percentile(0.50),
+        state.waits.percentile(0.95),
+        state.waits.percentile(1.0))));
+    return stats;
+  }
+}
\ No newline at end of file
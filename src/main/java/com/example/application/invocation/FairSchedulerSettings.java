@@ -0,0 +1,59 @@
+package com.example.application.invocation;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @param capacity      agent calls running concurrently on this node across all tenants
+ * @param tenantKey     metadata entry that names the tenant of an item; items without it share one tenant
+ * @param defaultWeight weight of tenants not listed in {@code weights}
+ * @param weights       relative share of the capacity per tenant under contention; weights must be
+ *                      positive, since a tenant without weight would never be granted a slot
+ * @param maxWait       how long a call waits for a slot before it fails like any other agent call
+ */
+public record FairSchedulerSettings(
+    boolean enabled,
+    int capacity,
+    String tenantKey,
+    double defaultWeight,
+    Map<String, Double> weights,
+    Duration maxWait) {
+
+  public static final String DEFAULT_TENANT = "default";
+
+  public static FairSchedulerSettings fromConfig(Config config) {
+    var scheduling = config.getConfig("content-validation.fair-scheduling");
+    var weights = new HashMap<String, Double>();
+    var weightsConfig = scheduling.getConfig("weights");
+    for (var entry : weightsConfig.root().keySet()) {
+      weights.put(entry, positive("weights.\"" + entry + "\"", weightsConfig.getDouble("\"" + entry + "\"")));
+    }
+    return new FairSchedulerSettings(
+        scheduling.getBoolean("enabled"),
+        scheduling.getInt("capacity"),
+        scheduling.getString("tenant-key"),
+        positive("default-weight", scheduling.getDouble("default-weight")),
+        Map.copyOf(weights),
+        scheduling.getDuration("max-wait"));
+  }
+
+  private static double positive(String key, double weight) {
+    if (!(weight > 0)) {
+      throw new IllegalArgumentException("content-validation.fair-scheduling." + key + " must be positive, got " + weight);
+    }
+    return weight;
+  }
+
+  public double weight(String tenant) {
+    return weights.getOrDefault(tenant, defaultWeight);
+  }
+
+  public String tenantOf(Map<String, String> metadata) {
+    if (metadata == null) return DEFAULT_TENANT;
+    var tenant = metadata.get(tenantKey);
+    return tenant == null || tenant.isBlank() ? DEFAULT_TENANT : tenant;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.application.invocation;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param latencyPercentile a duplicate call is issued once the primary has been outstanding for this
+ *                          percentile of the agent's recent latency
+ * @param maxHedgeRatio     upper bound on duplicates per call, enforced as a token bucket across all agents
+ * @param minSamples        no hedging for an agent until this many latencies have been recorded
+ * @param windowSize        number of recent latencies kept per agent
+ * @param minDelay          never hedge earlier than this
+ */
+public record HedgingSettings(
+    boolean enabled,
+    double latencyPercentile,
+    double maxHedgeRatio,
+    int minSamples,
+    int windowSize,
+    Duration minDelay) {
+
+  public static HedgingSettings fromConfig(Config config) {
+    var hedging = config.getConfig("content-validation.hedging");
+    return new HedgingSettings(
+        hedging.getBoolean("enabled"),
+        hedging.getDouble("latency-percentile"),
+        hedging.getDouble("max-hedge-ratio"),
+        hedging.getInt("min-samples"),
+        hedging.getInt("window-size"),
+        hedging.getDuration("min-delay"));
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.application.invocation;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer of the most recent latencies, such as the calls to one agent.
+ */
+public class LatencyWindow {
+
+  private final long[] samples;
+  private int next;
+  private int size;
+
+  public LatencyWindow(int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  public synchronized void record(long millis) {
+    samples[next] = millis;
+    next = (next + 1) % samples.length;
+    if (size < samples.length) size++;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @param percentile between 0 and 1
+   * @return the latency at the given percentile, or 0 when no samples have been recorded
+   */
+  public synchronized long percentile(double percentile) {
+    if (size == 0) return 0;
+    var sorted = Arrays.copyOf(samples, size);
+    Arrays.sort(sorted);
+    var index = (int) Math.ceil(percentile * size) - 1;
+    return sorted[Math.max(0, Math.min(index, size - 1))];
+  }
+}
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.example.application.logo;
+
+import com.example.domain.LogoResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Local logo check: image assets referenced in the payload, either {@code http(s)://...} image URLs or
+ * {@code asset:<name>} entries in the local asset store, are perceptually hashed and compared against
+ * the brand logo references hashed once at startup. Asset hashes are kept in a bounded LRU cache, so
+ * each asset is fetched and decoded at most once while it stays in the cache.
+ * <p>
+ * Payloads are untrusted: URLs are only fetched from the configured asset hosts, without following
+ * redirects, and an asset is size checked before it is read and decoded.
+ */
+public class LogoMatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(LogoMatcher.class);
+
+  private static final Pattern ASSET_REFERENCE = Pattern.compile(
+      "(https?://\\S+?\\.(?:png|jpe?g|gif|bmp))(?=[\\s\"')>,;]|$)|asset:([\\w./-]+)",
+      Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern ENCODED_SEPARATOR = Pattern.compile("%(?:2e|2f|5c)", Pattern.CASE_INSENSITIVE);
+
+  private final LogoMatcherSettings settings;
+  private final Map<String, Long> references;
+  private final Map<String, Long> assetHashes;
+  private final HttpClient httpClient;
+
+  public LogoMatcher(LogoMatcherSettings settings, Map<String, Long> references) {
+    this.settings = settings;
+    this.references = Map.copyOf(references);
+    this.assetHashes = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > settings.cacheSize();
+      }
+    };
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(settings.httpTimeout())
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+  }
+
+  /**
+   * Loads and hashes the references listed in {@code <references>/index.txt} on the classpath, one
+   * image file per line, named after the brand.
+   */
+  public static LogoMatcher fromResources(LogoMatcherSettings settings) {
+    var references = new LinkedHashMap<String, Long>();
+    if (settings.enabled()) {
+      var loader = LogoMatcher.class.getClassLoader();
+      try (var index = loader.getResourceAsStream(settings.references() + "/index.txt")) {
+        if (index != null) {
+          for (var file : new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8)).lines().toList()) {
+            if (file.isBlank() || file.startsWith("#")) continue;
+            try (var image = loader.getResourceAsStream(settings.references() + "/" + file.trim())) {
+              references.put(file.trim().replaceFirst("\\.[^.]+$", ""), PerceptualHash.of(read(image, file)));
+            }
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      logger.info("Loaded {} logo references", references.size());
+    }
+    return new LogoMatcher(settings, references);
+  }
+
+  public LogoMatcherSettings settings() {
+    return settings;
+  }
+
+  public boolean enabled() {
+    return settings.enabled();
+  }
+
+  /**
+   * @return empty when the payload references no image assets, so the caller can fall back to the agent
+   */
+  public Optional<LogoResult> validate(String payload) {
+    var assets = assetReferences(payload);
+    if (assets.isEmpty()) return Optional.empty();
+
+    var findings = new ArrayList<String>();
+    var passed = true;
+    for (var asset : assets) {
+      long hash;
+      try {
+        hash = hash(asset);
+      } catch (IOException | RuntimeException e) {
+        findings.add(asset + ": could not be loaded (" + e.getMessage() + ")");
+        passed = false;
+        continue;
+      }
+      String brand = null;
+      var score = -1.0;
+      for (var reference : references.entrySet()) {
+        var similarity = PerceptualHash.similarity(hash, reference.getValue());
+        if (similarity > score) {
+          score = similarity;
+          brand = reference.getKey();
+        }
+      }
+      if (brand == null) {
+        findings.add(asset + ": no logo references configured");
+        continue;
+      }
+      if (score >= settings.matchThreshold()) {
+        findings.add(String.format("%s: matches logo '%s' (score %.2f)", asset, brand, score));
+      } else if (score >= settings.deviationThreshold()) {
+        findings.add(String.format("%s: resembles logo '%s' but deviates from it (score %.2f)", asset, brand, score));
+        passed = false;
+      } else {
+        findings.add(String.format("%s: no known logo (best '%s', score %.2f)", asset, brand, score));
+      }
+    }
+    return Optional.of(new LogoResult(passed, List.copyOf(findings)));
+  }
+
+  static List<String> assetReferences(String payload) {
+    var assets = new LinkedHashSet<String>();
+    var matcher = ASSET_REFERENCE.matcher(payload);
+    while (matcher.find()) {
+      assets.add(matcher.group(1) != null ? matcher.group(1) : "asset:" + matcher.group(2));
+    }
+    return List.copyOf(assets);
+  }
+
+  private long hash(String asset) throws IOException {
+    synchronized (assetHashes) {
+      var cached = assetHashes.get(asset);
+      if (cached != null) return cached;
+    }
+    var hash = PerceptualHash.of(load(asset));
+    synchronized (assetHashes) {
+      assetHashes.put(asset, hash);
+    }
+    return hash;
+  }
+
+  private BufferedImage load(String asset) throws IOException {
+    if (asset.startsWith("asset:")) {
+      var path = settings.assetStore().resolve(asset.substring("asset:".length())).normalize();
+      if (!path.startsWith(settings.assetStore().normalize())) {
+        throw new IOException("outside of the asset store");
+      }
+      if (Files.size(path) > settings.maxAssetBytes()) {
+        throw new IOException("larger than " + settings.maxAssetBytes() + " bytes");
+      }
+      try (var in = Files.newInputStream(path)) {
+        return decode(readBounded(in), asset);
+      }
+    }
+    if (!onAssetHost(asset)) {
+      throw new IOException("not on an allowed asset host");
+    }
+    var request = HttpRequest.newBuilder(URI.create(asset)).timeout(settings.httpTimeout()).GET().build();
+    try {
+      var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      try (var in = response.body()) {
+        if (response.statusCode() != 200) {
+          throw new IOException("HTTP " + response.statusCode());
+        }
+        if (response.headers().firstValueAsLong("content-length").orElse(0) > settings.maxAssetBytes()) {
+          throw new IOException("larger than " + settings.maxAssetBytes() + " bytes");
+        }
+        return decode(readBounded(in), asset);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("interrupted", e);
+    }
+  }
+
+  /**
+   * Whether the URL has the scheme, host and port of a configured asset host and lies under its path.
+   * Encoded dots and slashes are refused, since the host may decode them into a different path.
+   */
+  boolean onAssetHost(String url) {
+    URI uri;
+    try {
+      uri = URI.create(url).normalize();
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    if (uri.getHost() == null || uri.getRawPath() == null || ENCODED_SEPARATOR.matcher(uri.getRawPath()).find()) {
+      return false;
+    }
+    for (var host : settings.assetHosts()) {
+      if (host.getScheme().equalsIgnoreCase(uri.getScheme())
+          && host.getHost().equalsIgnoreCase(uri.getHost())
+          && port(host) == port(uri)
+          && uri.getRawPath().startsWith(host.getRawPath() == null ? "" : host.getRawPath())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int port(URI uri) {
+    if (uri.getPort() != -1) return uri.getPort();
+    return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+  }
+
+  private byte[] readBounded(InputStream in) throws IOException {
+    var bytes = in.readNBytes((int) Math.min(settings.maxAssetBytes() + 1, Integer.MAX_VALUE - 8));
+    if (bytes.length > settings.maxAssetBytes()) {
+      throw new IOException("larger than " + settings.maxAssetBytes() + " bytes");
+    }
+    return bytes;
+  }
+
+  private BufferedImage decode(byte[] bytes, String name) throws IOException {
+    return decode(bytes, name, settings.maxAssetDimension());
+  }
+
+  /**
+   * Reads the image size from its header and only decodes images within the maximum dimension, so a
+   * small file that inflates to a huge bitmap is refused before its pixels are allocated.
+   */
+  private static BufferedImage decode(byte[] bytes, String name, int maxDimension) throws IOException {
+    try (var input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+      var readers = input != null ? ImageIO.getImageReaders(input) : null;
+      if (readers == null || !readers.hasNext()) throw new IOException("unsupported image format: " + name);
+      var reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        var width = reader.getWidth(0);
+        var height = reader.getHeight(0);
+        if (width > maxDimension || height > maxDimension) {
+          throw new IOException(width + "x" + height + " pixels, more than " + maxDimension + " a side");
+        }
+        return reader.read(0);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private static BufferedImage read(InputStream in, String name) throws IOException {
+    if (in == null) throw new IOException("not found: " + name);
+    return decode(in.readAllBytes(), name, Integer.MAX_VALUE);
+  }
+}
\ No newline at end of file
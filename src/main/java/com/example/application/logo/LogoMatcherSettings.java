@@ -0,0 +1,51 @@
+package com.example.application.logo;
+
+import com.typesafe.config.Config;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param references         classpath directory with the brand logo references, listed in its index.txt
+ * @param assetStore         local directory that {@code asset:<name>} references in payloads resolve against
+ * @param matchThreshold     an asset at least this similar to a reference is that logo
+ * @param deviationThreshold an asset between this and the match threshold resembles a logo but deviates
+ *                           from it, which fails the check
+ * @param cacheSize          perceptual hashes of resolved assets kept in memory
+ * @param assetHosts         base URLs that {@code http(s)://} references may be fetched from; any other URL
+ *                           fails the check without being fetched
+ * @param maxAssetBytes      largest asset that is read, whether from the store or a host
+ * @param maxAssetDimension  widest and tallest image that is decoded
+ * @param llmFallback        ask the logo validation agent when the payload has no resolvable image assets
+ */
+public record LogoMatcherSettings(
+    boolean enabled,
+    String references,
+    Path assetStore,
+    double matchThreshold,
+    double deviationThreshold,
+    int cacheSize,
+    List<URI> assetHosts,
+    long maxAssetBytes,
+    int maxAssetDimension,
+    Duration httpTimeout,
+    boolean llmFallback) {
+
+  public static LogoMatcherSettings fromConfig(Config config) {
+    var matcher = config.getConfig("content-validation.logo-matcher");
+    return new LogoMatcherSettings(
+        matcher.getBoolean("enabled"),
+        matcher.getString("references"),
+        Path.of(matcher.getString("asset-store")),
+        matcher.getDouble("match-threshold"),
+        matcher.getDouble("deviation-threshold"),
+        matcher.getInt("cache-size"),
+        matcher.getStringList("asset-hosts").stream().map(URI::create).toList(),
+        matcher.getBytes("max-asset-bytes"),
+        matcher.getInt("max-asset-dimension"),
+        matcher.getDuration("http-timeout"),
+        matcher.getBoolean("llm-fallback"));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.application.logo;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash): the image is scaled to 9x8 grayscale and each bit records whether a
+ * pixel is brighter than its right neighbour. Robust to scaling, compression and small colour shifts,
+ * so re-encoded or resized copies of a logo stay within a few bits of the reference.
+ */
+public final class PerceptualHash {
+
+  private PerceptualHash() {}
+
+  public static long of(BufferedImage image) {
+    var scaled = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+    var graphics = scaled.createGraphics();
+    try {
+      // area averaging uses every source pixel, unlike bilinear sampling, so large images do not alias
+      graphics.drawImage(image.getScaledInstance(9, 8, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+    } finally {
+      graphics.dispose();
+    }
+    var raster = scaled.getRaster();
+    long hash = 0;
+    for (int y = 0; y < 8; y++) {
+      for (int x = 0; x < 8; x++) {
+        if (raster.getSample(x, y, 0) > raster.getSample(x + 1, y, 0)) {
+          hash |= 1L << (y * 8 + x);
+        }
+      }
+    }
+    return hash;
+  }
+
+  public static double similarity(long a, long b) {
+    return 1.0 - Long.bitCount(a ^ b) / 64.0;
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.application.pipeline;
+
+import com.example.domain.Pipeline;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pipeline definitions in the order they are tried; the first whose match entries all equal the item's
+ * metadata (ignoring case) is used, and an item no definition matches goes through all validators.
+ *
+ * @param languageKey  metadata entry with a declared language; when present language detection is skipped
+ * @param stepTimeouts per workflow step name, overriding the default step timeout
+ */
+public record PipelineSettings(String languageKey, List<Definition> definitions, Map<String, Duration> stepTimeouts) {
+
+  public record Definition(String name, Map<String, String> match, List<String> validators) {
+
+    boolean matches(Map<String, String> metadata) {
+      return match.entrySet().stream().allMatch(m -> {
+        var value = metadata != null ? metadata.get(m.getKey()) : null;
+        return value != null && value.trim().equalsIgnoreCase(m.getValue());
+      });
+    }
+  }
+
+  public static PipelineSettings fromConfig(Config config) {
+    var pipelines = config.getConfig("content-validation.pipelines");
+    var definitions = pipelines.getConfigList("definitions").stream()
+        .map(definition -> {
+          var match = new HashMap<String, String>();
+          if (definition.hasPath("match")) {
+            var matchConfig = definition.getConfig("match");
+            matchConfig.root().keySet().forEach(key -> match.put(key, matchConfig.getString("\"" + key + "\"")));
+          }
+          var validators = definition.getStringList("validators");
+          var unknown = validators.stream().filter(v -> !Pipeline.ALL_VALIDATORS.contains(v)).toList();
+          if (validators.isEmpty() || !unknown.isEmpty()) {
+            throw new IllegalArgumentException("Pipeline " + definition.getString("name") + " must list validators from "
+                + Pipeline.ALL_VALIDATORS + ", got " + validators);
+          }
+          return new Definition(definition.getString("name"), Map.copyOf(match), List.copyOf(validators));
+        })
+        .toList();
+    var timeouts = new HashMap<String, Duration>();
+    var timeoutsConfig = pipelines.getConfig("step-timeouts");
+    timeoutsConfig.root().keySet().forEach(step -> timeouts.put(step, timeoutsConfig.getDuration("\"" + step + "\"")));
+    return new PipelineSettings(pipelines.getString("language-key"), definitions, Map.copyOf(timeouts));
+  }
+
+  public Pipeline select(Map<String, String> metadata) {
+    return definitions.stream()
+        .filter(definition -> definition.matches(metadata))
+        .findFirst()
+        .map(definition -> new Pipeline(definition.name(), definition.validators()))
+        .orElseGet(Pipeline::full);
+  }
+
+  public String declaredLanguage(Map<String, String> metadata) {
+    if (metadata == null) return null;
+    var language = metadata.get(languageKey);
+    return language == null || language.isBlank() ? null : language.trim();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.example.application.preprocessing;
+
+import com.example.domain.NormalizedPayload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the {@link NormalizedPayload} of an item. Each pass rewrites the text while carrying, for
+ * every remaining character, its offset in the original payload; characters that replace a removed
+ * range, such as the space standing in for a tag, map to the start of that range.
+ */
+public class PayloadNormalizer {
+
+  private static final Pattern MARKUP = Pattern.compile(
+      "<(script|style)\\b[^>]*>.*?</\\1\\s*>|<!--.*?-->|<[a-zA-Z/!][^>]*>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  private static final Pattern ENTITY = Pattern.compile("&(amp|lt|gt|quot|apos|nbsp|#39);");
+  private static final Map<String, String> ENTITIES = Map.of(
+      "amp", "&", "lt", "<", "gt", ">", "quot", "\"", "apos", "'", "nbsp", " ", "#39", "'");
+  private static final Pattern URL = Pattern.compile("https?://[^\\s\"'<>]+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final PreprocessingSettings settings;
+
+  public PayloadNormalizer(PreprocessingSettings settings) {
+    this.settings = settings;
+  }
+
+  public boolean enabled() {
+    return settings.enabled();
+  }
+
+  public NormalizedPayload normalize(String payload) {
+    var text = new Text(payload);
+    if (settings.stripMarkup()) {
+      text = text.replace(MARKUP, m -> " ");
+      text = text.replace(ENTITY, m -> ENTITIES.get(m.group(1)));
+    }
+    if (!settings.trackingParameters().isEmpty()) {
+      text = text.replace(URL, m -> withoutTrackingParameters(m.group()));
+    }
+    text = collapseWhitespace(text);
+    if (!settings.boilerplate().isEmpty()) {
+      for (var pattern : settings.boilerplate()) {
+        text = text.replace(pattern, m -> "");
+      }
+      text = collapseWhitespace(text);
+    }
+    return NormalizedPayload.of(
+        text.value,
+        payload.length(),
+        estimateTokens(text.value),
+        estimateTokens(payload),
+        text.segments());
+  }
+
+  /**
+   * Runs of whitespace become one space, or one line break when they contain one, so line-anchored
+   * boilerplate patterns still match.
+   */
+  private static Text collapseWhitespace(Text text) {
+    return text.replace(WHITESPACE, m -> m.group().indexOf('\n') >= 0 ? "\n" : " ").trim();
+  }
+
+  public int estimateTokens(String value) {
+    return (int) Math.ceil(value.length() / settings.charsPerToken());
+  }
+
+  private String withoutTrackingParameters(String url) {
+    var query = url.indexOf('?');
+    if (query < 0) return url;
+    var fragment = url.indexOf('#', query);
+    var end = fragment < 0 ? url.length() : fragment;
+    var kept = Arrays.stream(url.substring(query + 1, end).split("&"))
+        .filter(p -> !p.isEmpty() && !settings.isTrackingParameter(p.contains("=") ? p.substring(0, p.indexOf('=')) : p))
+        .toList();
+    return url.substring(0, query) + (kept.isEmpty() ? "" : "?" + String.join("&", kept)) + url.substring(end);
+  }
+
+  /**
+   * Text with the original offset of each of its characters.
+   */
+  private static final class Text {
+
+    private final String value;
+    private final int[] origin;
+
+    Text(String original) {
+      this.value = original;
+      this.origin = new int[original.length()];
+      Arrays.setAll(origin, i -> i);
+    }
+
+    private Text(String value, int[] origin) {
+      this.value = value;
+      this.origin = origin;
+    }
+
+    Text replace(Pattern pattern, Function<Matcher, String> replacement) {
+      var matcher = pattern.matcher(value);
+      var out = new StringBuilder(value.length());
+      var outOrigin = new int[value.length() + 16];
+      var size = 0;
+      var last = 0;
+      while (matcher.find()) {
+        var replaced = replacement.apply(matcher);
+        if (replaced.equals(matcher.group())) continue;
+        outOrigin = ensure(outOrigin, size + (matcher.start() - last) + replaced.length());
+        for (int i = last; i < matcher.start(); i++) outOrigin[size++] = origin[i];
+        out.append(value, last, matcher.start());
+        var start = matcher.start() < origin.length ? origin[matcher.start()] : origin.length == 0 ? 0 : origin[origin.length - 1] + 1;
+        for (int i = 0; i < replaced.length(); i++) outOrigin[size++] = start;
+        out.append(replaced);
+        last = matcher.end();
+      }
+      if (last == 0 && out.isEmpty()) return this;
+      outOrigin = ensure(outOrigin, size + value.length() - last);
+      for (int i = last; i < value.length(); i++) outOrigin[size++] = origin[i];
+      out.append(value, last, value.length());
+      return new Text(out.toString(), Arrays.copyOf(outOrigin, size));
+    }
+
+    Text trim() {
+      var start = 0;
+      var end = value.length();
+      while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+      while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+      return new Text(value.substring(start, end), Arrays.copyOfRange(origin, start, end));
+    }
+
+    List<NormalizedPayload.Segment> segments() {
+      var segments = new ArrayList<NormalizedPayload.Segment>();
+      for (int i = 0; i < origin.length; i++) {
+        if (i == 0 || origin[i] != origin[i - 1] + 1) segments.add(new NormalizedPayload.Segment(i, origin[i]));
+      }
+      return List.copyOf(segments);
+    }
+
+    private static int[] ensure(int[] array, int size) {
+      return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.application.preprocessing;
+
+import com.typesafe.config.Config;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * @param trackingParameters query parameters dropped from links; entries ending in {@code *} match a prefix
+ * @param boilerplate        patterns removed from the text, such as legal footers and unsubscribe lines
+ * @param charsPerToken      characters per token for the token estimate
+ */
+public record PreprocessingSettings(
+    boolean enabled,
+    boolean stripMarkup,
+    Set<String> trackingParameters,
+    List<Pattern> boilerplate,
+    double charsPerToken) {
+
+  public static PreprocessingSettings fromConfig(Config config) {
+    var preprocessing = config.getConfig("content-validation.preprocessing");
+    return new PreprocessingSettings(
+        preprocessing.getBoolean("enabled"),
+        preprocessing.getBoolean("strip-markup"),
+        Set.copyOf(preprocessing.getStringList("tracking-parameters")),
+        preprocessing.getStringList("boilerplate").stream()
+            .map(regex -> Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.MULTILINE))
+            .toList(),
+        preprocessing.getDouble("chars-per-token"));
+  }
+
+  public boolean isTrackingParameter(String name) {
+    var lower = name.toLowerCase();
+    return trackingParameters.stream().anyMatch(p -> p.endsWith("*") ? lower.startsWith(p.substring(0, p.length() - 1)) : lower.equals(p));
+  }
+}
\ No newline at end of file
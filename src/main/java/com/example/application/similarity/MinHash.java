@@ -0,0 +1,87 @@
+package com.example.application.similarity;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signature of the set of words in a text: 64 minimum hashes, each truncated to its lowest 8
+ * bits (b-bit minwise hashing) and packed into 8 longs, 64 bytes per text. Numbers are collapsed to a
+ * single token first, so templated messages that differ only in amounts, dates or ids get the same
+ * signature and a changed name only lowers the similarity slightly.
+ */
+public final class MinHash {
+
+  public static final int HASHES = 64;
+  public static final int LONGS = HASHES / 8;
+
+  private static final long[] SEEDS = new SplittableRandom(0x5eed).longs(HASHES).toArray();
+
+  private MinHash() {}
+
+  /**
+   * @return null when the text has no words, since every such text would get the same signature
+   */
+  public static long[] of(String text) {
+    var tokens = new HashSet<String>();
+    for (var token : text.toLowerCase(Locale.ROOT)
+        .replaceAll("\\d+([.,:/-]\\d+)*", "#")
+        .split("[^\\p{L}\\p{N}#]+")) {
+      if (!token.isEmpty()) tokens.add(token);
+    }
+    if (tokens.isEmpty()) return null;
+    var minimums = new long[HASHES];
+    Arrays.fill(minimums, Long.MAX_VALUE);
+    for (var token : tokens) {
+      var tokenHash = fnv(token);
+      for (int i = 0; i < HASHES; i++) {
+        var h = mix(tokenHash ^ SEEDS[i]);
+        if (Long.compareUnsigned(h, minimums[i]) < 0) minimums[i] = h;
+      }
+    }
+    var signature = new long[LONGS];
+    for (int i = 0; i < HASHES; i++) {
+      signature[i / 8] |= (minimums[i] & 0xFF) << ((i % 8) * 8);
+    }
+    return signature;
+  }
+
+  /**
+   * Estimated Jaccard similarity of the two word sets, corrected for the 1/256 chance that two
+   * different 8-bit minimums are equal.
+   */
+  public static double similarity(long[] a, int aOffset, long[] b) {
+    var equal = 0;
+    for (int i = 0; i < LONGS; i++) {
+      var x = a[aOffset + i] ^ b[i];
+      for (int shift = 0; shift < 64; shift += 8) {
+        if (((x >>> shift) & 0xFF) == 0) equal++;
+      }
+    }
+    var raw = equal / (double) HASHES;
+    return Math.max(0.0, (raw - 1.0 / 256) / (1.0 - 1.0 / 256));
+  }
+
+  public static double similarity(long[] a, long[] b) {
+    return similarity(a, 0, b);
+  }
+
+  static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static long fnv(String token) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < token.length(); i++) {
+      h ^= token.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+}
\ No newline at end of file
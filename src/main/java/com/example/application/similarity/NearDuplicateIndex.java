@@ -0,0 +1,83 @@
+package com.example.application.similarity;
+
+import java.util.Optional;
+
+/**
+ * In-memory index of {@link MinHash} signatures of validated payloads, with locality-sensitive
+ * hashing: each of the 8 signature longs is a band of 8 minimums, and an entry is filed under every
+ * band. Items that share a band become candidates and are compared on the full signature; at a
+ * similarity of 0.9 two items share at least one band with a probability above 99%.
+ *
+ * <p>Signatures live in a fixed-size ring buffer and every bucket of the fixed bucket table keeps at
+ * most {@code maxBucketSize} recent entries, so memory and the candidates compared per lookup are
+ * bounded regardless of how many items were added.
+ */
+public class NearDuplicateIndex {
+
+  public record Match(String contentId, double similarity) {}
+
+  private static final int BANDS = MinHash.LONGS;
+  private static final int TABLE_BITS = 16;
+  private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+  private final NearDuplicateSettings settings;
+  private final int capacity;
+  private final long[] signatures;
+  private final String[] contentIds;
+  private final int[][] buckets = new int[BANDS << TABLE_BITS][];
+  private final int[] bucketNext = new int[BANDS << TABLE_BITS];
+  private int next;
+
+  public NearDuplicateIndex(NearDuplicateSettings settings) {
+    this.settings = settings;
+    this.capacity = settings.enabled() ? settings.maxEntries() : 0;
+    this.signatures = new long[capacity * MinHash.LONGS];
+    this.contentIds = new String[capacity];
+  }
+
+  public boolean enabled() {
+    return settings.enabled();
+  }
+
+  public synchronized void add(String contentId, long[] signature) {
+    if (!settings.enabled()) return;
+    var slot = next;
+    next = (next + 1) % capacity;
+    System.arraycopy(signature, 0, signatures, slot * MinHash.LONGS, MinHash.LONGS);
+    contentIds[slot] = contentId;
+    for (int band = 0; band < BANDS; band++) {
+      var bucket = bucket(band, signature[band]);
+      if (buckets[bucket] == null) buckets[bucket] = new int[settings.maxBucketSize()];
+      // slot + 1 so that 0 marks an empty position
+      buckets[bucket][bucketNext[bucket]] = slot + 1;
+      bucketNext[bucket] = (bucketNext[bucket] + 1) % settings.maxBucketSize();
+    }
+  }
+
+  /**
+   * The most similar indexed item at or above the similarity threshold, if any.
+   */
+  public synchronized Optional<Match> lookup(long[] signature) {
+    if (!settings.enabled()) return Optional.empty();
+    var bestSlot = -1;
+    var bestSimilarity = settings.threshold();
+    for (int band = 0; band < BANDS; band++) {
+      var entries = buckets[bucket(band, signature[band])];
+      if (entries == null) continue;
+      for (var entry : entries) {
+        if (entry == 0) continue;
+        // buckets may still point at slots that have been reused since, so always compare the full signature
+        var similarity = MinHash.similarity(signatures, (entry - 1) * MinHash.LONGS, signature);
+        if (similarity >= bestSimilarity) {
+          bestSimilarity = similarity;
+          bestSlot = entry - 1;
+        }
+      }
+    }
+    return bestSlot < 0 ? Optional.empty() : Optional.of(new Match(contentIds[bestSlot], bestSimilarity));
+  }
+
+  private static int bucket(int band, long value) {
+    return (band << TABLE_BITS) | (int) (MinHash.mix(value) & TABLE_MASK);
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.application.similarity;
+
+import com.typesafe.config.Config;
+
+/**
+ * @param threshold     minimum estimated word-set similarity for reusing results
+ * @param maxEntries    signatures kept in memory (64 bytes each); the oldest are overwritten first
+ * @param maxBucketSize entries kept per LSH bucket, which bounds the candidates compared per lookup
+ */
+public record NearDuplicateSettings(
+    boolean enabled,
+    double threshold,
+    int maxEntries,
+    int maxBucketSize) {
+
+  public static NearDuplicateSettings fromConfig(Config config) {
+    var nearDuplicate = config.getConfig("content-validation.near-duplicate");
+    return new NearDuplicateSettings(
+        nearDuplicate.getBoolean("enabled"),
+        nearDuplicate.getDouble("threshold"),
+        nearDuplicate.getInt("max-entries"),
+        nearDuplicate.getInt("max-bucket-size"));
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.application.streaming;
+
+import akka.Done;
+import akka.NotUsed;
+import akka.stream.KillSwitches;
+import akka.stream.Materializer;
+import akka.stream.OverflowStrategy;
+import akka.stream.UniqueKillSwitch;
+import akka.stream.javadsl.BroadcastHub;
+import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Source;
+import com.example.application.ContentStatusView;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Shares one upstream view stream per query between all subscribers on this node. Updates can be
+ * conflated per content id within a window, so an item moving through several statuses quickly reaches
+ * subscribers once with its latest row. Each subscriber has its own bounded buffer that drops its oldest
+ * updates, so a slow client never holds back the others.
+ * <p>
+ * The upstream only streams rows updated since it started, so it has no initial result set of its
+ * own, and it is stopped when its last subscriber leaves; the next subscriber starts a new one.
+ */
+public class StatusStreamHub {
+
+  public enum Query { ALL, PENDING_REVIEWS, FAILED }
+
+  public record QueryStats(Query query, boolean upstreamActive, int subscribers, long received, long conflated) {}
+
+  private record Upstream(Source<ContentStatusView.StatusEntry, NotUsed> source, UniqueKillSwitch killSwitch,
+                          CompletionStage<Done> terminated, AtomicInteger subscribers,
+                          LongAdder received, LongAdder conflated) {}
+
+  /**
+   * How far before its start the upstream reads updated rows, so a row updated on a node with a
+   * slightly different clock is not missed; such a row may also be in the subscriber's snapshot.
+   */
+  private static final Duration START_MARGIN = Duration.ofSeconds(1);
+
+  private final Duration conflateWindow;
+  private final int conflateMaxBatch;
+  private final int subscriberBuffer;
+  private final Map<Query, Upstream> upstreams = new ConcurrentHashMap<>();
+
+  public StatusStreamHub(Config config) {
+    var streams = config.getConfig("content-validation.status-streams");
+    this.conflateWindow = streams.getDuration("conflate-window");
+    this.conflateMaxBatch = streams.getInt("conflate-max-batch");
+    this.subscriberBuffer = streams.getInt("subscriber-buffer");
+  }
+
+  /**
+   * Live updates of the query, already subscribed to the shared upstream, which is started if none is
+   * running from the view stream of the rows updated since the given time. Does not include the rows
+   * that existed before subscribing.
+   */
+  public Source<ContentStatusView.StatusEntry, NotUsed> subscribe(
+      Query query, Function<Instant, Source<ContentStatusView.StatusEntry, NotUsed>> updatedSince,
+      Materializer materializer) {
+    synchronized (upstreams) {
+      var shared = upstreams.get(query);
+      if (shared == null) {
+        var started = start(updatedSince.apply(Instant.now().minus(START_MARGIN)), materializer);
+        upstreams.put(query, started);
+        // a failed or completed upstream is restarted by the next subscriber
+        started.terminated().whenComplete((d, e) -> {
+          synchronized (upstreams) {
+            upstreams.remove(query, started);
+          }
+        });
+        shared = started;
+      }
+      var subscribed = shared;
+      return subscribed.source()
+          .buffer(subscriberBuffer, OverflowStrategy.dropHead())
+          .watchTermination((notUsed, done) -> {
+            subscribed.subscribers().incrementAndGet();
+            done.whenComplete((d, e) -> release(query, subscribed));
+            return notUsed;
+          })
+          .preMaterialize(materializer)
+          .second();
+    }
+  }
+
+  private void release(Query query, Upstream upstream) {
+    synchronized (upstreams) {
+      if (upstream.subscribers().decrementAndGet() == 0 && upstreams.remove(query, upstream)) {
+        upstream.killSwitch().shutdown();
+      }
+    }
+  }
+
+  public List<QueryStats> stats() {
+    var stats = new ArrayList<QueryStats>();
+    for (var query : Query.values()) {
+      var upstream = upstreams.get(query);
+      stats.add(upstream == null
+          ? new QueryStats(query, false, 0, 0, 0)
+          : new QueryStats(query, true, upstream.subscribers().get(), upstream.received().sum(), upstream.conflated().sum()));
+    }
+    return stats;
+  }
+
+  private Upstream start(Source<ContentStatusView.StatusEntry, NotUsed> source, Materializer materializer) {
+    var received = new LongAdder();
+    var conflated = new LongAdder();
+    var counted = source.map(entry -> {
+      received.increment();
+      return entry;
+    });
+    var updates = conflateWindow.isZero()
+        ? counted
+        : counted.groupedWithin(conflateMaxBatch, conflateWindow).mapConcat(batch -> {
+            var latest = latestPerContent(batch);
+            conflated.add(batch.size() - latest.size());
+            return latest;
+          });
+    var running = updates
+        .watchTermination((notUsed, done) -> done)
+        .viaMat(KillSwitches.single(), Keep.both())
+        .toMat(BroadcastHub.of(ContentStatusView.StatusEntry.class, 256), Keep.both())
+        .run(materializer);
+    return new Upstream(running.second(), running.first().second(), running.first().first(),
+        new AtomicInteger(), received, conflated);
+  }
+
+  static List<ContentStatusView.StatusEntry> latestPerContent(List<ContentStatusView.StatusEntry> batch) {
+    var latest = new LinkedHashMap<String, ContentStatusView.StatusEntry>();
+    for (var entry : batch) {
+      latest.remove(entry.contentId());
+      latest.put(entry.contentId(), entry);
+    }
+    return List.copyOf(latest.values());
+  }
+}
\ No newline at end of file
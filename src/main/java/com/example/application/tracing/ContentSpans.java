@@ -0,0 +1,104 @@
+package com.example.application.tracing;
+
+import akka.javasdk.Tracing;
+import com.example.application.invocation.AgentInvoker;
+import com.example.application.invocation.CircuitOpenException;
+import com.typesafe.config.Config;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Spans for the work done on one content item. Every span carries the content id, so all spans of an
+ * item can be found in the collector even where a step runs outside the trace of the original request.
+ * Spans are only recorded when tracing is enabled in the runtime; otherwise these are no-ops.
+ */
+public final class ContentSpans {
+
+  public static final AttributeKey<String> CONTENT_ID = AttributeKey.stringKey("content.id");
+  public static final AttributeKey<String> STEP = AttributeKey.stringKey("content.workflow.step");
+  public static final AttributeKey<String> AGENT_ID = AttributeKey.stringKey("content.agent.id");
+  public static final AttributeKey<String> MODEL = AttributeKey.stringKey("gen_ai.request.model");
+  public static final AttributeKey<Long> RETRY_ATTEMPT = AttributeKey.longKey("content.retry.attempt");
+  public static final AttributeKey<String> ROUTING_TARGET = AttributeKey.stringKey("content.routing.target");
+  public static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("content.outcome");
+
+  private ContentSpans() {}
+
+  /**
+   * The model configured for the agents, for the model attribute of agent spans.
+   */
+  public static String modelName(Config config) {
+    var provider = config.getString("akka.javasdk.agent.model-provider");
+    var path = "akka.javasdk.agent." + provider + ".model-name";
+    return config.hasPath(path) ? config.getString(path) : provider;
+  }
+
+  public static Optional<Span> start(Tracing tracing, String name, String contentId) {
+    var span = tracing.startSpan(name);
+    span.ifPresent(s -> s.setAttribute(CONTENT_ID, contentId));
+    return span;
+  }
+
+  /**
+   * Runs the call within a span named after the operation and ends the span with the outcome:
+   * ok, guardrail-blocked, circuit-open or error.
+   */
+  public static <T> T traced(Tracing tracing, String name, String contentId, Consumer<Span> attributes, Supplier<T> call) {
+    var span = start(tracing, name, contentId);
+    span.ifPresent(attributes);
+    try {
+      var result = call.get();
+      span.ifPresent(s -> s.setAttribute(OUTCOME, "ok"));
+      return result;
+    } catch (RuntimeException e) {
+      span.ifPresent(s -> {
+        s.setAttribute(OUTCOME, outcome(e));
+        s.recordException(e);
+        s.setStatus(StatusCode.ERROR, String.valueOf(e.getMessage()));
+      });
+      throw e;
+    } finally {
+      span.ifPresent(Span::end);
+    }
+  }
+
+  /**
+   * {@link #traced} for a call that completes asynchronously; the span ends when the call completes.
+   */
+  public static <T> CompletionStage<T> tracedAsync(
+      Tracing tracing, String name, String contentId, Consumer<Span> attributes, Supplier<CompletionStage<T>> call) {
+    var span = start(tracing, name, contentId);
+    span.ifPresent(attributes);
+    CompletionStage<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    return result.whenComplete((value, error) -> span.ifPresent(s -> {
+      if (error == null) {
+        s.setAttribute(OUTCOME, "ok");
+      } else {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        s.setAttribute(OUTCOME, outcome(cause));
+        s.recordException(cause);
+        s.setStatus(StatusCode.ERROR, String.valueOf(cause.getMessage()));
+      }
+      s.end();
+    }));
+  }
+
+  private static String outcome(Throwable e) {
+    if (AgentInvoker.isGuardrailBlocked(e)) return "guardrail-blocked";
+    if (e instanceof CircuitOpenException) return "circuit-open";
+    return "error";
+  }
+}
\ No newline at end of file
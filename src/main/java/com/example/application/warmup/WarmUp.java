@@ -0,0 +1,164 @@
+package com.example.application.warmup;
+
+import akka.javasdk.JsonSupport;
+import akka.javasdk.client.ComponentClient;
+import com.example.application.ContentValidationWorkflow;
+import com.example.application.guardrail.PiiGuard;
+import com.example.domain.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs the warm-up tasks of this node once at startup, so the first real requests do not pay for
+ * serializer creation, regex compilation and model client connection setup, and reports whether the node
+ * is ready. Tasks run one after another on a background thread; a failing task is recorded and does not
+ * stop the others.
+ */
+public class WarmUp {
+
+  private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+  public enum Status { PENDING, RUNNING, READY, TIMED_OUT }
+
+  public record TaskTiming(String task, long millis, String error) {}
+
+  public record Report(Status status, boolean ready, long totalMillis, List<TaskTiming> tasks) {}
+
+  /**
+   * Every type an agent is asked to conform its response to, plus the requests sent to them.
+   */
+  private static final List<Class<?>> AGENT_TYPES = List.of(
+      DetectionResult.class, NLPResult.class, ValidationResult.class, LogoResult.class, EnterpriseResult.class,
+      CombinedValidationResult.class, AggregatedResult.class, RoutingDecision.class,
+      NLPRequest.class, ValidationRequest.class, LogoRequest.class, EnterpriseRequest.class,
+      CombinedValidationRequest.class, AggregationRequest.class, RoutingRequest.class, VerdictRequest.class);
+
+  private static final String PIPELINE_PAYLOAD =
+      "Warm-up content. Contact support@example.com or call 1-800-555-0100 for billing questions.";
+
+  private final WarmUpSettings settings;
+  private final List<TaskTiming> timings = new CopyOnWriteArrayList<>();
+  private volatile Status status = Status.PENDING;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+
+  public WarmUp(WarmUpSettings settings) {
+    this.settings = settings;
+  }
+
+  public WarmUpSettings settings() {
+    return settings;
+  }
+
+  public boolean ready() {
+    return !settings.enabled() || status == Status.READY || status == Status.TIMED_OUT
+        || (startedAt != null && Instant.now().isAfter(startedAt.plus(settings.timeout())));
+  }
+
+  public Report report() {
+    var end = finishedAt != null ? finishedAt : Instant.now();
+    var total = startedAt != null ? Duration.between(startedAt, end).toMillis() : 0;
+    var current = status == Status.RUNNING && ready() ? Status.TIMED_OUT : status;
+    return new Report(current, ready(), total, List.copyOf(timings));
+  }
+
+  /**
+   * Starts warm-up in the background; a no-op when disabled or already started.
+   */
+  public synchronized void start(ComponentClient componentClient) {
+    if (!settings.enabled() || status != Status.PENDING) return;
+    status = Status.RUNNING;
+    startedAt = Instant.now();
+    var thread = new Thread(() -> run(tasks(componentClient)), "content-validation-warm-up");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private Map<String, Runnable> tasks(ComponentClient componentClient) {
+    var tasks = new LinkedHashMap<String, Runnable>();
+    tasks.put("json-types", WarmUp::warmJsonTypes);
+    tasks.put("pii-guard", WarmUp::warmPiiGuard);
+    if (settings.pipeline()) {
+      tasks.put("pipeline", () -> runPipeline(componentClient));
+    }
+    return tasks;
+  }
+
+  private void run(Map<String, Runnable> tasks) {
+    for (var task : tasks.entrySet()) {
+      var start = System.nanoTime();
+      String error = null;
+      try {
+        task.getValue().run();
+      } catch (RuntimeException e) {
+        error = e.getMessage();
+        logger.warn("Warm-up task {} failed: {}", task.getKey(), e.getMessage());
+      }
+      timings.add(new TaskTiming(task.getKey(), (System.nanoTime() - start) / 1_000_000, error));
+    }
+    finishedAt = Instant.now();
+    status = Status.READY;
+    logger.info("Warm-up finished in {} ms: {}", Duration.between(startedAt, finishedAt).toMillis(), timings);
+  }
+
+  /**
+   * Builds and caches the Jackson serializers and deserializers for the agent request and response types.
+   */
+  private static void warmJsonTypes() {
+    var mapper = JsonSupport.getObjectMapper();
+    for (var type : AGENT_TYPES) {
+      try {
+        var empty = mapper.readerFor(type).readValue("{}");
+        mapper.writeValueAsString(empty);
+      } catch (Exception e) {
+        throw new IllegalStateException("Could not warm up " + type.getSimpleName() + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  private static void warmPiiGuard() {
+    var guard = new PiiGuard();
+    guard.evaluate(PIPELINE_PAYLOAD);
+    guard.evaluate("Reach jane.doe@example.com, 555-123-4567, 123-45-6789 or 4111 1111 1111 1111");
+  }
+
+  /**
+   * Runs one shadow validation, which stays out of the view, statistics and push topic, waits for it to
+   * finish and deletes it.
+   */
+  private void runPipeline(ComponentClient componentClient) {
+    var workflowId = "warm-up-" + UUID.randomUUID();
+    var request = new ContentRequest(workflowId, PIPELINE_PAYLOAD, Map.of());
+    componentClient.forWorkflow(workflowId)
+        .method(ContentValidationWorkflow::replay)
+        .invoke(new ReplayRequest("warm-up", request));
+    var deadline = startedAt.plus(settings.timeout());
+    while (Instant.now().isBefore(deadline)) {
+      var state = componentClient.forWorkflow(workflowId)
+          .method(ContentValidationWorkflow::getStatus)
+          .invoke();
+      if (state.status() == ContentValidationStatus.COMPLETED || state.status() == ContentValidationStatus.FAILED) {
+        componentClient.forWorkflow(workflowId).method(ContentValidationWorkflow::expire).invoke();
+        if (state.status() == ContentValidationStatus.FAILED) {
+          throw new IllegalStateException("Warm-up validation failed: " + state.failureReason());
+        }
+        return;
+      }
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    throw new IllegalStateException("Warm-up validation did not finish within " + settings.timeout());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.application.warmup;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param enabled  whether the node warms up at startup; without warm-up it reports ready immediately
+ * @param pipeline whether warm-up also runs one shadow validation through all agents, which opens the
+ *                 model provider connections and loads the guardrail embeddings
+ * @param timeout  after this the node reports ready even if warm-up has not finished
+ */
+public record WarmUpSettings(boolean enabled, boolean pipeline, Duration timeout) {
+
+  public static WarmUpSettings fromConfig(Config config) {
+    var warmUp = config.getConfig("content-validation.warm-up");
+    return new WarmUpSettings(
+        warmUp.getBoolean("enabled"),
+        warmUp.getBoolean("pipeline"),
+        warmUp.getDuration("timeout"));
+  }
+}
\ No newline at end of file
@@ -1,3 +1,13 @@
 package com.example.domain;
 
-public record AggregatedResult(boolean overallPassed, double confidence, String summary) {}
\ No newline at end of file
+public record AggregatedResult(boolean overallPassed, double confidence, String summary) {
+
+  /**
+   * Results below this confidence go to human review even when they passed.
+   */
+  public static final double REVIEW_CONFIDENCE_THRESHOLD = 0.8;
+
+  public boolean needsReview() {
+    return !overallPassed || confidence < REVIEW_CONFIDENCE_THRESHOLD;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.domain;
+
+import akka.javasdk.annotations.TypeName;
+
+public sealed interface CalibrationEvent {
+
+  @TypeName("sample-recorded")
+  record SampleRecorded(CalibrationSample sample) implements CalibrationEvent {}
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.domain;
+
+import java.util.List;
+
+/**
+ * @param suggestedThreshold      the lowest confidence threshold that meets the target, or the current
+ *                                threshold when there are not enough reviews yet
+ * @param expectedPrecision       share of the reviews between the suggested and the current threshold
+ *                                that were approved unchanged
+ * @param expectedReviewReduction share of all reviews that the suggested threshold would have avoided
+ */
+public record CalibrationReport(
+    String segment,
+    double currentThreshold,
+    double suggestedThreshold,
+    double targetPrecision,
+    double expectedPrecision,
+    long samplesInRange,
+    long reviewed,
+    long autoPassed,
+    double expectedReviewReduction,
+    List<BucketReport> buckets) {
+
+  public record BucketReport(double from, double to, long autoPassed, long approved, long changed) {}
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.domain;
+
+/**
+ * One finished item as seen by the review calibration: its aggregator confidence and what happened to
+ * it. Only items that passed aggregation with every validator passing can be auto-passed by a lower
+ * threshold; reviews of all other items are only counted towards the review volume.
+ */
+public record CalibrationSample(String contentId, double confidence, Outcome outcome) {
+
+  public enum Outcome {
+    /** Routed without review. */
+    AUTO_PASSED,
+    /** Reviewed and approved unchanged. */
+    APPROVED,
+    /** Reviewed and overridden or rejected. */
+    CHANGED,
+    /** Reviewed because aggregation or a validator failed; a threshold cannot avoid these reviews. */
+    REVIEWED_OTHER
+  }
+}
\ No newline at end of file
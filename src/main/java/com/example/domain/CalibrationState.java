@@ -0,0 +1,103 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Confidence histogram of one tenant and content type, in buckets of 0.05, counting per bucket the items
+ * auto-passed and the reviews that approved or changed the outcome. Recently recorded items are
+ * remembered in a bounded list to drop redelivered updates.
+ */
+public record CalibrationState(List<Bucket> buckets, long reviewedOther, List<String> recentlyRecorded) {
+
+  public static final int BUCKETS = 20;
+  public static final int RECENTLY_RECORDED_LIMIT = 1000;
+
+  public record Bucket(long autoPassed, long approved, long changed) {
+
+    static final Bucket EMPTY = new Bucket(0, 0, 0);
+
+    Bucket plus(CalibrationSample.Outcome outcome) {
+      return switch (outcome) {
+        case AUTO_PASSED -> new Bucket(autoPassed + 1, approved, changed);
+        case APPROVED -> new Bucket(autoPassed, approved + 1, changed);
+        case CHANGED -> new Bucket(autoPassed, approved, changed + 1);
+        case REVIEWED_OTHER -> this;
+      };
+    }
+
+    long reviewed() {
+      return approved + changed;
+    }
+  }
+
+  public static CalibrationState empty() {
+    return new CalibrationState(IntStream.range(0, BUCKETS).mapToObj(i -> Bucket.EMPTY).toList(), 0, List.of());
+  }
+
+  public static int bucketOf(double confidence) {
+    return Math.max(0, Math.min(BUCKETS - 1, (int) Math.floor(confidence * BUCKETS)));
+  }
+
+  public boolean isDuplicate(CalibrationSample sample) {
+    return recentlyRecorded.contains(sample.contentId());
+  }
+
+  public CalibrationState apply(CalibrationEvent.SampleRecorded event) {
+    var sample = event.sample();
+    var recent = new ArrayList<>(recentlyRecorded);
+    recent.add(sample.contentId());
+    var recentlyRecorded = List.copyOf(recent.subList(Math.max(0, recent.size() - RECENTLY_RECORDED_LIMIT), recent.size()));
+    if (sample.outcome() == CalibrationSample.Outcome.REVIEWED_OTHER) {
+      return new CalibrationState(buckets, reviewedOther + 1, recentlyRecorded);
+    }
+    var updated = new ArrayList<>(buckets);
+    var index = bucketOf(sample.confidence());
+    updated.set(index, updated.get(index).plus(sample.outcome()));
+    return new CalibrationState(List.copyOf(updated), reviewedOther, recentlyRecorded);
+  }
+
+  /**
+   * Lowers the threshold one bucket at a time while the reviews between it and the current threshold
+   * number at least min-samples and were approved unchanged at the target precision or better.
+   */
+  public CalibrationReport report(String segment, double currentThreshold, CalibrationTarget target) {
+    var top = bucketOf(currentThreshold - 1e-9) + 1;
+    var lowest = (int) Math.ceil(target.minThreshold() * BUCKETS - 1e-9);
+    var suggested = top;
+    long approvedInRange = 0;
+    long reviewedInRange = 0;
+    long approved = 0;
+    long reviewed = 0;
+    for (int bucket = top - 1; bucket >= lowest; bucket--) {
+      approved += buckets.get(bucket).approved();
+      reviewed += buckets.get(bucket).reviewed();
+      if (reviewed < target.minSamples()) continue;
+      if ((double) approved / reviewed < target.targetPrecision()) break;
+      suggested = bucket;
+      approvedInRange = approved;
+      reviewedInRange = reviewed;
+    }
+
+    var totalReviewed = reviewedOther + buckets.stream().mapToLong(Bucket::reviewed).sum();
+    var totalAutoPassed = buckets.stream().mapToLong(Bucket::autoPassed).sum();
+    var bucketReports = IntStream.range(0, BUCKETS)
+        .filter(i -> !buckets.get(i).equals(Bucket.EMPTY))
+        .mapToObj(i -> new CalibrationReport.BucketReport(
+            (double) i / BUCKETS, (double) (i + 1) / BUCKETS,
+            buckets.get(i).autoPassed(), buckets.get(i).approved(), buckets.get(i).changed()))
+        .toList();
+    return new CalibrationReport(
+        segment,
+        currentThreshold,
+        suggested == top ? currentThreshold : (double) suggested / BUCKETS,
+        target.targetPrecision(),
+        reviewedInRange == 0 ? 0.0 : (double) approvedInRange / reviewedInRange,
+        reviewedInRange,
+        totalReviewed,
+        totalAutoPassed,
+        totalReviewed == 0 ? 0.0 : (double) reviewedInRange / totalReviewed,
+        bucketReports);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.domain;
+
+/**
+ * @param targetPrecision share of the items a lower threshold would auto-pass that reviewers approved
+ *                        unchanged
+ * @param minSamples      reviews in the threshold range needed before it is suggested
+ * @param minThreshold    the threshold is never suggested below this
+ */
+public record CalibrationTarget(double targetPrecision, int minSamples, double minThreshold) {}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.example.domain;
+
+import java.util.Map;
+
+public record CombinedValidationRequest(String contentId, String content, String language, Map<String, String> metadata) {}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.domain;
+
+import java.util.List;
+
+public record CombinedValidationResult(
+    NLPResult nlp,
+    ValidationResult text,
+    LogoResult logo,
+    EnterpriseResult enterprise) {
+
+  /**
+   * Splits the combined response into the same per-validator entries the multi-agent pipeline records.
+   * A section the model left out counts as a failed validation, since nothing was checked.
+   */
+  public List<ValidationResult> toValidationResults() {
+    return List.of(
+        nlp != null
+            ? new ValidationResult("localized-nlp-agent", nlp.passed(), issues(nlp.issues()))
+            : missing("localized-nlp-agent", "nlp"),
+        text != null
+            ? new ValidationResult("text-language-validation-agent", text.passed(), issues(text.issues()))
+            : missing("text-language-validation-agent", "text"),
+        logo != null
+            ? new ValidationResult("logo-validation-agent", logo.passed(), issues(logo.findings()))
+            : missing("logo-validation-agent", "logo"),
+        enterprise != null
+            ? new ValidationResult("enterprise-validation-agent", enterprise.passed(), issues(enterprise.violations()))
+            : missing("enterprise-validation-agent", "enterprise"));
+  }
+
+  private static ValidationResult missing(String agentId, String section) {
+    return new ValidationResult(agentId, false, List.of("The combined response has no " + section + " section"));
+  }
+
+  private static List<String> issues(List<String> issues) {
+    return issues != null ? issues : List.of();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters maintained incrementally from workflow updates. {@code byStatus} holds the current number
+ * of items in each in-flight status and the cumulative number of COMPLETED and FAILED items; the other
+ * counters are cumulative over finished items.
+ */
+public record ContentStatistics(
+    Map<String, Long> byStatus,
+    Map<String, Long> byRoutingTarget,
+    Map<String, Long> byLanguage,
+    Map<String, ValidatorCounts> byValidator,
+    List<HourlyBucket> hourly) {
+
+  public record ValidatorCounts(long passed, long failed) {
+
+    public ValidatorCounts plus(ValidatorCounts other) {
+      return new ValidatorCounts(passed + other.passed, failed + other.failed);
+    }
+  }
+
+  public record HourlyBucket(Instant hour, long received, long completed, long failed) {
+
+    public HourlyBucket plus(HourlyBucket other) {
+      return new HourlyBucket(hour, received + other.received, completed + other.completed, failed + other.failed);
+    }
+  }
+
+  public static ContentStatistics empty() {
+    return new ContentStatistics(Map.of(), Map.of(), Map.of(), Map.of(), List.of());
+  }
+
+  public ContentStatistics merge(ContentStatistics other) {
+    return new ContentStatistics(
+        sum(byStatus, other.byStatus),
+        sum(byRoutingTarget, other.byRoutingTarget),
+        sum(byLanguage, other.byLanguage),
+        mergeValidators(byValidator, other.byValidator),
+        mergeHourly(hourly, other.hourly, Integer.MAX_VALUE));
+  }
+
+  static Map<String, Long> sum(Map<String, Long> a, Map<String, Long> b) {
+    var merged = new HashMap<>(a);
+    b.forEach((key, value) -> merged.merge(key, value, Long::sum));
+    merged.values().removeIf(count -> count == 0);
+    return Map.copyOf(merged);
+  }
+
+  static Map<String, ValidatorCounts> mergeValidators(Map<String, ValidatorCounts> a, Map<String, ValidatorCounts> b) {
+    var merged = new HashMap<>(a);
+    b.forEach((key, value) -> merged.merge(key, value, ValidatorCounts::plus));
+    return Map.copyOf(merged);
+  }
+
+  /**
+   * Merges buckets of the same hour, newest first, keeping at most {@code maxBuckets}.
+   */
+  static List<HourlyBucket> mergeHourly(List<HourlyBucket> a, List<HourlyBucket> b, int maxBuckets) {
+    var merged = new HashMap<Instant, HourlyBucket>();
+    a.forEach(bucket -> merged.merge(bucket.hour(), bucket, HourlyBucket::plus));
+    b.forEach(bucket -> merged.merge(bucket.hour(), bucket, HourlyBucket::plus));
+    var sorted = new ArrayList<>(merged.values());
+    sorted.sort(Comparator.comparing(HourlyBucket::hour).reversed());
+    return List.copyOf(sorted.subList(0, Math.min(maxBuckets, sorted.size())));
+  }
+}
\ No newline at end of file
@@ -1,13 +1,23 @@
 package com.example.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * The concerns added on top of the validation itself are grouped: {@code preparation} (pipeline and
+ * normalized payload), {@code recovery} (retries, parking and the failed step), {@code review} (review
+ * request, lease and escalations) and {@code origin} (replay job and reused results).
+ * <p>
+ * The payload is held in its stored form, compacted by {@link #compacted(PayloadCodec)}; {@link #payload()}
+ * is always the plain text.
+ */
 public record ContentValidationState(
     String contentId,
-    String payload,
+    @JsonProperty("payload") String storedPayload,
     Map<String, String> metadata,
     String language,
     List<ValidationResult> results,
@@ -15,41 +25,129 @@ public record ContentValidationState(
     ReviewDecision reviewDecision,
     ContentValidationStatus status,
     String routingTarget,
-    String failureReason) {
+    String failureReason,
+    Instant receivedAt,
+    Preparation preparation,
+    Recovery recovery,
+    ReviewTracking review,
+    RunOrigin origin) {
 
-  public static ContentValidationState initial(ContentRequest request) {
+  public ContentValidationState {
+    if (results == null) results = List.of();
+    if (preparation == null) preparation = Preparation.NONE;
+    if (recovery == null) recovery = Recovery.NONE;
+    if (review == null) review = ReviewTracking.NONE;
+    if (origin == null) origin = RunOrigin.SUBMITTED;
+  }
+
+  public static ContentValidationState initial(ContentRequest request, Instant receivedAt) {
     return new ContentValidationState(
-        request.contentId(), request.payload(), request.metadata(),
-        null, List.of(), null, null, ContentValidationStatus.RECEIVED, null, null);
+        request.contentId(), PayloadCodec.escape(request.payload()), request.metadata(),
+        null, List.of(), null, null, ContentValidationStatus.RECEIVED, null, null, receivedAt,
+        Preparation.NONE, Recovery.NONE, ReviewTracking.NONE, RunOrigin.SUBMITTED);
+  }
+
+  /**
+   * A shadow run of an existing item for a replay job; it stops after aggregation and is not visible
+   * in the view, the statistics or the push topic.
+   */
+  public static ContentValidationState replay(ContentRequest request, String replayJobId, Instant receivedAt) {
+    return new ContentValidationState(
+        request.contentId(), PayloadCodec.escape(request.payload()), request.metadata(),
+        null, List.of(), null, null, ContentValidationStatus.RECEIVED, null, null, receivedAt,
+        Preparation.NONE, Recovery.NONE, ReviewTracking.NONE, RunOrigin.replay(replayJobId));
+  }
+
+  public String payload() {
+    return PayloadCodec.decode(storedPayload);
+  }
+
+  /**
+   * A failed workflow can be resumed at the step that failed unless a guardrail, a reviewer or the
+   * review timeout rejected it.
+   */
+  public boolean isResumable() {
+    return status == ContentValidationStatus.FAILED && recovery.failedStep() != null;
+  }
+
+  /**
+   * The text sent to the language detection and text validators: the normalized payload when
+   * preprocessing is enabled, the original otherwise.
+   */
+  public String promptPayload() {
+    return preparation.normalized() != null ? preparation.normalized().text() : payload();
+  }
+
+  public boolean isReplay() {
+    return origin.replayJobId() != null;
+  }
+
+  /**
+   * Items started before pipelines were recorded went through all validators.
+   */
+  public Pipeline effectivePipeline() {
+    return preparation.pipeline() != null ? preparation.pipeline() : Pipeline.full();
+  }
+
+  /**
+   * The same state with the payload and the normalized payload stored as the codec encodes them.
+   */
+  public ContentValidationState compacted(PayloadCodec codec) {
+    var normalized = preparation.normalized();
+    return new ContentValidationState(contentId, codec.encode(payload()), metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt,
+        normalized != null ? preparation.withNormalized(normalized.compacted(codec)) : preparation, recovery, review, origin);
   }
 
   public ContentValidationState withLanguage(String language) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 
   public ContentValidationState withResult(ValidationResult result) {
     var updated = new ArrayList<>(results);
     updated.add(result);
-    return new ContentValidationState(contentId, payload, metadata, language, Collections.unmodifiableList(updated), aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, Collections.unmodifiableList(updated), aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 
   public ContentValidationState withAggregatedResult(AggregatedResult aggregatedResult) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 
   public ContentValidationState withReviewDecision(ReviewDecision reviewDecision) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 
   public ContentValidationState withStatus(ContentValidationStatus status) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
+  }
+
+  /**
+   * Moves on after a step succeeded, so the next step starts without failed attempts.
+   */
+  public ContentValidationState advancedTo(ContentValidationStatus status) {
+    return withStatus(status).withRecovery(recovery.advanced());
   }
 
   public ContentValidationState withRoutingTarget(String routingTarget) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 
   public ContentValidationState withFailureReason(String failureReason) {
-    return new ContentValidationState(contentId, payload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason);
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
+  }
+
+  public ContentValidationState withPreparation(Preparation preparation) {
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
+  }
+
+  public ContentValidationState withRecovery(Recovery recovery) {
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
+  }
+
+  public ContentValidationState withReview(ReviewTracking review) {
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
+  }
+
+  public ContentValidationState withOrigin(RunOrigin origin) {
+    return new ContentValidationState(contentId, storedPayload, metadata, language, results, aggregatedResult, reviewDecision, status, routingTarget, failureReason, receivedAt, preparation, recovery, review, origin);
   }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 package com.example.domain;
 
 public enum ContentValidationStatus {
-  RECEIVED, DETECTING, NLP, VALIDATING_TEXT, VALIDATING_LOGO, VALIDATING_ENTERPRISE, AGGREGATING, AWAITING_REVIEW, ROUTING, COMPLETED, FAILED
+  RECEIVED, DETECTING, NLP, VALIDATING_TEXT, VALIDATING_LOGO, VALIDATING_ENTERPRISE, VALIDATING_COMBINED, AGGREGATING, AWAITING_REVIEW, ROUTING, COMPLETED, FAILED
 }
\ No newline at end of file
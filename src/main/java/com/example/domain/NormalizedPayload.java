@@ -0,0 +1,88 @@
+package com.example.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * The payload as sent to the validators: markup, tracking parameters, boilerplate and repeated
+ * whitespace removed once per item. Each segment starts a run of normalized characters copied in order
+ * from the original from {@code originalStart} on, so normalized offsets map back to the original.
+ * The text is held in its stored form, see {@link PayloadCodec}; {@link #text()} is the plain text.
+ */
+public record NormalizedPayload(
+    @JsonProperty("text") String storedText,
+    int originalLength,
+    int estimatedTokens,
+    int originalEstimatedTokens,
+    List<Segment> segments) {
+
+  private static final Pattern QUOTED = Pattern.compile("\"([^\"]{3,})\"|\u201c([^\u201d]{3,})\u201d|'([^']{3,})'");
+
+  public record Segment(int normalizedStart, int originalStart) {}
+
+  public record Span(int start, int end) {}
+
+  public static NormalizedPayload of(
+      String text, int originalLength, int estimatedTokens, int originalEstimatedTokens, List<Segment> segments) {
+    return new NormalizedPayload(PayloadCodec.escape(text), originalLength, estimatedTokens, originalEstimatedTokens, segments);
+  }
+
+  public String text() {
+    return PayloadCodec.decode(storedText);
+  }
+
+  public NormalizedPayload compacted(PayloadCodec codec) {
+    return new NormalizedPayload(codec.encode(text()), originalLength, estimatedTokens, originalEstimatedTokens, segments);
+  }
+
+  /**
+   * Offset in the original payload of the character at the normalized offset.
+   */
+  public int toOriginal(int normalizedOffset) {
+    int low = 0;
+    int high = segments.size() - 1;
+    while (low < high) {
+      var mid = (low + high + 1) >>> 1;
+      if (segments.get(mid).normalizedStart() <= normalizedOffset) low = mid;
+      else high = mid - 1;
+    }
+    var segment = segments.get(low);
+    return Math.min(originalLength, segment.originalStart() + normalizedOffset - segment.normalizedStart());
+  }
+
+  /**
+   * Span in the original payload of the first occurrence of the excerpt in the normalized text.
+   */
+  public Optional<Span> locate(String excerpt) {
+    if (excerpt == null || excerpt.isBlank() || segments.isEmpty()) return Optional.empty();
+    var index = text().indexOf(excerpt);
+    if (index < 0) return Optional.empty();
+    return Optional.of(new Span(toOriginal(index), toOriginal(index + excerpt.length() - 1) + 1));
+  }
+
+  /**
+   * Spans in the original payload of the quoted excerpts in a validator issue that occur in the
+   * normalized text.
+   */
+  public List<Span> locateQuoted(String issue) {
+    var spans = new ArrayList<Span>();
+    var matcher = QUOTED.matcher(issue);
+    while (matcher.find()) {
+      var excerpt = matcher.group(1) != null ? matcher.group(1) : matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+      locate(excerpt).ifPresent(spans::add);
+    }
+    return spans;
+  }
+
+  /**
+   * The identity mapping of a payload that was not normalized.
+   */
+  public static NormalizedPayload unchanged(String payload, int estimatedTokens) {
+    return of(payload, payload.length(), estimatedTokens, estimatedTokens,
+        payload.isEmpty() ? List.of() : List.of(new Segment(0, 0)));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.example.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Opt-in compact encoding of large string fields in persisted state. An encoded value is
+ * {@code "z1:"} followed by the base64 of the UTF-8 text, deflated with a preset dictionary of phrases
+ * common in customer communication. Values that do not start with a codec prefix are plain text, so
+ * snapshots written before the codec was enabled, or after it is disabled again, still read.
+ * A new dictionary gets a new prefix; prefixes already written must stay decodable.
+ * <p>
+ * Whether to compact is a setting of the instance, applied by the workflow when it builds its state;
+ * decoding needs no settings, since every reader has to read what any writer stored.
+ */
+public final class PayloadCodec {
+
+  public static final String PREFIX = "z1:";
+
+  /**
+   * Marks a plain value that happens to start with a codec prefix.
+   */
+  static final String PLAIN_PREFIX = "z0:";
+
+  public static final PayloadCodec DISABLED = new PayloadCodec(false, Integer.MAX_VALUE);
+
+  private static final byte[] DICTIONARY_V1 = loadDictionary("codec/payload-dictionary-v1.txt");
+
+  private final boolean enabled;
+  private final int minLength;
+
+  /**
+   * @param minLength shortest value that is compacted
+   */
+  public PayloadCodec(boolean enabled, int minLength) {
+    this.enabled = enabled;
+    this.minLength = minLength;
+  }
+
+  /**
+   * The stored form of a plain value: compacted when enabled, long enough and shorter that way,
+   * otherwise the value itself.
+   */
+  public String encode(String value) {
+    if (value == null) return null;
+    if (enabled && value.length() >= minLength) {
+      var compressed = PREFIX + Base64.getEncoder().encodeToString(deflate(value.getBytes(StandardCharsets.UTF_8)));
+      if (compressed.length() < value.length()) return compressed;
+    }
+    return escape(value);
+  }
+
+  /**
+   * The stored form of a plain value that is not compacted.
+   */
+  public static String escape(String value) {
+    if (value == null) return null;
+    return value.startsWith(PREFIX) || value.startsWith(PLAIN_PREFIX) ? PLAIN_PREFIX + value : value;
+  }
+
+  /**
+   * The plain value of a stored one. A prefix alone is not trusted: payloads stored before the codec
+   * existed were never escaped, so a {@code "z1:"} value that is not a complete deflate stream of
+   * UTF-8 text, or a {@code "z0:"} value that does not escape a prefix, is read as the plain text it is.
+   */
+  public static String decode(String value) {
+    if (value == null) return null;
+    if (value.startsWith(PREFIX)) {
+      var decoded = inflated(value.substring(PREFIX.length()));
+      return decoded != null ? decoded : value;
+    }
+    if (value.startsWith(PLAIN_PREFIX)) {
+      var escaped = value.substring(PLAIN_PREFIX.length());
+      return escaped.startsWith(PREFIX) || escaped.startsWith(PLAIN_PREFIX) ? escaped : value;
+    }
+    return value;
+  }
+
+  private static String inflated(String base64) {
+    try {
+      var bytes = inflate(Base64.getDecoder().decode(base64));
+      if (bytes == null) return null;
+      return StandardCharsets.UTF_8.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPORT)
+          .onUnmappableCharacter(CodingErrorAction.REPORT)
+          .decode(ByteBuffer.wrap(bytes))
+          .toString();
+    } catch (IllegalArgumentException | CharacterCodingException e) {
+      return null;
+    }
+  }
+
+  private static byte[] deflate(byte[] input) {
+    var deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    try {
+      deflater.setDictionary(DICTIONARY_V1);
+      deflater.setInput(input);
+      deflater.finish();
+      var out = new ByteArrayOutputStream(input.length / 2 + 16);
+      var buffer = new byte[4096];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * @return null unless the input is exactly one complete deflate stream
+   */
+  private static byte[] inflate(byte[] input) {
+    var inflater = new Inflater(true);
+    try {
+      inflater.setDictionary(DICTIONARY_V1);
+      inflater.setInput(input);
+      var out = new ByteArrayOutputStream(input.length * 3);
+      var buffer = new byte[4096];
+      while (!inflater.finished()) {
+        var n = inflater.inflate(buffer);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) return null;
+        out.write(buffer, 0, n);
+      }
+      return inflater.getRemaining() == 0 ? out.toByteArray() : null;
+    } catch (DataFormatException e) {
+      return null;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] loadDictionary(String resource) {
+    try (InputStream in = PayloadCodec.class.getClassLoader().getResourceAsStream(resource)) {
+      if (in == null) throw new IllegalStateException("Missing codec dictionary " + resource);
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.domain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The validators an item goes through, in order, as selected from the configured pipeline definitions
+ * when the workflow starts. Recorded in the workflow state so it is clear afterwards which checks an
+ * item actually passed.
+ */
+public record Pipeline(String name, List<String> validators) {
+
+  public static final String NLP = "nlp";
+  public static final String TEXT = "text";
+  public static final String LOGO = "logo";
+  public static final String ENTERPRISE = "enterprise";
+
+  public static final List<String> ALL_VALIDATORS = List.of(NLP, TEXT, LOGO, ENTERPRISE);
+
+  private static final Map<String, String> AGENT_IDS = Map.of(
+      NLP, "localized-nlp-agent",
+      TEXT, "text-language-validation-agent",
+      LOGO, "logo-validation-agent",
+      ENTERPRISE, "enterprise-validation-agent");
+
+  /**
+   * The fixed chain of the workflow before pipelines were configurable; used for items started before.
+   */
+  public static Pipeline full() {
+    return new Pipeline("full", ALL_VALIDATORS);
+  }
+
+  public static String agentId(String validator) {
+    return AGENT_IDS.get(validator);
+  }
+
+  /**
+   * The workflow status while the validator runs.
+   */
+  public static ContentValidationStatus statusOf(String validator) {
+    return switch (validator) {
+      case NLP -> ContentValidationStatus.NLP;
+      case TEXT -> ContentValidationStatus.VALIDATING_TEXT;
+      case LOGO -> ContentValidationStatus.VALIDATING_LOGO;
+      case ENTERPRISE -> ContentValidationStatus.VALIDATING_ENTERPRISE;
+      default -> throw new IllegalArgumentException("Unknown validator: " + validator);
+    };
+  }
+
+  /**
+   * @param validator the validator that just ran, or null before the first one
+   * @return the validator to run next, or empty when aggregation is next
+   */
+  public Optional<String> next(String validator) {
+    var index = validator == null ? 0 : validators.indexOf(validator) + 1;
+    return index < validators.size() ? Optional.of(validators.get(index)) : Optional.empty();
+  }
+
+  public boolean includesAgent(String agentId) {
+    return validators.stream().anyMatch(v -> agentId.equals(AGENT_IDS.get(v)));
+  }
+}
\ No newline at end of file
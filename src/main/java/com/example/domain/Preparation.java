@@ -0,0 +1,25 @@
+package com.example.domain;
+
+/**
+ * What was decided about an item before its first step.
+ *
+ * @param pipeline         the validators selected for the item's metadata
+ * @param normalized       the text sent to the validators when preprocessing is enabled
+ * @param coalesceProgress whether projections skip the item's moves from one validation step to the next
+ */
+public record Preparation(Pipeline pipeline, NormalizedPayload normalized, boolean coalesceProgress) {
+
+  public static final Preparation NONE = new Preparation(null, null, false);
+
+  public Preparation withPipeline(Pipeline pipeline) {
+    return new Preparation(pipeline, normalized, coalesceProgress);
+  }
+
+  public Preparation withNormalized(NormalizedPayload normalized) {
+    return new Preparation(pipeline, normalized, coalesceProgress);
+  }
+
+  public Preparation withCoalesceProgress(boolean coalesceProgress) {
+    return new Preparation(pipeline, normalized, coalesceProgress);
+  }
+}
\ No newline at end of file
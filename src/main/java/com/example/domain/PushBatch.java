@@ -0,0 +1,5 @@
+package com.example.domain;
+
+import java.util.List;
+
+public record PushBatch(String target, long sequence, List<PushReference> items) {}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.domain;
+
+import akka.javasdk.annotations.TypeName;
+
+import java.time.Instant;
+import java.util.List;
+
+public sealed interface PushBatchEvent {
+
+  @TypeName("reference-added")
+  record ReferenceAdded(PushReference reference, Instant addedAt) implements PushBatchEvent {}
+
+  @TypeName("batch-sealed")
+  record BatchSealed(long sequence, List<PushReference> items) implements PushBatchEvent {}
+}
\ No newline at end of file
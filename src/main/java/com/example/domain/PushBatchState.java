@@ -0,0 +1,56 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * @param openedAt       when the first pending reference was added, null when nothing is pending
+ * @param recentlySealed content ids of the most recently sealed references, oldest first, so that a
+ *                       redelivered reference is not published in a second batch
+ */
+public record PushBatchState(long sequence, List<PushReference> pending, Instant openedAt, LinkedHashSet<String> recentlySealed) {
+
+  public static final int RECENTLY_SEALED_LIMIT = 1000;
+
+  public PushBatchState {
+    if (recentlySealed == null) recentlySealed = new LinkedHashSet<>();
+  }
+
+  public static PushBatchState empty() {
+    return new PushBatchState(0, List.of(), null, new LinkedHashSet<>());
+  }
+
+  public boolean contains(String contentId) {
+    return pending.stream().anyMatch(r -> r.contentId().equals(contentId));
+  }
+
+  public boolean wasSealed(String contentId) {
+    return recentlySealed.contains(contentId);
+  }
+
+  public PushBatchState withReference(PushReference reference, Instant addedAt) {
+    var updated = new ArrayList<>(pending);
+    updated.add(reference);
+    return new PushBatchState(sequence, Collections.unmodifiableList(updated), pending.isEmpty() ? addedAt : openedAt, recentlySealed);
+  }
+
+  /**
+   * The set is copied, since earlier states share it.
+   */
+  public PushBatchState sealed(long sequence, List<PushReference> items) {
+    var sealedIds = new LinkedHashSet<>(recentlySealed);
+    for (var item : items) {
+      sealedIds.remove(item.contentId());
+      sealedIds.add(item.contentId());
+    }
+    var excess = sealedIds.size() - RECENTLY_SEALED_LIMIT;
+    for (var it = sealedIds.iterator(); excess > 0; excess--) {
+      it.next();
+      it.remove();
+    }
+    return new PushBatchState(sequence, List.of(), null, sealedIds);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public record PushReference(String contentId, String target, String payloadHash, int payloadSize) {
+
+  public static PushReference of(String contentId, String target, String payload) {
+    var bytes = payload.getBytes(StandardCharsets.UTF_8);
+    return new PushReference(contentId, target, sha256(bytes), bytes.length);
+  }
+
+  public static String sha256(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
\ No newline at end of file
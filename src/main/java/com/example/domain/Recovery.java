@@ -0,0 +1,40 @@
+package com.example.domain;
+
+/**
+ * How a workflow recovers from failed agent calls.
+ *
+ * @param parkedStep   the step waiting for its resume timer after a failed attempt or an open breaker
+ * @param retryAttempt the failed attempts of the current step
+ * @param failedStep   the step that exhausted its attempts, at which a failed workflow can be resumed
+ * @param resumes      how many times the failed workflow was resumed
+ */
+public record Recovery(String parkedStep, int retryAttempt, String failedStep, int resumes) {
+
+  public static final Recovery NONE = new Recovery(null, 0, null, 0);
+
+  public Recovery parked(String step, int attempt) {
+    return new Recovery(step, attempt, failedStep, resumes);
+  }
+
+  /**
+   * Leaves the parked step to be retried, keeping the attempts made so far.
+   */
+  public Recovery unparked() {
+    return new Recovery(null, retryAttempt, failedStep, resumes);
+  }
+
+  public Recovery failedAt(String step) {
+    return new Recovery(null, 0, step, resumes);
+  }
+
+  /**
+   * After a step succeeded the next one starts without attempts.
+   */
+  public Recovery advanced() {
+    return new Recovery(null, 0, null, resumes);
+  }
+
+  public Recovery resumed() {
+    return new Recovery(null, 0, null, resumes + 1);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.domain;
+
+import java.time.Instant;
+
+/**
+ * Selects the items a replay job re-runs; null fields do not filter.
+ *
+ * @param status        current status of the item, e.g. COMPLETED
+ * @param from          received at or after
+ * @param to            received before
+ * @param routingTarget routing target of the item
+ * @param limit         maximum number of items, 0 for the configured maximum
+ */
+public record ReplayCriteria(String status, Instant from, Instant to, String routingTarget, int limit) {
+
+  public boolean matches(String status, Instant receivedAt, String routingTarget) {
+    return (this.status == null || this.status.equalsIgnoreCase(status))
+        && (this.routingTarget == null || this.routingTarget.equals(routingTarget))
+        && (from == null || (receivedAt != null && !receivedAt.isBefore(from)))
+        && (to == null || (receivedAt != null && receivedAt.isBefore(to)));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.domain;
+
+import java.util.List;
+
+/**
+ * @param changedValidators validators whose pass/fail outcome differs between the runs
+ */
+public record ReplayDiff(
+    String contentId,
+    ReplayVerdict originalVerdict,
+    ReplayVerdict replayVerdict,
+    double originalConfidence,
+    double replayConfidence,
+    List<String> changedValidators) {
+
+  public boolean verdictChanged() {
+    return originalVerdict != replayVerdict;
+  }
+}
\ No newline at end of file
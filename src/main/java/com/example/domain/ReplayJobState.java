@@ -0,0 +1,109 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Progress of a replay job. The selection is read from the view a page at a time: {@code pageToken} is
+ * the checkpoint into it, {@code pending} the selected items of the pages read so far that are not yet
+ * dispatched, and those still running are listed in {@code inFlight}.
+ *
+ * @param selectionDone whether the last page was read or the criteria's limit was reached
+ * @param selected      items selected so far
+ * @param dispatched    selected items taken from {@code pending}, including skipped ones
+ */
+public record ReplayJobState(
+    String jobId,
+    ReplayCriteria criteria,
+    int concurrency,
+    int ratePerSecond,
+    ReplayJobStatus status,
+    String pageToken,
+    boolean selectionDone,
+    List<String> pending,
+    int selected,
+    int dispatched,
+    List<String> inFlight,
+    int completed,
+    int failed,
+    int skipped,
+    int changed,
+    List<ReplayDiff> diffs,
+    Instant startedAt,
+    Instant finishedAt) {
+
+  public static ReplayJobState initial(String jobId, ReplayCriteria criteria, int concurrency, int ratePerSecond, Instant startedAt) {
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, ReplayJobStatus.SELECTING,
+        "", false, List.of(), 0, 0, List.of(), 0, 0, 0, 0, List.of(), startedAt, null);
+  }
+
+  /**
+   * Items already pending or in flight are not selected again, should an update of the view have
+   * moved them onto a later page.
+   *
+   * @param contentIds    the items of the page that match the criteria, within its limit
+   * @param nextPageToken where the next page starts
+   * @param last          whether no pages remain to be read
+   */
+  public ReplayJobState withPage(List<String> contentIds, String nextPageToken, boolean last) {
+    var updated = new ArrayList<>(pending);
+    for (var contentId : contentIds) {
+      if (!pending.contains(contentId) && !inFlight.contains(contentId)) updated.add(contentId);
+    }
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, ReplayJobStatus.RUNNING, nextPageToken, last, Collections.unmodifiableList(updated),
+        selected + updated.size() - pending.size(), dispatched, inFlight, completed, failed, skipped, changed, diffs, startedAt, finishedAt);
+  }
+
+  public ReplayJobState withDispatched(String contentId) {
+    var updated = new ArrayList<>(inFlight);
+    updated.add(contentId);
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, status, pageToken, selectionDone, withoutPending(contentId),
+        selected, dispatched + 1, Collections.unmodifiableList(updated), completed, failed, skipped, changed, diffs, startedAt, finishedAt);
+  }
+
+  public ReplayJobState withSkipped(String contentId) {
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, status, pageToken, selectionDone, withoutPending(contentId),
+        selected, dispatched + 1, inFlight, completed, failed, skipped + 1, changed, diffs, startedAt, finishedAt);
+  }
+
+  /**
+   * @param diff    null when the shadow run matched the original
+   * @param maxDiffs diffs beyond this are only counted
+   */
+  public ReplayJobState withFinished(String contentId, boolean shadowFailed, ReplayDiff diff, int maxDiffs) {
+    var remaining = new ArrayList<>(inFlight);
+    remaining.remove(contentId);
+    var updatedDiffs = diffs;
+    if (diff != null && diffs.size() < maxDiffs) {
+      var list = new ArrayList<>(diffs);
+      list.add(diff);
+      updatedDiffs = Collections.unmodifiableList(list);
+    }
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, status, pageToken, selectionDone, pending, selected, dispatched, Collections.unmodifiableList(remaining),
+        completed + 1, shadowFailed ? failed + 1 : failed, skipped, diff != null ? changed + 1 : changed, updatedDiffs, startedAt, finishedAt);
+  }
+
+  public ReplayJobState withStatus(ReplayJobStatus status, Instant finishedAt) {
+    return new ReplayJobState(jobId, criteria, concurrency, ratePerSecond, status, pageToken, selectionDone, pending, selected, dispatched, inFlight, completed, failed, skipped, changed, diffs, startedAt, finishedAt);
+  }
+
+  /**
+   * Items the criteria's limit still lets the job select.
+   */
+  public int remainingSelection(int maxItems) {
+    var limit = criteria.limit() > 0 ? Math.min(criteria.limit(), maxItems) : maxItems;
+    return Math.max(0, limit - selected);
+  }
+
+  public boolean isDrained() {
+    return selectionDone && pending.isEmpty() && inFlight.isEmpty();
+  }
+
+  private List<String> withoutPending(String contentId) {
+    var updated = new ArrayList<>(pending);
+    updated.remove(contentId);
+    return Collections.unmodifiableList(updated);
+  }
+}
\ No newline at end of file
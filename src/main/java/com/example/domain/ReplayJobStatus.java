@@ -0,0 +1,5 @@
+package com.example.domain;
+
+public enum ReplayJobStatus {
+  SELECTING, RUNNING, COMPLETED, CANCELLED
+}
\ No newline at end of file
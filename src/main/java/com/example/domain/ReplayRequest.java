@@ -0,0 +1,3 @@
+package com.example.domain;
+
+public record ReplayRequest(String jobId, ContentRequest content) {}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.domain;
+
+/**
+ * Outcome of the aggregation step, which is what a replay compares between the original run and the
+ * shadow run.
+ */
+public enum ReplayVerdict {
+  PASSED, NEEDS_REVIEW, NOT_AGGREGATED;
+
+  public static ReplayVerdict of(AggregatedResult result) {
+    if (result == null) return NOT_AGGREGATED;
+    return result.needsReview() ? NEEDS_REVIEW : PASSED;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.domain;
+
+/**
+ * Records that the validation results were copied from a near-duplicate item instead of being
+ * produced by the validators.
+ */
+public record ResultReuse(String sourceContentId, double similarity) {}
\ No newline at end of file
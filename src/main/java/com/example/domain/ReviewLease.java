@@ -0,0 +1,14 @@
+package com.example.domain;
+
+import java.time.Instant;
+
+public record ReviewLease(String reviewer, Instant expiresAt) {
+
+  public boolean isActiveAt(Instant now) {
+    return expiresAt.isAfter(now);
+  }
+
+  public boolean isHeldByOtherAt(String reviewer, Instant now) {
+    return isActiveAt(now) && !this.reviewer.equals(reviewer);
+  }
+}
\ No newline at end of file
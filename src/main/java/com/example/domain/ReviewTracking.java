@@ -0,0 +1,28 @@
+package com.example.domain;
+
+import java.time.Instant;
+
+/**
+ * @param requestedAt when the item started waiting for review
+ * @param lease       the reviewer currently working on the item, if any
+ * @param escalations how many times the review timed out and was escalated
+ */
+public record ReviewTracking(Instant requestedAt, ReviewLease lease, int escalations) {
+
+  public static final ReviewTracking NONE = new ReviewTracking(null, null, 0);
+
+  public ReviewTracking requested(Instant requestedAt) {
+    return new ReviewTracking(requestedAt, lease, escalations);
+  }
+
+  public ReviewTracking withLease(ReviewLease lease) {
+    return new ReviewTracking(requestedAt, lease, escalations);
+  }
+
+  /**
+   * Releases the lease and counts the escalation.
+   */
+  public ReviewTracking escalated() {
+    return new ReviewTracking(requestedAt, null, escalations + 1);
+  }
+}
\ No newline at end of file
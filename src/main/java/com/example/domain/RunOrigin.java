@@ -0,0 +1,20 @@
+package com.example.domain;
+
+/**
+ * Where a run and its results come from.
+ *
+ * @param replayJobId the replay job of a shadow run, null for a submitted item
+ * @param resultReuse the near-duplicate whose results were copied, null when the validators ran
+ */
+public record RunOrigin(String replayJobId, ResultReuse resultReuse) {
+
+  public static final RunOrigin SUBMITTED = new RunOrigin(null, null);
+
+  public static RunOrigin replay(String replayJobId) {
+    return new RunOrigin(replayJobId, null);
+  }
+
+  public RunOrigin reusing(ResultReuse resultReuse) {
+    return new RunOrigin(replayJobId, resultReuse);
+  }
+}
\ No newline at end of file
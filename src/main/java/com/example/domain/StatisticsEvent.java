@@ -0,0 +1,13 @@
+package com.example.domain;
+
+import akka.javasdk.annotations.TypeName;
+
+public sealed interface StatisticsEvent {
+
+  /**
+   * @param previousStatus the item's last counted status in this shard, null for a new item; a final
+   *                       status when a resumed item is re-opened
+   */
+  @TypeName("item-updated")
+  record ItemUpdated(StatisticsUpdate update, String previousStatus) implements StatisticsEvent {}
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.domain;
+
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics of one shard. Only in-flight items are tracked individually, so that a status change can
+ * be counted as a move from the previous status; finished items are remembered in a bounded set, in
+ * the order they finished, to drop redelivered updates. {@code finishedResumes} holds the resume count
+ * of those finished items that had been resumed, so a later resume is told apart from a redelivery.
+ * <p>
+ * The entity applies one event at a time and replaces its state with the result, so {@link #apply}
+ * updates {@code inFlight}, {@code recentlyFinished} and {@code finishedResumes} in place instead of
+ * copying them for every event; all are hash-based, so lookups do not scan.
+ */
+public record StatisticsState(
+    ContentStatistics statistics,
+    HashMap<String, String> inFlight,
+    LinkedHashSet<String> recentlyFinished,
+    HashMap<String, Integer> finishedResumes) {
+
+  public static final int HOURLY_BUCKETS = 24;
+  public static final int RECENTLY_FINISHED_LIMIT = 1000;
+
+  public StatisticsState {
+    if (inFlight == null) inFlight = new HashMap<>();
+    if (recentlyFinished == null) recentlyFinished = new LinkedHashSet<>();
+    if (finishedResumes == null) finishedResumes = new HashMap<>();
+  }
+
+  public static StatisticsState empty() {
+    return new StatisticsState(ContentStatistics.empty(), new HashMap<>(), new LinkedHashSet<>(), new HashMap<>());
+  }
+
+  /**
+   * A failed item that was resumed after it finished in this shard: its update has more resumes than
+   * the item had when it finished, or it has resumes while the item is no longer remembered.
+   */
+  public boolean isReopened(StatisticsUpdate update) {
+    var contentId = update.contentId();
+    if (recentlyFinished.contains(contentId)) return update.resumes() > finishedResumes.getOrDefault(contentId, 0);
+    return update.resumes() > 0 && !inFlight.containsKey(contentId);
+  }
+
+  public boolean isDuplicate(StatisticsUpdate update) {
+    if (isReopened(update)) return false;
+    return recentlyFinished.contains(update.contentId())
+        || update.status().equals(inFlight.get(update.contentId()));
+  }
+
+  /**
+   * The status the update moves the item from; a re-opened item moves out of FAILED.
+   */
+  public String previousStatus(StatisticsUpdate update) {
+    return isReopened(update) ? ContentValidationStatus.FAILED.name() : inFlight.get(update.contentId());
+  }
+
+  /**
+   * A re-opened item moves from FAILED to its new status without being received again, and the counts
+   * of its failure are taken back until it finishes again; its failure stays in the hourly history.
+   */
+  public StatisticsState apply(StatisticsEvent.ItemUpdated event) {
+    var update = event.update();
+    var previous = event.previousStatus();
+    var reopened = ContentValidationStatus.FAILED.name().equals(previous);
+    var hour = update.at().truncatedTo(ChronoUnit.HOURS);
+
+    var byStatus = new HashMap<>(statistics.byStatus());
+    if (previous != null) byStatus.merge(previous, -1L, Long::sum);
+    byStatus.merge(update.status(), 1L, Long::sum);
+
+    var hourly = statistics.hourly();
+    if (previous == null) {
+      hourly = ContentStatistics.mergeHourly(hourly, List.of(new ContentStatistics.HourlyBucket(hour, 1, 0, 0)), HOURLY_BUCKETS);
+    }
+
+    var finished = ContentStatistics.empty();
+    if (reopened) {
+      recentlyFinished.remove(update.contentId());
+      finishedResumes.remove(update.contentId());
+      finished = finishedCounts(update, -1);
+    }
+
+    if (update.isFinal()) {
+      inFlight.remove(update.contentId());
+      recentlyFinished.add(update.contentId());
+      if (update.resumes() > 0) finishedResumes.put(update.contentId(), update.resumes());
+      if (recentlyFinished.size() > RECENTLY_FINISHED_LIMIT) {
+        var oldest = recentlyFinished.iterator();
+        finishedResumes.remove(oldest.next());
+        oldest.remove();
+      }
+      finished = finished.merge(finishedCounts(update, 1));
+
+      var completed = update.status().equals(ContentValidationStatus.COMPLETED.name()) ? 1 : 0;
+      hourly = ContentStatistics.mergeHourly(hourly,
+          List.of(new ContentStatistics.HourlyBucket(hour, 0, completed, 1 - completed)), HOURLY_BUCKETS);
+    } else {
+      inFlight.put(update.contentId(), update.status());
+    }
+
+    byStatus.values().removeIf(count -> count == 0);
+    return new StatisticsState(
+        new ContentStatistics(
+            Map.copyOf(byStatus),
+            ContentStatistics.sum(statistics.byRoutingTarget(), finished.byRoutingTarget()),
+            ContentStatistics.sum(statistics.byLanguage(), finished.byLanguage()),
+            ContentStatistics.mergeValidators(statistics.byValidator(), finished.byValidator()),
+            hourly),
+        inFlight,
+        recentlyFinished,
+        finishedResumes);
+  }
+
+  /**
+   * The routing target, language and validator counts of a finished item, or their negation for a
+   * sign of -1.
+   */
+  private static ContentStatistics finishedCounts(StatisticsUpdate update, long sign) {
+    var byRoutingTarget = update.routingTarget() != null && !update.routingTarget().isEmpty()
+        ? Map.of(update.routingTarget(), sign)
+        : Map.<String, Long>of();
+    var byLanguage = update.language() != null && !update.language().isEmpty()
+        ? Map.of(update.language(), sign)
+        : Map.<String, Long>of();
+    var byValidator = new HashMap<String, ContentStatistics.ValidatorCounts>();
+    for (var result : update.results()) {
+      byValidator.merge(result.agentId(),
+          new ContentStatistics.ValidatorCounts(result.passed() ? sign : 0, result.passed() ? 0 : sign),
+          ContentStatistics.ValidatorCounts::plus);
+    }
+    return new ContentStatistics(Map.of(), byRoutingTarget, byLanguage, Map.copyOf(byValidator), List.of());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One workflow state change as seen by the statistics consumer. Routing target, language and
+ * results are only counted once the item reaches a final status.
+ *
+ * @param resumes how many times the failed workflow was resumed; an update with more resumes than the
+ *                item had when it finished re-opens the item
+ */
+public record StatisticsUpdate(
+    String contentId,
+    String status,
+    String routingTarget,
+    String language,
+    List<ValidationResult> results,
+    Instant at,
+    int resumes) {
+
+  public boolean isFinal() {
+    return status.equals(ContentValidationStatus.COMPLETED.name()) || status.equals(ContentValidationStatus.FAILED.name());
+  }
+}
\ No newline at end of file
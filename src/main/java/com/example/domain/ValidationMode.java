@@ -0,0 +1,32 @@
+package com.example.domain;
+
+import java.util.Map;
+
+public enum ValidationMode {
+  MULTI_AGENT, COMBINED;
+
+  public static final String METADATA_KEY = "validation-mode";
+
+  /**
+   * An explicit {@code validation-mode} metadata entry wins; otherwise payloads no longer than
+   * {@code maxCombinedPayloadLength} use the combined validator. A limit of 0 disables length-based selection.
+   */
+  public static ValidationMode select(String payload, Map<String, String> metadata, int maxCombinedPayloadLength) {
+    var requested = metadata != null ? metadata.get(METADATA_KEY) : null;
+    if (requested != null) {
+      return switch (requested.trim().toLowerCase()) {
+        case "combined" -> COMBINED;
+        case "multi-agent" -> MULTI_AGENT;
+        default -> byLength(payload, maxCombinedPayloadLength);
+      };
+    }
+    return byLength(payload, maxCombinedPayloadLength);
+  }
+
+  private static ValidationMode byLength(String payload, int maxCombinedPayloadLength) {
+    if (maxCombinedPayloadLength > 0 && payload != null && payload.length() <= maxCombinedPayloadLength) {
+      return COMBINED;
+    }
+    return MULTI_AGENT;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.domain;
+
+import java.util.Map;
+
+/**
+ * A validation whose response is streamed; {@code validator} is the component id of the agent whose
+ * prompt is used.
+ */
+public record VerdictRequest(String validator, String content, String language, Map<String, String> metadata) {}
\ No newline at end of file
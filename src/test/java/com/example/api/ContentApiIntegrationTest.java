@@ -7,6 +7,7 @@ import akka.javasdk.testkit.TestKitSupport;
 import akka.javasdk.testkit.TestModelProvider;
 import com.example.application.ContentStatusView;
 import com.example.application.agents.*;
+import com.example.application.warmup.WarmUp;
 import com.example.domain.*;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeAll;
@@ -132,6 +133,27 @@ public class ContentApiIntegrationTest extends TestKitSupport {
      assertThat(pushed.getPayload().payload()).isEqualTo("Hello world content");
   }
 
+  @Test
+  public void shouldAcceptSubmissionAsynchronouslyWhenPreferred() {
+    setupValidationMocks();
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.95, "All checks passed")));
+
+    var contentId = UUID.randomUUID().toString();
+    var submitResponse = httpClient
+        .POST("/content")
+        .addHeader("Prefer", "respond-async")
+        .withRequestBody(new ContentRequest(contentId, "Hello async content", Map.of("type", "article")))
+        .responseBodyAs(ContentEndpoint.SubmitResponse.class)
+        .invoke();
+    assertThat(submitResponse.status().intValue()).isEqualTo(202);
+    assertThat(submitResponse.httpResponse().getHeader("Location").get().value())
+        .isEqualTo("/content/" + contentId + "/status");
+
+    awaitHttpStatus(contentId, "COMPLETED");
+    contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+  }
+
   @Test
   public void shouldPauseForReviewWhenAggregationConfidenceIsLow() {
     setupValidationMocks();
@@ -176,4 +198,82 @@ public class ContentApiIntegrationTest extends TestKitSupport {
      assertThat(pushed.getPayload().target()).isEqualTo("channel-a");
      assertThat(pushed.getPayload().payload()).isEqualTo("Uncertain content");
   }
+
+  @Test
+  public void shouldLeaseReviewsAndApplyBulkDecisions() {
+    setupValidationMocks();
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.7, "Low confidence, needs human review")));
+
+    var urgentId = UUID.randomUUID().toString();
+    var normalId = UUID.randomUUID().toString();
+    httpClient.POST("/content")
+        .withRequestBody(new ContentRequest(urgentId, "Urgent content", Map.of("priority", "100")))
+        .invoke();
+    httpClient.POST("/content")
+        .withRequestBody(new ContentRequest(normalId, "Normal content", Map.of("priority", "50")))
+        .invoke();
+    awaitViewEntry(urgentId, "AWAITING_REVIEW");
+    awaitViewEntry(normalId, "AWAITING_REVIEW");
+
+    var first = httpClient.POST("/reviews/claim")
+        .withRequestBody(new ReviewEndpoint.ClaimRequest("reviewer-a", 1, "priority"))
+        .responseBodyAs(ReviewEndpoint.ClaimResponse.class)
+        .invoke()
+        .body();
+    assertThat(first.claimed()).extracting(c -> c.entry().contentId()).containsExactly(urgentId);
+
+    var second = httpClient.POST("/reviews/claim")
+        .withRequestBody(new ReviewEndpoint.ClaimRequest("reviewer-b", 1, "priority"))
+        .responseBodyAs(ReviewEndpoint.ClaimResponse.class)
+        .invoke()
+        .body();
+    assertThat(second.claimed()).extracting(c -> c.entry().contentId()).containsExactly(normalId);
+
+    var stolen = httpClient.POST("/reviews/" + urgentId + "/decision")
+        .withRequestBody(new ReviewDecision(ReviewDecisionType.APPROVE, "reviewer-b", "Not my item"))
+        .invoke();
+    assertThat(stolen.status().isSuccess()).isFalse();
+
+    var stats = httpClient.GET("/reviews/queue/stats")
+        .responseBodyAs(ReviewEndpoint.QueueStats.class)
+        .invoke()
+        .body();
+    assertThat(stats.depth()).isGreaterThanOrEqualTo(2);
+
+    var bulk = httpClient.POST("/reviews/decisions")
+        .withRequestBody(new ReviewEndpoint.BulkDecisionRequest(List.of(
+            new ReviewEndpoint.BulkDecisionItem(urgentId, new ReviewDecision(ReviewDecisionType.APPROVE, "reviewer-a", "ok")),
+            new ReviewEndpoint.BulkDecisionItem(normalId, new ReviewDecision(ReviewDecisionType.APPROVE, "reviewer-b", "ok")),
+            new ReviewEndpoint.BulkDecisionItem("unknown-" + UUID.randomUUID(), new ReviewDecision(ReviewDecisionType.APPROVE, "reviewer-b", "ok")))))
+        .responseBodyAs(ReviewEndpoint.BulkDecisionResponse.class)
+        .invoke()
+        .body();
+    assertThat(bulk.applied()).isEqualTo(2);
+    assertThat(bulk.failed()).isEqualTo(1);
+    assertThat(bulk.results().get(2).applied()).isFalse();
+
+    awaitHttpStatus(urgentId, "COMPLETED");
+    awaitHttpStatus(normalId, "COMPLETED");
+    contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+    contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+  }
+
+  @Test
+  public void shouldReportReadyWithWarmUpTimings() {
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var response = httpClient.GET("/ops/ready")
+              .responseBodyAs(WarmUp.Report.class)
+              .invoke();
+          assertThat(response.status().isSuccess()).isTrue();
+          assertThat(response.body().ready()).isTrue();
+          assertThat(response.body().tasks())
+              .extracting(WarmUp.TaskTiming::task)
+              .containsExactly("json-types", "pii-guard");
+          assertThat(response.body().tasks()).allSatisfy(task -> assertThat(task.error()).isNull());
+        });
+  }
 }
\ No newline at end of file
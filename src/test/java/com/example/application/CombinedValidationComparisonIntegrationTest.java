@@ -0,0 +1,147 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import akka.javasdk.testkit.TestKit;
+import akka.javasdk.testkit.TestKitSupport;
+import akka.javasdk.testkit.TestModelProvider;
+import com.example.application.agents.*;
+import com.example.domain.*;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same content through the multi-agent path and the combined single-call path and checks
+ * that both record equivalent validation results and reach the same status.
+ */
+public class CombinedValidationComparisonIntegrationTest extends TestKitSupport {
+
+  private final TestModelProvider languageModel = new TestModelProvider();
+  private final TestModelProvider nlpModel = new TestModelProvider();
+  private final TestModelProvider textModel = new TestModelProvider();
+  private final TestModelProvider logoModel = new TestModelProvider();
+  private final TestModelProvider enterpriseModel = new TestModelProvider();
+  private final TestModelProvider combinedModel = new TestModelProvider();
+  private final TestModelProvider aggregatorModel = new TestModelProvider();
+  private final TestModelProvider routerModel = new TestModelProvider();
+
+  @Override
+  protected TestKit.Settings testKitSettings() {
+    return TestKit.Settings.DEFAULT
+        .withAdditionalConfig("akka.javasdk.agent.openai.api-key = n/a")
+        .withModelProvider(LanguageDetectionAgent.class, languageModel)
+        .withModelProvider(LocalizedNLPAgent.class, nlpModel)
+        .withModelProvider(TextLanguageValidationAgent.class, textModel)
+        .withModelProvider(LogoValidationAgent.class, logoModel)
+        .withModelProvider(EnterpriseValidationAgent.class, enterpriseModel)
+        .withModelProvider(CombinedValidationAgent.class, combinedModel)
+        .withModelProvider(ValidationAggregatorAgent.class, aggregatorModel)
+        .withModelProvider(RoutingComplianceAgent.class, routerModel);
+  }
+
+  private void setupMocks(NLPResult nlp, ValidationResult text, LogoResult logo, EnterpriseResult enterprise,
+                          AggregatedResult aggregated) {
+    languageModel.fixedResponse(JsonSupport.encodeToString(new DetectionResult("en", 0.99)));
+    nlpModel.fixedResponse(JsonSupport.encodeToString(nlp));
+    textModel.fixedResponse(JsonSupport.encodeToString(text));
+    logoModel.fixedResponse(JsonSupport.encodeToString(logo));
+    enterpriseModel.fixedResponse(JsonSupport.encodeToString(enterprise));
+    combinedModel.fixedResponse(JsonSupport.encodeToString(new CombinedValidationResult(nlp, text, logo, enterprise)));
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(aggregated));
+    routerModel.fixedResponse(JsonSupport.encodeToString(new RoutingDecision("channel-a", true, "Compliant")));
+  }
+
+  private ContentStatusView.StatusEntry submitAndAwait(String payload, String mode, String expectedStatus) {
+    var contentId = UUID.randomUUID().toString();
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::start)
+        .invoke(new ContentRequest(contentId, payload, Map.of("type", "sms", ValidationMode.METADATA_KEY, mode)));
+
+    var ref = new ContentStatusView.StatusEntry[1];
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var entry = componentClient.forView()
+              .method(ContentStatusView::getAll)
+              .invoke()
+              .entries()
+              .stream()
+              .filter(e -> e.contentId().equals(contentId) && e.status().equals(expectedStatus))
+              .findFirst();
+          assertThat(entry).isPresent();
+          ref[0] = entry.get();
+        });
+    return ref[0];
+  }
+
+  @Test
+  public void shouldProduceSameResultsAsMultiAgentPathWhenAllPass() {
+    setupMocks(
+        new NLPResult("billing", true, List.of()),
+        new ValidationResult("unused", true, List.of()),
+        new LogoResult(true, List.of()),
+        new EnterpriseResult(true, List.of()),
+        new AggregatedResult(true, 0.95, "All checks passed"));
+
+    var payload = "Your bill is ready.";
+    var multi = submitAndAwait(payload, "multi-agent", "COMPLETED");
+    var combined = submitAndAwait(payload, "combined", "COMPLETED");
+
+    assertThat(combined.results()).hasSize(4);
+    assertThat(combined.results()).containsExactlyElementsOf(multi.results());
+    assertThat(combined.language()).isEqualTo(multi.language());
+    assertThat(combined.routingTarget()).isEqualTo(multi.routingTarget());
+  }
+
+  @Test
+  public void shouldProduceSameResultsAsMultiAgentPathWhenValidatorsFail() {
+    setupMocks(
+        new NLPResult("unknown", false, List.of("No clear call reason")),
+        new ValidationResult("unused", true, List.of()),
+        new LogoResult(false, List.of("Logo reference missing")),
+        new EnterpriseResult(false, List.of("Guarantee claim")),
+        new AggregatedResult(false, 0.4, "Multiple validators failed"));
+
+    var payload = "100% guaranteed, act now.";
+    var multi = submitAndAwait(payload, "multi-agent", "AWAITING_REVIEW");
+    var combined = submitAndAwait(payload, "combined", "AWAITING_REVIEW");
+
+    assertThat(combined.results()).containsExactlyElementsOf(multi.results());
+    assertThat(combined.aggregatedResult()).isEqualTo(multi.aggregatedResult());
+  }
+
+  @Test
+  public void shouldFailTheSectionMissingFromTheCombinedResponse() {
+    setupMocks(
+        new NLPResult("billing", true, List.of()),
+        new ValidationResult("unused", true, List.of()),
+        new LogoResult(true, List.of()),
+        new EnterpriseResult(true, List.of()),
+        new AggregatedResult(true, 0.95, "All checks passed"));
+    combinedModel.fixedResponse(JsonSupport.encodeToString(new CombinedValidationResult(
+        new NLPResult("billing", true, List.of()),
+        new ValidationResult("unused", true, List.of()),
+        null,
+        new EnterpriseResult(true, List.of()))));
+
+    var payload = "Your bill is ready.";
+    var multi = submitAndAwait(payload, "multi-agent", "COMPLETED");
+    var combined = submitAndAwait(payload, "combined", "COMPLETED");
+
+    assertThat(multi.results()).allMatch(ValidationResult::passed);
+    assertThat(combined.results()).hasSize(4);
+    assertThat(combined.results())
+        .filteredOn(r -> r.agentId().equals("logo-validation-agent"))
+        .containsExactly(new ValidationResult("logo-validation-agent", false, List.of("The combined response has no logo section")));
+    assertThat(combined.results())
+        .filteredOn(ValidationResult::passed)
+        .containsExactlyElementsOf(multi.results().stream().filter(r -> !r.agentId().equals("logo-validation-agent")).toList());
+  }
+}
\ No newline at end of file
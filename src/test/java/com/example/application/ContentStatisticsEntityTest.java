@@ -0,0 +1,108 @@
+package com.example.application;
+
+import akka.javasdk.testkit.EventSourcedTestKit;
+import com.example.domain.ContentStatistics;
+import com.example.domain.StatisticsEvent;
+import com.example.domain.StatisticsUpdate;
+import com.example.domain.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentStatisticsEntityTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T10:15:00Z");
+
+  private StatisticsUpdate update(String contentId, String status) {
+    return new StatisticsUpdate(contentId, status, null, null, List.of(), NOW, 0);
+  }
+
+  private StatisticsUpdate completed(String contentId) {
+    return completed(contentId, 0);
+  }
+
+  private StatisticsUpdate completed(String contentId, int resumes) {
+    return new StatisticsUpdate(contentId, "COMPLETED", "channel-a", "en",
+        List.of(new ValidationResult("localized-nlp-agent", true, List.of()),
+            new ValidationResult("logo-validation-agent", false, List.of("blurry logo"))),
+        NOW.plusSeconds(60), resumes);
+  }
+
+  @Test
+  public void shouldMoveItemBetweenStatuses() {
+    var testKit = EventSourcedTestKit.of("shard-0", ctx -> new ContentStatisticsEntity());
+
+    testKit.method(ContentStatisticsEntity::record).invoke(update("c-1", "DETECTING"));
+    testKit.method(ContentStatisticsEntity::record).invoke(update("c-2", "DETECTING"));
+    var result = testKit.method(ContentStatisticsEntity::record).invoke(update("c-1", "NLP"));
+
+    assertThat(result.getNextEventOfType(StatisticsEvent.ItemUpdated.class).previousStatus()).isEqualTo("DETECTING");
+    var statistics = testKit.method(ContentStatisticsEntity::getStatistics).invoke().getReply();
+    assertThat(statistics.byStatus()).containsEntry("DETECTING", 1L).containsEntry("NLP", 1L);
+    assertThat(statistics.hourly()).containsExactly(
+        new ContentStatistics.HourlyBucket(Instant.parse("2026-01-01T10:00:00Z"), 2, 0, 0));
+  }
+
+  @Test
+  public void shouldCountFinishedItemsOnce() {
+    var testKit = EventSourcedTestKit.of("shard-0", ctx -> new ContentStatisticsEntity());
+
+    testKit.method(ContentStatisticsEntity::record).invoke(update("c-1", "AGGREGATING"));
+    testKit.method(ContentStatisticsEntity::record).invoke(completed("c-1"));
+    var redelivered = testKit.method(ContentStatisticsEntity::record).invoke(completed("c-1"));
+
+    assertThat(redelivered.getAllEvents()).isEmpty();
+    var statistics = testKit.method(ContentStatisticsEntity::getStatistics).invoke().getReply();
+    assertThat(statistics.byStatus()).containsOnlyKeys("COMPLETED").containsEntry("COMPLETED", 1L);
+    assertThat(statistics.byRoutingTarget()).containsEntry("channel-a", 1L);
+    assertThat(statistics.byLanguage()).containsEntry("en", 1L);
+    assertThat(statistics.byValidator().get("logo-validation-agent"))
+        .isEqualTo(new ContentStatistics.ValidatorCounts(0, 1));
+    assertThat(testKit.getState().inFlight()).isEmpty();
+  }
+
+  @Test
+  public void shouldReopenResumedFailedItem() {
+    var testKit = EventSourcedTestKit.of("shard-0", ctx -> new ContentStatisticsEntity());
+    var nlp = List.of(new ValidationResult("localized-nlp-agent", true, List.of()));
+
+    testKit.method(ContentStatisticsEntity::record).invoke(update("c-1", "VALIDATING_TEXT"));
+    testKit.method(ContentStatisticsEntity::record).invoke(new StatisticsUpdate("c-1", "FAILED", null, "en", nlp, NOW, 0));
+    var stale = testKit.method(ContentStatisticsEntity::record).invoke(new StatisticsUpdate("c-1", "VALIDATING_TEXT", null, "en", nlp, NOW, 0));
+    var resumed = testKit.method(ContentStatisticsEntity::record).invoke(new StatisticsUpdate("c-1", "VALIDATING_TEXT", null, "en", nlp, NOW, 1));
+
+    assertThat(stale.getAllEvents()).isEmpty();
+    assertThat(resumed.getNextEventOfType(StatisticsEvent.ItemUpdated.class).previousStatus()).isEqualTo("FAILED");
+    var reopened = testKit.method(ContentStatisticsEntity::getStatistics).invoke().getReply();
+    assertThat(reopened.byStatus()).containsOnlyKeys("VALIDATING_TEXT");
+    assertThat(reopened.byLanguage()).isEmpty();
+
+    testKit.method(ContentStatisticsEntity::record).invoke(completed("c-1", 1));
+    var redelivered = testKit.method(ContentStatisticsEntity::record).invoke(completed("c-1", 1));
+
+    assertThat(redelivered.getAllEvents()).isEmpty();
+    var statistics = testKit.method(ContentStatisticsEntity::getStatistics).invoke().getReply();
+    assertThat(statistics.byStatus()).containsOnlyKeys("COMPLETED").containsEntry("COMPLETED", 1L);
+    assertThat(statistics.byLanguage()).containsEntry("en", 1L);
+    assertThat(statistics.byValidator().get("localized-nlp-agent"))
+        .isEqualTo(new ContentStatistics.ValidatorCounts(1, 0));
+    assertThat(statistics.hourly()).containsExactly(
+        new ContentStatistics.HourlyBucket(Instant.parse("2026-01-01T10:00:00Z"), 1, 1, 1));
+  }
+
+  @Test
+  public void shouldMergeShards() {
+    var a = new ContentStatistics(Map.of("COMPLETED", 2L), Map.of(), Map.of(), Map.of(),
+        List.of(new ContentStatistics.HourlyBucket(NOW, 1, 2, 0)));
+    var b = new ContentStatistics(Map.of("COMPLETED", 3L, "NLP", 1L), Map.of(), Map.of(), Map.of(),
+        List.of(new ContentStatistics.HourlyBucket(NOW, 4, 3, 1)));
+
+    var merged = a.merge(b);
+    assertThat(merged.byStatus()).containsEntry("COMPLETED", 5L).containsEntry("NLP", 1L);
+    assertThat(merged.hourly()).containsExactly(new ContentStatistics.HourlyBucket(NOW, 5, 5, 1));
+  }
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ import akka.javasdk.testkit.TestKit;
 import akka.javasdk.testkit.TestKitSupport;
 import akka.javasdk.testkit.TestModelProvider;
 import com.example.application.agents.*;
+import com.example.application.ingestion.IngestionMetrics;
 import com.example.domain.*;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeAll;
@@ -30,11 +31,13 @@ public class ContentValidationWorkflowIntegrationTest extends TestKitSupport {
   private final TestModelProvider routerModel = new TestModelProvider();
 
   private EventingTestKit.OutgoingMessages contentPushTopic;
+  private EventingTestKit.IncomingMessages contentInboundTopic;
 
   @BeforeAll
   public void beforeAll() {
     super.beforeAll();
     contentPushTopic = testKit.getTopicOutgoingMessages("content-push");
+    contentInboundTopic = testKit.getTopicIncomingMessages("content-inbound");
   }
 
   @Override
@@ -42,6 +45,7 @@ public class ContentValidationWorkflowIntegrationTest extends TestKitSupport {
     return TestKit.Settings.DEFAULT
         .withAdditionalConfig("akka.javasdk.agent.openai.api-key = n/a")
         .withTopicOutgoingMessages("content-push")
+        .withTopicIncomingMessages("content-inbound")
         .withAllComponentsEnabled()
         .withModelProvider(LanguageDetectionAgent.class, languageModel)
         .withModelProvider(LocalizedNLPAgent.class, nlpModel)
@@ -172,4 +176,132 @@ public class ContentValidationWorkflowIntegrationTest extends TestKitSupport {
      assertThat(pushed.getPayload().target()).isEqualTo("channel-a");
      assertThat(pushed.getPayload().payload()).isEqualTo("Uncertain content");
   }
+
+  @Test
+  public void shouldStartWorkflowOnceFromInboundTopic() {
+    setupValidationMocks();
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.95, "All checks passed")));
+
+    var contentId = UUID.randomUUID().toString();
+    var request = new ContentRequest(contentId, "Inbound content", Map.of("type", "article"));
+
+    contentInboundTopic.publish(request, contentId);
+    contentInboundTopic.publish(request, contentId);
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var status = componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke();
+          assertThat(status.status()).isEqualTo(ContentValidationStatus.COMPLETED);
+        });
+
+    var pushed = contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+    assertThat(pushed.getPayload().contentId()).isEqualTo(contentId);
+
+    Awaitility.await()
+        .atMost(5, SECONDS)
+        .untilAsserted(() -> {
+          var stats = httpClient.GET("/ops/ingestion")
+              .responseBodyAs(IngestionMetrics.Stats.class)
+              .invoke()
+              .body();
+          assertThat(stats.duplicates()).isGreaterThanOrEqualTo(1);
+          assertThat(stats.started()).isGreaterThanOrEqualTo(1);
+        });
+  }
+
+  @Test
+  public void shouldRunOnlyThePipelineSelectedByMetadata() {
+    setupValidationMocks();
+    languageModel.fixedResponse(JsonSupport.encodeToString(new DetectionResult("de", 0.99)));
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.95, "All checks passed")));
+
+    var contentId = UUID.randomUUID().toString();
+    var request = new ContentRequest(contentId, "Your code is 1234", Map.of("channel", "sms", "language", "en"));
+
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::start)
+        .invoke(request);
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var status = componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke();
+          assertThat(status.status()).isEqualTo(ContentValidationStatus.COMPLETED);
+          assertThat(status.language()).isEqualTo("en");
+          assertThat(status.pipeline().name()).isEqualTo("sms");
+        });
+
+    var results = componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::getResults)
+        .invoke();
+    assertThat(results.results()).extracting(ValidationResult::agentId)
+        .containsExactly("localized-nlp-agent", "text-language-validation-agent", "enterprise-validation-agent");
+
+    var pushed = contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+    assertThat(pushed.getPayload().contentId()).isEqualTo(contentId);
+  }
+
+  @Test
+  public void shouldResumeFailedWorkflowAtTheFailedStep() {
+    setupValidationMocks();
+    enterpriseModel.fixedResponse("not a verdict");
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.95, "All checks passed")));
+
+    var contentId = UUID.randomUUID().toString();
+    var request = new ContentRequest(contentId, "Outage content", Map.of("type", "article"));
+
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::start)
+        .invoke(request);
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(20, SECONDS)
+        .untilAsserted(() -> {
+          var status = componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke();
+          assertThat(status.status()).isEqualTo(ContentValidationStatus.FAILED);
+          assertThat(status.failureReason()).contains("validate-enterprise");
+        });
+
+    // steps that completed before the failure must not be called again
+    nlpModel.fixedResponse("not a verdict");
+    textModel.fixedResponse("not a verdict");
+    logoModel.fixedResponse("not a verdict");
+    enterpriseModel.fixedResponse(JsonSupport.encodeToString(new EnterpriseResult(true, List.of())));
+
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::resume)
+        .invoke();
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var status = componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke();
+          assertThat(status.status()).isEqualTo(ContentValidationStatus.COMPLETED);
+          assertThat(status.failureReason()).isNull();
+        });
+
+    var results = componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::getResults)
+        .invoke();
+    assertThat(results.results()).hasSize(4);
+
+    var pushed = contentPushTopic.expectOneTyped(PushRequest.class, ofSeconds(5));
+    assertThat(pushed.getPayload().contentId()).isEqualTo(contentId);
+  }
 }
\ No newline at end of file
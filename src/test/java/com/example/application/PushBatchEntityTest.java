@@ -0,0 +1,101 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.testkit.EventSourcedTestKit;
+import com.example.domain.PushBatchEvent;
+import com.example.domain.PushReference;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PushBatchEntityTest {
+
+  private static final Duration MAX_DELAY = Duration.ofSeconds(5);
+
+  private PushReference reference(String contentId) {
+    return PushReference.of(contentId, "channel-a", "payload of " + contentId);
+  }
+
+  @Test
+  public void shouldSealBatchWhenFull() {
+    var testKit = EventSourcedTestKit.of("channel-a", ctx -> new PushBatchEntity());
+
+    assertThat(testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 3, MAX_DELAY)).getReply().pending())
+        .isEqualTo(1);
+    assertThat(testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-2"), 3, MAX_DELAY)).getReply().pending())
+        .isEqualTo(2);
+
+    var result = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-3"), 3, MAX_DELAY));
+    assertThat(result.getReply()).isEqualTo(new PushBatchEntity.Added(0, null));
+    result.getNextEventOfType(PushBatchEvent.ReferenceAdded.class);
+    var sealed = result.getNextEventOfType(PushBatchEvent.BatchSealed.class);
+    assertThat(sealed.sequence()).isEqualTo(1);
+    assertThat(sealed.items()).extracting(PushReference::contentId).containsExactly("c-1", "c-2", "c-3");
+    assertThat(testKit.getState().pending()).isEmpty();
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateReference() {
+    var testKit = EventSourcedTestKit.of("channel-a", ctx -> new PushBatchEntity());
+
+    testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 10, MAX_DELAY));
+    var result = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 10, MAX_DELAY));
+
+    assertThat(result.getReply().pending()).isEqualTo(1);
+    assertThat(result.getAllEvents()).isEmpty();
+  }
+
+  @Test
+  public void shouldIgnoreReferenceRedeliveredAfterItsBatchWasSealed() {
+    var testKit = EventSourcedTestKit.of("channel-a", ctx -> new PushBatchEntity());
+
+    testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 2, MAX_DELAY));
+    testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-2"), 2, MAX_DELAY));
+    var result = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 2, MAX_DELAY));
+
+    assertThat(result.getReply()).isEqualTo(new PushBatchEntity.Added(0, null));
+    assertThat(result.getAllEvents()).isEmpty();
+    assertThat(testKit.getState().pending()).isEmpty();
+    assertThat(testKit.getState().sequence()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldOweFlushTimerForOpeningAndRedeliveredPendingReferences() {
+    var testKit = EventSourcedTestKit.of("channel-a", ctx -> new PushBatchEntity());
+
+    var opening = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 10, MAX_DELAY));
+    assertThat(opening.getReply()).isEqualTo(new PushBatchEntity.Added(1, MAX_DELAY));
+
+    var next = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-2"), 10, MAX_DELAY));
+    assertThat(next.getReply()).isEqualTo(new PushBatchEntity.Added(2, null));
+
+    var redelivered = testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 10, MAX_DELAY));
+    assertThat(redelivered.getReply().flushAfter()).isNotNull().isLessThanOrEqualTo(MAX_DELAY);
+    assertThat(redelivered.getAllEvents()).isEmpty();
+  }
+
+  @Test
+  public void shouldFlushPartialBatch() {
+    var testKit = EventSourcedTestKit.of("channel-a", ctx -> new PushBatchEntity());
+
+    testKit.method(PushBatchEntity::add).invoke(new PushBatchEntity.AddReference(reference("c-1"), 10, MAX_DELAY));
+    var result = testKit.method(PushBatchEntity::flush).invoke();
+
+    assertThat(result.getReply()).isEqualTo(Done.getInstance());
+    var sealed = result.getNextEventOfType(PushBatchEvent.BatchSealed.class);
+    assertThat(sealed.items()).hasSize(1);
+    assertThat(testKit.getState().sequence()).isEqualTo(1);
+
+    assertThat(testKit.method(PushBatchEntity::flush).invoke().getAllEvents()).isEmpty();
+  }
+
+  @Test
+  public void shouldDescribePayloadWithoutCarryingIt() {
+    var ref = PushReference.of("c-1", "channel-a", "Hello world content");
+    assertThat(ref.payloadSize()).isEqualTo(19);
+    assertThat(ref.payloadHash()).hasSize(64);
+    assertThat(ref.payloadHash()).isEqualTo(PushReference.of("c-2", "channel-b", "Hello world content").payloadHash());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import akka.javasdk.testkit.TestKit;
+import akka.javasdk.testkit.TestKitSupport;
+import akka.javasdk.testkit.TestModelProvider;
+import com.example.application.agents.*;
+import com.example.domain.*;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplayJobIntegrationTest extends TestKitSupport {
+
+  private final TestModelProvider languageModel = new TestModelProvider();
+  private final TestModelProvider nlpModel = new TestModelProvider();
+  private final TestModelProvider textModel = new TestModelProvider();
+  private final TestModelProvider logoModel = new TestModelProvider();
+  private final TestModelProvider enterpriseModel = new TestModelProvider();
+  private final TestModelProvider aggregatorModel = new TestModelProvider();
+  private final TestModelProvider routerModel = new TestModelProvider();
+
+  @Override
+  protected TestKit.Settings testKitSettings() {
+    return TestKit.Settings.DEFAULT
+        .withAdditionalConfig("""
+            akka.javasdk.agent.openai.api-key = n/a
+            content-validation.replay.tick-interval = 200ms
+            """)
+        .withModelProvider(LanguageDetectionAgent.class, languageModel)
+        .withModelProvider(LocalizedNLPAgent.class, nlpModel)
+        .withModelProvider(TextLanguageValidationAgent.class, textModel)
+        .withModelProvider(LogoValidationAgent.class, logoModel)
+        .withModelProvider(EnterpriseValidationAgent.class, enterpriseModel)
+        .withModelProvider(ValidationAggregatorAgent.class, aggregatorModel)
+        .withModelProvider(RoutingComplianceAgent.class, routerModel);
+  }
+
+  @Test
+  public void shouldReportChangedVerdictsWithoutTouchingOriginals() {
+    languageModel.fixedResponse(JsonSupport.encodeToString(new DetectionResult("en", 0.99)));
+    nlpModel.fixedResponse(JsonSupport.encodeToString(new NLPResult("billing", true, List.of())));
+    textModel.fixedResponse(JsonSupport.encodeToString(new ValidationResult("unused", true, List.of())));
+    logoModel.fixedResponse(JsonSupport.encodeToString(new LogoResult(true, List.of())));
+    enterpriseModel.fixedResponse(JsonSupport.encodeToString(new EnterpriseResult(true, List.of())));
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(new AggregatedResult(true, 0.95, "All checks passed")));
+    routerModel.fixedResponse(JsonSupport.encodeToString(new RoutingDecision("channel-a", true, "Compliant")));
+
+    var contentId = UUID.randomUUID().toString();
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::start)
+        .invoke(new ContentRequest(contentId, "Replayed content", Map.of()));
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var entry = componentClient.forView()
+              .method(ContentStatusView::getAll)
+              .invoke()
+              .entries()
+              .stream()
+              .filter(e -> e.contentId().equals(contentId))
+              .findFirst();
+          assertThat(entry).isPresent();
+          assertThat(entry.get().status()).isEqualTo("COMPLETED");
+        });
+
+    // the enterprise rules changed since the item was validated
+    enterpriseModel.fixedResponse(JsonSupport.encodeToString(new EnterpriseResult(false, List.of("New rule violated"))));
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(new AggregatedResult(false, 0.9, "Enterprise rule violated")));
+
+    var jobId = UUID.randomUUID().toString();
+    componentClient.forWorkflow(jobId)
+        .method(ReplayJobWorkflow::start)
+        .invoke(new ReplayJobWorkflow.StartReplay(new ReplayCriteria("COMPLETED", null, null, "channel-a", 0), 2, 5));
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(20, SECONDS)
+        .untilAsserted(() -> {
+          var report = componentClient.forWorkflow(jobId)
+              .method(ReplayJobWorkflow::getReport)
+              .invoke();
+          assertThat(report.status()).isEqualTo(ReplayJobStatus.COMPLETED);
+          assertThat(report.completed()).isEqualTo(report.selected());
+          var diff = report.diffs().stream().filter(d -> d.contentId().equals(contentId)).findFirst();
+          assertThat(diff).isPresent();
+          assertThat(diff.get().originalVerdict()).isEqualTo(ReplayVerdict.PASSED);
+          assertThat(diff.get().replayVerdict()).isEqualTo(ReplayVerdict.NEEDS_REVIEW);
+          assertThat(diff.get().changedValidators()).containsExactly("enterprise-validation-agent");
+        });
+
+    var original = componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::getStatus)
+        .invoke();
+    assertThat(original.status()).isEqualTo(ContentValidationStatus.COMPLETED);
+    assertThat(original.aggregatedResult().overallPassed()).isTrue();
+    var entries = componentClient.forView()
+        .method(ContentStatusView::getAll)
+        .invoke()
+        .entries()
+        .stream()
+        .filter(e -> e.contentId().equals(contentId))
+        .toList();
+    assertThat(entries).hasSize(1);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import akka.javasdk.testkit.TestKit;
+import akka.javasdk.testkit.TestKitSupport;
+import akka.javasdk.testkit.TestModelProvider;
+import com.example.application.agents.*;
+import com.example.domain.*;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReviewExpiryIntegrationTest extends TestKitSupport {
+
+  private final TestModelProvider languageModel = new TestModelProvider();
+  private final TestModelProvider nlpModel = new TestModelProvider();
+  private final TestModelProvider textModel = new TestModelProvider();
+  private final TestModelProvider logoModel = new TestModelProvider();
+  private final TestModelProvider enterpriseModel = new TestModelProvider();
+  private final TestModelProvider aggregatorModel = new TestModelProvider();
+  private final TestModelProvider routerModel = new TestModelProvider();
+
+  @Override
+  protected TestKit.Settings testKitSettings() {
+    return TestKit.Settings.DEFAULT
+        .withAdditionalConfig("""
+            akka.javasdk.agent.openai.api-key = n/a
+            content-validation.review-timeout.timeout = 1s
+            content-validation.review-timeout.action = escalate
+            content-validation.review-timeout.max-escalations = 1
+            content-validation.retention.failed = 2s
+            """)
+        .withModelProvider(LanguageDetectionAgent.class, languageModel)
+        .withModelProvider(LocalizedNLPAgent.class, nlpModel)
+        .withModelProvider(TextLanguageValidationAgent.class, textModel)
+        .withModelProvider(LogoValidationAgent.class, logoModel)
+        .withModelProvider(EnterpriseValidationAgent.class, enterpriseModel)
+        .withModelProvider(ValidationAggregatorAgent.class, aggregatorModel)
+        .withModelProvider(RoutingComplianceAgent.class, routerModel);
+  }
+
+  @Test
+  public void shouldEscalateThenRejectStaleReviewAndDeleteAfterRetention() {
+    languageModel.fixedResponse(JsonSupport.encodeToString(new DetectionResult("en", 0.99)));
+    nlpModel.fixedResponse(JsonSupport.encodeToString(new NLPResult("billing", true, List.of())));
+    textModel.fixedResponse(JsonSupport.encodeToString(new ValidationResult("unused", true, List.of())));
+    logoModel.fixedResponse(JsonSupport.encodeToString(new LogoResult(true, List.of())));
+    enterpriseModel.fixedResponse(JsonSupport.encodeToString(new EnterpriseResult(true, List.of())));
+    aggregatorModel.fixedResponse(JsonSupport.encodeToString(
+        new AggregatedResult(true, 0.7, "Low confidence, needs human review")));
+
+    var contentId = UUID.randomUUID().toString();
+    componentClient.forWorkflow(contentId)
+        .method(ContentValidationWorkflow::start)
+        .invoke(new ContentRequest(contentId, "Uncertain content", Map.of()));
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var entry = componentClient.forView()
+              .method(ContentStatusView::getPendingReviews)
+              .invoke()
+              .entries()
+              .stream()
+              .filter(e -> e.contentId().equals(contentId))
+              .findFirst();
+          assertThat(entry).isPresent();
+          assertThat(entry.get().escalations()).isEqualTo(1);
+        });
+
+    Awaitility.await()
+        .ignoreExceptions()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          var status = componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke();
+          assertThat(status.status()).isEqualTo(ContentValidationStatus.FAILED);
+          assertThat(status.failureReason()).startsWith("Review timed out");
+        });
+
+    Awaitility.await()
+        .atMost(10, SECONDS)
+        .untilAsserted(() -> {
+          assertThatThrownBy(() -> componentClient.forWorkflow(contentId)
+              .method(ContentValidationWorkflow::getStatus)
+              .invoke());
+          assertThat(componentClient.forView()
+              .method(ContentStatusView::getAll)
+              .invoke()
+              .entries())
+              .noneMatch(e -> e.contentId().equals(contentId));
+        });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.application.agents;
+
+import com.example.domain.AggregatedResult;
+import com.example.domain.DetectionResult;
+import com.example.domain.LogoResult;
+import com.example.domain.NLPResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseRepairTest {
+
+  @Test
+  public void shouldDropCodeFencesAndTrailingText() {
+    var raw = "```json\n{\"language\": \"en\", \"confidence\": 0.9,}\n```\nLet me know if you need anything else.";
+
+    assertThat(ResponseRepair.parse(raw, DetectionResult.class, "language"))
+        .contains(new DetectionResult("en", 0.9));
+  }
+
+  @Test
+  public void shouldAcceptQuotedScalarsAndSingleQuotes() {
+    var raw = "Here is the result: {'passed': 'true', issues: [\"brace } in text\"]}";
+
+    assertThat(ResponseRepair.parse(raw, NLPResult.class))
+        .contains(new NLPResult("", true, List.of("brace } in text")));
+  }
+
+  @Test
+  public void shouldDefaultMissingFieldsToReview() {
+    assertThat(ResponseRepair.parse("{\"overallPassed\": true}", AggregatedResult.class))
+        .hasValueSatisfying(result -> assertThat(result.needsReview()).isTrue());
+    assertThat(ResponseRepair.parse("{\"findings\": [\"blurry\"]}", LogoResult.class))
+        .contains(new LogoResult(false, List.of("blurry")));
+  }
+
+  @Test
+  public void shouldNotRepairWithoutRequiredFields() {
+    assertThat(ResponseRepair.parse("{\"confidence\": 0.9}", DetectionResult.class, "language")).isEmpty();
+    assertThat(ResponseRepair.parse("{\"verdict\": \"ok\"}", LogoResult.class)).isEmpty();
+    assertThat(ResponseRepair.parse("{\"passed\": true", LogoResult.class)).isEmpty();
+    assertThat(ResponseRepair.parse("I cannot answer that.", LogoResult.class)).isEmpty();
+  }
+}
\ No newline at end of file
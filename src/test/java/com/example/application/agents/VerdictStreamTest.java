@@ -0,0 +1,57 @@
+package com.example.application.agents;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerdictStreamTest {
+
+  /**
+   * Feeds the tokens to a reader and returns how many it took to decide the verdict, or -1.
+   */
+  private int tokensUntilDecided(VerdictStream.Reader reader, List<String> tokens) {
+    for (int i = 0; i < tokens.size(); i++) {
+      if (reader.accept(tokens.get(i))) return i + 1;
+    }
+    return -1;
+  }
+
+  @Test
+  public void shouldDecideAPassAsSoonAsItIsStreamed() {
+    var reader = new VerdictStream.Reader(true);
+
+    var tokens = tokensUntilDecided(reader, List.of("{\"", "passed", "\": ", "true", ", \"issues\": [", "]}"));
+
+    assertThat(tokens).isEqualTo(4);
+    assertThat(reader.verdict()).isEqualTo(new VerdictStream.Verdict(true, List.of()));
+  }
+
+  @Test
+  public void shouldReadAFailureUntilItsIssuesAreClosed() {
+    var reader = new VerdictStream.Reader(true);
+
+    var tokens = tokensUntilDecided(reader,
+        List.of("{\"passed\": fal", "se, \"issues\": [\"Uses ", "\\\"free]\\\"\", \"No greeting\"", "], \"callReason\": \"billing\"}"));
+
+    assertThat(tokens).isEqualTo(4);
+    assertThat(reader.verdict()).isEqualTo(new VerdictStream.Verdict(false, List.of("Uses \"free]\"", "No greeting")));
+  }
+
+  @Test
+  public void shouldWaitForTheIssuesOfAPassWhenConfigured() {
+    var reader = new VerdictStream.Reader(false);
+
+    assertThat(tokensUntilDecided(reader, List.of("{\"passed\": true", ", \"issues\": [\"Minor typo\"]}"))).isEqualTo(2);
+    assertThat(reader.verdict()).isEqualTo(new VerdictStream.Verdict(true, List.of("Minor typo")));
+  }
+
+  @Test
+  public void shouldHaveNoVerdictWithoutPassed() {
+    var reader = new VerdictStream.Reader(true);
+
+    assertThat(tokensUntilDecided(reader, List.of("I cannot ", "validate this."))).isEqualTo(-1);
+    assertThat(reader.verdict()).isNull();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.application.calibration;
+
+import akka.javasdk.testkit.EventSourcedTestKit;
+import com.example.domain.CalibrationEvent;
+import com.example.domain.CalibrationSample;
+import com.example.domain.CalibrationSample.Outcome;
+import com.example.domain.CalibrationState;
+import com.example.domain.CalibrationTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReviewCalibrationEntityTest {
+
+  private static final CalibrationTarget TARGET = new CalibrationTarget(0.95, 20, 0.5);
+
+  private final AtomicInteger ids = new AtomicInteger();
+
+  private void record(EventSourcedTestKit<CalibrationState, CalibrationEvent, ReviewCalibrationEntity> testKit, int count, double confidence, Outcome outcome) {
+    for (int i = 0; i < count; i++) {
+      testKit.method(ReviewCalibrationEntity::record)
+          .invoke(new CalibrationSample("c-" + ids.incrementAndGet(), confidence, outcome));
+    }
+  }
+
+  @Test
+  public void shouldSuggestLowestThresholdMeetingTargetPrecision() {
+    var testKit = EventSourcedTestKit.of("default:article", ctx -> new ReviewCalibrationEntity());
+
+    record(testKit, 30, 0.77, Outcome.APPROVED);
+    record(testKit, 20, 0.72, Outcome.APPROVED);
+    record(testKit, 1, 0.72, Outcome.CHANGED);
+    record(testKit, 10, 0.66, Outcome.APPROVED);
+    record(testKit, 10, 0.66, Outcome.CHANGED);
+    record(testKit, 29, 0.3, Outcome.REVIEWED_OTHER);
+    record(testKit, 40, 0.9, Outcome.AUTO_PASSED);
+
+    var report = testKit.method(ReviewCalibrationEntity::getReport).invoke(TARGET).getReply();
+
+    assertThat(report.currentThreshold()).isEqualTo(0.8);
+    assertThat(report.suggestedThreshold()).isEqualTo(0.7);
+    assertThat(report.samplesInRange()).isEqualTo(51);
+    assertThat(report.expectedPrecision()).isEqualTo(50.0 / 51);
+    assertThat(report.reviewed()).isEqualTo(100);
+    assertThat(report.autoPassed()).isEqualTo(40);
+    assertThat(report.expectedReviewReduction()).isEqualTo(0.51);
+  }
+
+  @Test
+  public void shouldKeepThresholdUntilEnoughReviews() {
+    var testKit = EventSourcedTestKit.of("default:article", ctx -> new ReviewCalibrationEntity());
+
+    record(testKit, 19, 0.78, Outcome.APPROVED);
+
+    var report = testKit.method(ReviewCalibrationEntity::getReport).invoke(TARGET).getReply();
+    assertThat(report.suggestedThreshold()).isEqualTo(0.8);
+    assertThat(report.expectedReviewReduction()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void shouldRecordRedeliveredItemOnce() {
+    var testKit = EventSourcedTestKit.of("default:article", ctx -> new ReviewCalibrationEntity());
+
+    var sample = new CalibrationSample("c-1", 0.75, Outcome.APPROVED);
+    testKit.method(ReviewCalibrationEntity::record).invoke(sample);
+    var redelivered = testKit.method(ReviewCalibrationEntity::record).invoke(sample);
+
+    assertThat(redelivered.getAllEvents()).isEmpty();
+    assertThat(testKit.getState().buckets().get(15).approved()).isEqualTo(1);
+  }
+}
\ No newline at end of file
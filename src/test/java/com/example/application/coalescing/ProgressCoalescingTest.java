@@ -0,0 +1,80 @@
+package com.example.application.coalescing;
+
+import com.example.domain.ContentRequest;
+import com.example.domain.ContentValidationState;
+import com.example.domain.ContentValidationStatus;
+import com.example.domain.Preparation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.domain.ContentValidationStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProgressCoalescingTest {
+
+  private static final List<ContentValidationStatus> PASSED = List.of(
+      DETECTING, NLP, VALIDATING_TEXT, VALIDATING_LOGO, VALIDATING_ENTERPRISE, AGGREGATING, ROUTING, COMPLETED);
+
+  private static final List<ContentValidationStatus> REVIEWED = List.of(
+      DETECTING, NLP, VALIDATING_TEXT, VALIDATING_LOGO, VALIDATING_ENTERPRISE, AGGREGATING,
+      AWAITING_REVIEW, AWAITING_REVIEW, ROUTING, COMPLETED);
+
+  private static ContentValidationState state(ContentValidationStatus status, boolean coalesceProgress) {
+    return ContentValidationState.initial(new ContentRequest("c-1", "Hello", Map.of()), Instant.EPOCH)
+        .withPreparation(Preparation.NONE.withCoalesceProgress(coalesceProgress))
+        .withStatus(status);
+  }
+
+  /**
+   * The statuses a view row goes through when the updates are applied as a projection would.
+   */
+  private List<ContentValidationStatus> rowWrites(List<ContentValidationStatus> updates, boolean coalesceProgress) {
+    var writes = new ArrayList<ContentValidationStatus>();
+    String row = null;
+    for (var status : updates) {
+      if (ProgressCoalescing.skips(state(status, coalesceProgress), row)) continue;
+      writes.add(status);
+      row = status.name();
+    }
+    return writes;
+  }
+
+  @Test
+  public void shouldApplyEveryUpdateWhenDisabled() {
+    assertThat(rowWrites(PASSED, false)).isEqualTo(PASSED);
+  }
+
+  @Test
+  public void shouldWriteStartAndFinishOfPassedItem() {
+    assertThat(rowWrites(PASSED, true)).containsExactly(DETECTING, COMPLETED);
+  }
+
+  @Test
+  public void shouldApplyLeavingReview() {
+    assertThat(rowWrites(REVIEWED, true))
+        .containsExactly(DETECTING, AWAITING_REVIEW, AWAITING_REVIEW, ROUTING, COMPLETED);
+  }
+
+  @Test
+  public void shouldApplyResumeOfFailedItem() {
+    assertThat(rowWrites(List.of(DETECTING, NLP, FAILED, VALIDATING_TEXT, VALIDATING_LOGO, AGGREGATING, ROUTING, COMPLETED), true))
+        .containsExactly(DETECTING, FAILED, VALIDATING_TEXT, COMPLETED);
+  }
+
+  @Test
+  public void shouldCountPerInstanceAndFollowTheItemsSetting() {
+    var coalescing = new ProgressCoalescing(false);
+
+    for (var status : PASSED) coalescing.skip("started-coalesced", state(status, true));
+    coalescing.skip("started-before", state(NLP, false));
+
+    assertThat(coalescing.stats()).containsExactly(
+        new ProgressCoalescing.HandlerStats("started-before", 1, 0),
+        new ProgressCoalescing.HandlerStats("started-coalesced", 2, 6));
+    assertThat(new ProgressCoalescing(true).stats()).isEmpty();
+  }
+}
\ No newline at end of file
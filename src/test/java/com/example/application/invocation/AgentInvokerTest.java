@@ -0,0 +1,147 @@
+package com.example.application.invocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AgentInvokerTest {
+
+  private static HedgingSettings hedging(double maxHedgeRatio) {
+    return new HedgingSettings(true, 0.9, maxHedgeRatio, 5, 50, Duration.ofMillis(10));
+  }
+
+  private static final CircuitBreakerSettings NO_BREAKERS =
+      new CircuitBreakerSettings(false, 5, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(1), Duration.ofSeconds(30), 5);
+
+  private static <T> T await(CompletionStage<T> stage) {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      throw e;
+    }
+  }
+
+  private static void warmUp(AgentInvoker invoker, String agentId) {
+    for (int i = 0; i < 10; i++) {
+      await(invoker.invoke(agentId, "s", session -> CompletableFuture.completedFuture("ok")));
+    }
+  }
+
+  @Test
+  public void shouldUseHedgeWhenPrimaryIsSlow() {
+    var invoker = new AgentInvoker(hedging(1.0), NO_BREAKERS);
+    warmUp(invoker, "agent");
+
+    var result = await(invoker.invoke("agent", "session-1", session ->
+        session.endsWith(AgentInvoker.HEDGE_SESSION_SUFFIX)
+            ? CompletableFuture.completedFuture("hedge")
+            : new CompletableFuture<>()));
+
+    assertThat(result).isEqualTo("hedge");
+    var stats = invoker.stats().get(0);
+    assertThat(stats.hedgesIssued()).isEqualTo(1);
+    assertThat(stats.hedgeWins()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotHedgeBeforeEnoughSamples() {
+    var invoker = new AgentInvoker(hedging(1.0), NO_BREAKERS);
+    var calls = new AtomicInteger();
+
+    var result = await(invoker.invoke("agent", "session-1", session -> {
+      calls.incrementAndGet();
+      return CompletableFuture.supplyAsync(() -> "primary",
+          CompletableFuture.delayedExecutor(100, MILLISECONDS));
+    }));
+
+    assertThat(result).isEqualTo("primary");
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRespectHedgeBudget() {
+    var invoker = new AgentInvoker(hedging(0.0), NO_BREAKERS);
+    warmUp(invoker, "agent");
+
+    var result = await(invoker.invoke("agent", "session-1", session -> CompletableFuture.supplyAsync(() -> "primary",
+        CompletableFuture.delayedExecutor(100, MILLISECONDS))));
+
+    assertThat(result).isEqualTo("primary");
+    var stats = invoker.stats().get(0);
+    assertThat(stats.hedgesIssued()).isZero();
+    assertThat(stats.hedgesDenied()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFailOnlyWhenAllAttemptsFail() {
+    var invoker = new AgentInvoker(hedging(1.0), NO_BREAKERS);
+    warmUp(invoker, "agent");
+
+    assertThatThrownBy(() -> await(invoker.invoke("agent", "session-1", session ->
+        CompletableFuture.<String>failedFuture(new IllegalStateException("boom")))))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+    assertThat(invoker.stats().get(0).failures()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCallOnceWhenHedgingDisabled() {
+    var invoker = new AgentInvoker(new HedgingSettings(false, 0.9, 1.0, 0, 50, Duration.ZERO), NO_BREAKERS);
+    var calls = new AtomicInteger();
+
+    await(invoker.invoke("agent", "session-1", session -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture("ok");
+    }));
+
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(invoker.stats().get(0).calls()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFailFastWhenBreakerOpens() {
+    var breakers = new CircuitBreakerSettings(true, 2, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(1), Duration.ofSeconds(30), 5);
+    var invoker = new AgentInvoker(new HedgingSettings(false, 0.9, 0.0, 0, 50, Duration.ZERO), breakers);
+    var calls = new AtomicInteger();
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> await(invoker.invoke("agent", "s", session -> {
+        calls.incrementAndGet();
+        return CompletableFuture.<String>failedFuture(new IllegalStateException("provider down"));
+      }))).isInstanceOf(IllegalStateException.class);
+    }
+
+    assertThatThrownBy(() -> await(invoker.invoke("agent", "s", session -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture("ok");
+    }))).isInstanceOf(CircuitOpenException.class);
+    assertThat(calls.get()).isEqualTo(2);
+    assertThat(invoker.breakers().get(0).state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(invoker.stats().get(0).rejectedByBreaker()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTimeOnlyPrimariesWhenHedgeWins() throws InterruptedException {
+    var invoker = new AgentInvoker(hedging(1.0), NO_BREAKERS);
+    warmUp(invoker, "agent");
+    var primary = new CompletableFuture<String>();
+
+    var result = invoker.invoke("agent", "session-1", session ->
+        session.endsWith(AgentInvoker.HEDGE_SESSION_SUFFIX) ? CompletableFuture.completedFuture("hedge") : primary);
+
+    assertThat(await(result)).isEqualTo("hedge");
+    assertThat(invoker.stats().get(0).p99Millis()).isLessThan(200);
+    Thread.sleep(200);
+    primary.complete("primary");
+    assertThat(invoker.stats().get(0).p99Millis()).isGreaterThanOrEqualTo(200);
+  }
+}
\ No newline at end of file
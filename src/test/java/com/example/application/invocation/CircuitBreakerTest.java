@@ -0,0 +1,75 @@
+package com.example.application.invocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+  private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+
+  private final CircuitBreakerSettings settings = new CircuitBreakerSettings(
+      true, 3, Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofSeconds(1), Duration.ofSeconds(30), 5);
+
+  private final CircuitBreaker breaker = new CircuitBreaker("agent", settings, now::get);
+
+  private void advance(Duration duration) {
+    now.updateAndGet(t -> t.plus(duration));
+  }
+
+  @Test
+  public void shouldOpenAfterConsecutiveFailures() {
+    breaker.recordFailure();
+    breaker.recordFailure();
+    assertThat(breaker.tryAcquire()).isZero();
+
+    breaker.recordFailure();
+    assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  public void shouldLetOneProbeThroughWhenHalfOpen() {
+    for (int i = 0; i < 3; i++) breaker.recordFailure();
+    advance(Duration.ofSeconds(10));
+
+    assertThat(breaker.tryAcquire()).isZero();
+    assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquire()).isPositive();
+
+    breaker.recordSuccess();
+    assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.tryAcquire()).isZero();
+  }
+
+  @Test
+  public void shouldDoubleOpenDurationOnFailedProbe() {
+    for (int i = 0; i < 3; i++) breaker.recordFailure();
+    advance(Duration.ofSeconds(10));
+    breaker.tryAcquire();
+
+    breaker.recordFailure();
+    assertThat(breaker.snapshot().state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isEqualTo(Duration.ofSeconds(20));
+  }
+
+  @Test
+  public void shouldCapBackoffAndApplyJitter() {
+    assertThat(settings.backoff(1, 0.0)).isEqualTo(Duration.ofMillis(500));
+    assertThat(settings.backoff(1, 1.0)).isEqualTo(Duration.ofSeconds(1));
+    assertThat(settings.backoff(3, 1.0)).isEqualTo(Duration.ofSeconds(4));
+    assertThat(settings.backoff(10, 1.0)).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  @Test
+  public void shouldSpreadRetriesAfterAnOpenBreaker() {
+    assertThat(settings.retryAfterOpen(Duration.ofSeconds(10), 0.0)).isEqualTo(Duration.ofSeconds(10));
+    assertThat(settings.retryAfterOpen(Duration.ofSeconds(10), 0.5)).isEqualTo(Duration.ofSeconds(15));
+    assertThat(settings.retryAfterOpen(Duration.ofSeconds(1), 1.0)).isEqualTo(Duration.ofSeconds(2));
+    assertThat(settings.retryAfterOpen(Duration.ofSeconds(60), 1.0)).isEqualTo(Duration.ofSeconds(90));
+  }
+}
\ No newline at end of file
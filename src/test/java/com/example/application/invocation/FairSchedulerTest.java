@@ -0,0 +1,101 @@
+package com.example.application.invocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FairSchedulerTest {
+
+  private static FairScheduler scheduler(int capacity, Map<String, Double> weights, Duration maxWait) {
+    return new FairScheduler(new FairSchedulerSettings(true, capacity, "tenant", 1.0, weights, maxWait));
+  }
+
+  @Test
+  public void shouldShareSlotsInProportionToWeightsUnderContention() {
+    var scheduler = scheduler(1, Map.of("b", 2.0), Duration.ofSeconds(1));
+    assertThat(scheduler.acquire("x")).isDone();
+
+    var waiting = new LinkedHashMap<String, CompletableFuture<Void>>();
+    for (int i = 1; i <= 3; i++) waiting.put("a" + i, scheduler.acquire("a"));
+    for (int i = 1; i <= 4; i++) waiting.put("b" + i, scheduler.acquire("b"));
+    assertThat(waiting.values()).noneMatch(CompletableFuture::isDone);
+
+    var order = new ArrayList<String>();
+    var holder = "x";
+    while (order.size() < waiting.size()) {
+      scheduler.release(holder.substring(0, 1));
+      var next = waiting.entrySet().stream()
+          .filter(e -> e.getValue().isDone() && !order.contains(e.getKey()))
+          .findFirst()
+          .orElseThrow();
+      order.add(next.getKey());
+      holder = next.getKey();
+    }
+
+    assertThat(order).containsExactly("a1", "b1", "b2", "a2", "b3", "b4", "a3");
+  }
+
+  @Test
+  public void shouldUseFullCapacityWhenAlone() {
+    var scheduler = scheduler(3, Map.of(), Duration.ofSeconds(1));
+
+    var slots = List.of(scheduler.acquire("a"), scheduler.acquire("a"), scheduler.acquire("a"));
+
+    assertThat(slots).allMatch(CompletableFuture::isDone);
+    assertThat(scheduler.acquire("a")).isNotDone();
+  }
+
+  @Test
+  public void shouldFailCallThatWaitsLongerThanMaxWait() {
+    var scheduler = scheduler(1, Map.of("b", 1.0), Duration.ofMillis(50));
+    scheduler.acquire("a");
+
+    assertThat(scheduler.run("b", () -> CompletableFuture.completedFuture("never")))
+        .failsWithin(Duration.ofSeconds(1))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IllegalStateException.class);
+    var stats = scheduler.stats().stream().filter(s -> s.tenant().equals("b")).findFirst().orElseThrow();
+    assertThat(stats.timedOut()).isEqualTo(1);
+    assertThat(stats.waiting()).isZero();
+
+    scheduler.release("a");
+    assertThat(scheduler.run("b", () -> CompletableFuture.completedFuture("ok")).toCompletableFuture().join()).isEqualTo("ok");
+  }
+
+  @Test
+  public void shouldRunQueuedCallWhenSlotIsReleasedAndGiveItBackOnCompletion() {
+    var scheduler = scheduler(1, Map.of(), Duration.ofSeconds(1));
+    var first = new CompletableFuture<String>();
+    var firstRun = scheduler.run("a", () -> first);
+    var secondRun = scheduler.run("b", () -> CompletableFuture.completedFuture("second"));
+
+    assertThat(secondRun).isNotDone();
+    first.complete("first");
+
+    assertThat(firstRun.toCompletableFuture().join()).isEqualTo("first");
+    assertThat(secondRun.toCompletableFuture().join()).isEqualTo("second");
+    assertThat(scheduler.acquire("c")).isDone();
+  }
+
+  @Test
+  public void shouldForgetIdleTenantsThatAreNotConfigured() {
+    var scheduler = scheduler(2, Map.of("configured", 2.0), Duration.ofSeconds(1));
+
+    for (int i = 0; i < 100; i++) {
+      scheduler.run("tenant-" + i, () -> CompletableFuture.completedFuture("ok")).toCompletableFuture().join();
+    }
+    scheduler.run("configured", () -> CompletableFuture.completedFuture("ok")).toCompletableFuture().join();
+    scheduler.acquire("busy");
+
+    assertThat(scheduler.stats()).extracting(FairScheduler.TenantStats::tenant)
+        .containsExactlyInAnyOrder("configured", "busy");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.application.preprocessing;
+
+import com.example.domain.NormalizedPayload;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PayloadNormalizerTest {
+
+  private static final String EMAIL = """
+      <html><body>
+        <p>Your   bill is &amp; ready.</p>
+        <p>See <a href="https://example.com/bill?id=7&utm_source=mail&fbclid=x">https://example.com/bill?id=7&utm_source=mail&fbclid=x</a></p>
+        <p>To unsubscribe click here.</p>
+      </body></html>""";
+
+  private final PayloadNormalizer normalizer = new PayloadNormalizer(new PreprocessingSettings(
+      true,
+      true,
+      Set.of("utm_*", "fbclid"),
+      List.of(Pattern.compile("^to unsubscribe.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE)),
+      4));
+
+  @Test
+  public void shouldStripMarkupTrackingParametersAndBoilerplate() {
+    var normalized = normalizer.normalize(EMAIL);
+
+    assertThat(normalized.text()).isEqualTo("Your bill is & ready.\nSee https://example.com/bill?id=7");
+    assertThat(normalized.originalLength()).isEqualTo(EMAIL.length());
+    assertThat(normalized.estimatedTokens()).isLessThan(normalized.originalEstimatedTokens() / 3);
+  }
+
+  @Test
+  public void shouldLocateQuotedExcerptsInTheOriginalPayload() {
+    var normalized = normalizer.normalize(EMAIL);
+
+    var spans = normalized.locateQuoted("Ambiguous wording: \"bill is & ready\"");
+
+    assertThat(spans).hasSize(1);
+    assertThat(EMAIL.substring(spans.get(0).start(), spans.get(0).end())).isEqualTo("bill is &amp; ready");
+  }
+
+  @Test
+  public void shouldIgnoreExcerptsNotInTheText() {
+    var normalized = normalizer.normalize(EMAIL);
+
+    assertThat(normalized.locateQuoted("Mentions \"free money\"")).isEmpty();
+    assertThat(normalized.locateQuoted("No excerpt")).isEmpty();
+  }
+
+  @Test
+  public void shouldMapUnchangedPayloadsOneToOne() {
+    var unchanged = NormalizedPayload.unchanged("Your bill is ready", 5);
+
+    var spans = unchanged.locateQuoted("\"bill\"");
+
+    assertThat(spans).containsExactly(new NormalizedPayload.Span(5, 9));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.application.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NearDuplicateIndexTest {
+
+  private static final String TEMPLATE =
+      "Dear %s, your payment of %s USD was received on %s. Your account has been successfully updated. "
+          + "Please log in to review your new settings. If you have any questions, contact our support team.";
+
+  private final NearDuplicateIndex index = new NearDuplicateIndex(new NearDuplicateSettings(true, 0.85, 1000, 8));
+
+  @Test
+  public void shouldIgnoreNumbersInTemplatedContent() {
+    var a = MinHash.of(TEMPLATE.formatted("Customer", "120.50", "2026-01-03"));
+    var b = MinHash.of(TEMPLATE.formatted("Customer", "99", "2026-02-17"));
+    assertThat(MinHash.similarity(a, b)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void shouldFindNearDuplicate() {
+    index.add("c-1", MinHash.of(TEMPLATE.formatted("Alice", "120.50", "2026-01-03")));
+    index.add("c-2", MinHash.of("Completely unrelated announcement about our new office opening in spring."));
+
+    var match = index.lookup(MinHash.of(TEMPLATE.formatted("Bob", "75", "2026-03-09")));
+
+    assertThat(match).isPresent();
+    assertThat(match.get().contentId()).isEqualTo("c-1");
+    assertThat(match.get().similarity()).isGreaterThanOrEqualTo(0.85);
+  }
+
+  @Test
+  public void shouldNotMatchDifferentContent() {
+    index.add("c-1", MinHash.of(TEMPLATE.formatted("Alice", "120.50", "2026-01-03")));
+
+    assertThat(index.lookup(MinHash.of("Limited offer: buy two get one free at all our stores this weekend only.")))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldHaveNoSignatureWithoutWords() {
+    assertThat(MinHash.of("")).isNull();
+    assertThat(MinHash.of(" -- !? ")).isNull();
+    assertThat(MinHash.of("123 45.6")).isNotNull();
+  }
+
+  @Test
+  public void shouldOverwriteOldestEntriesWhenFull() {
+    var small = new NearDuplicateIndex(new NearDuplicateSettings(true, 0.99, 2, 8));
+    small.add("c-1", MinHash.of("first message"));
+    small.add("c-2", MinHash.of("second message"));
+    small.add("c-3", MinHash.of("third message"));
+
+    assertThat(small.lookup(MinHash.of("first message"))).isEmpty();
+    assertThat(small.lookup(MinHash.of("third message"))).hasValueSatisfying(m -> assertThat(m.contentId()).isEqualTo("c-3"));
+  }
+
+  @Test
+  public void shouldDoNothingWhenDisabled() {
+    var disabled = new NearDuplicateIndex(new NearDuplicateSettings(false, 0.9, 1000, 8));
+    disabled.add("c-1", MinHash.of("first message"));
+    assertThat(disabled.lookup(MinHash.of("first message"))).isEmpty();
+  }
+}
\ No newline at end of file
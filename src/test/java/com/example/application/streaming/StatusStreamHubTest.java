@@ -0,0 +1,32 @@
+package com.example.application.streaming;
+
+import com.example.application.ContentStatusView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatusStreamHubTest {
+
+  private static ContentStatusView.StatusEntry entry(String contentId, String status) {
+    return new ContentStatusView.StatusEntry(contentId, "payload", "en", List.of(), null, null, status, "", "",
+        0, null, "", Instant.EPOCH, 0, "", Instant.EPOCH, Instant.EPOCH);
+  }
+
+  @Test
+  public void shouldKeepLatestRowPerContentInOrderOfLastUpdate() {
+    var batch = List.of(
+        entry("a", "DETECTING"),
+        entry("b", "DETECTING"),
+        entry("a", "NLP"),
+        entry("c", "FAILED"),
+        entry("a", "VALIDATING_TEXT"));
+
+    var latest = StatusStreamHub.latestPerContent(batch);
+
+    assertThat(latest).extracting(ContentStatusView.StatusEntry::contentId).containsExactly("b", "c", "a");
+    assertThat(latest.get(2).status()).isEqualTo("VALIDATING_TEXT");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.domain;
+
+import akka.javasdk.JsonSupport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentValidationStateTest {
+
+  @Test
+  public void shouldReadStateWithoutTheConcernsAddedSince() throws Exception {
+    var json = """
+        {"contentId": "c-1", "payload": "Hello", "metadata": {}, "language": "en", "results": [],
+         "aggregatedResult": null, "reviewDecision": null, "status": "COMPLETED", "routingTarget": "channel-a",
+         "failureReason": null}
+        """;
+
+    var state = JsonSupport.getObjectMapper().readValue(json, ContentValidationState.class);
+
+    assertThat(state.payload()).isEqualTo("Hello");
+    assertThat(state.preparation()).isEqualTo(Preparation.NONE);
+    assertThat(state.recovery()).isEqualTo(Recovery.NONE);
+    assertThat(state.review()).isEqualTo(ReviewTracking.NONE);
+    assertThat(state.origin()).isEqualTo(RunOrigin.SUBMITTED);
+    assertThat(state.isResumable()).isFalse();
+  }
+
+  @Test
+  public void shouldKeepRetriesUntilAStepSucceeds() {
+    var state = ContentValidationState.initial(new ContentRequest("c-1", "Hello", Map.of()), Instant.EPOCH)
+        .withRecovery(Recovery.NONE.parked("validate-nlp", 2));
+
+    assertThat(state.withStatus(ContentValidationStatus.NLP).recovery().retryAttempt()).isEqualTo(2);
+    assertThat(state.advancedTo(ContentValidationStatus.VALIDATING_TEXT).recovery()).isEqualTo(Recovery.NONE);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.domain;
+
+import akka.javasdk.JsonSupport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PayloadCodecTest {
+
+  private static final String PAYLOAD = """
+      Dear Customer,
+
+      Your account has been successfully updated. Please log in to review your new settings.
+      If you have any questions, contact our support team at support@example.com or call 1-800-555-0100.
+
+      Thank you for choosing us.
+      The Support Team
+      """;
+
+  private static final PayloadCodec COMPACT = new PayloadCodec(true, 64);
+
+  @Test
+  public void shouldRoundTripCompactPayloadInState() throws Exception {
+    var state = ContentValidationState.initial(new ContentRequest("c-1", PAYLOAD, Map.of("type", "email")), Instant.EPOCH)
+        .compacted(COMPACT);
+
+    var json = JsonSupport.getObjectMapper().writeValueAsString(state);
+
+    assertThat(json).contains("\"payload\":\"" + PayloadCodec.PREFIX);
+    var read = JsonSupport.getObjectMapper().readValue(json, ContentValidationState.class);
+    assertThat(read).isEqualTo(state);
+    assertThat(read.payload()).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  public void shouldReadPlainAndCompactSnapshotsWhateverTheSetting() throws Exception {
+    var state = ContentValidationState.initial(new ContentRequest("c-1", PAYLOAD, Map.of()), Instant.EPOCH);
+    var plain = JsonSupport.getObjectMapper().writeValueAsString(state.compacted(PayloadCodec.DISABLED));
+    var compact = JsonSupport.getObjectMapper().writeValueAsString(state.compacted(COMPACT));
+
+    assertThat(plain).contains("\"payload\":\"Dear Customer");
+    assertThat(JsonSupport.getObjectMapper().readValue(plain, ContentValidationState.class).payload()).isEqualTo(PAYLOAD);
+    assertThat(JsonSupport.getObjectMapper().readValue(compact, ContentValidationState.class).payload()).isEqualTo(PAYLOAD);
+  }
+
+  @Test
+  public void shouldKeepShortAndPrefixLookalikePayloadsReadable() {
+    assertThat(COMPACT.encode("short")).isEqualTo("short");
+    assertThat(PayloadCodec.decode(COMPACT.encode("z1:not compressed"))).isEqualTo("z1:not compressed");
+    assertThat(PayloadCodec.decode(COMPACT.encode("z0:literal"))).isEqualTo("z0:literal");
+  }
+
+  @Test
+  public void shouldReadUnescapedLegacyPayloadsThatLookEncoded() {
+    assertThat(PayloadCodec.decode("z1:see attached")).isEqualTo("z1:see attached");
+    assertThat(PayloadCodec.decode("z1:QUJD")).isEqualTo("z1:QUJD");
+    assertThat(PayloadCodec.decode("z0:literal")).isEqualTo("z0:literal");
+    var truncated = COMPACT.encode(PAYLOAD);
+    truncated = truncated.substring(0, truncated.length() - 8);
+    assertThat(PayloadCodec.decode(truncated)).isEqualTo(truncated);
+  }
+}
\ No newline at end of file
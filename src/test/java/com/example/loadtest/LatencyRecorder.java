@@ -0,0 +1,52 @@
+package com.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects latency samples in milliseconds and reports throughput and percentiles.
+ */
+public class LatencyRecorder {
+
+  public record Summary(String name, int count, double perSecond, long p50, long p90, long p95, long p99, long max) {
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%-24s n=%-6d %8.2f/s  p50=%-6d p90=%-6d p95=%-6d p99=%-6d max=%d",
+          name, count, perSecond, p50, p90, p95, p99, max);
+    }
+  }
+
+  private final String name;
+  private final List<Long> samples = new ArrayList<>();
+
+  public LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  public synchronized void record(long millis) {
+    samples.add(millis);
+  }
+
+  public synchronized Summary summarize(double elapsedSeconds) {
+    var sorted = new ArrayList<>(samples);
+    Collections.sort(sorted);
+    return new Summary(
+        name,
+        sorted.size(),
+        elapsedSeconds > 0 ? sorted.size() / elapsedSeconds : 0,
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.90),
+        percentile(sorted, 0.95),
+        percentile(sorted, 0.99),
+        sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+  }
+
+  static long percentile(List<Long> sorted, double percentile) {
+    if (sorted.isEmpty()) return 0;
+    var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+  }
+}
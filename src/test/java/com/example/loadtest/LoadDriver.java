@@ -0,0 +1,250 @@
+package com.example.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Submits content through {@code POST /content} at a fixed rate and follows each item on
+ * {@code GET /content/{id}/stream}. Reports submit latency, end-to-end latency to a terminal status and
+ * per-step latency, measured as the time from the step's status notification to the next one. The
+ * first step is measured from submission, since the stream only starts after the submit returns.
+ */
+public class LoadDriver {
+
+  private static final Set<String> TERMINAL = Set.of("COMPLETED", "FAILED", "AWAITING_REVIEW");
+
+  public record Report(
+      int submitted,
+      int submitFailures,
+      Map<String, Integer> terminalStatuses,
+      List<LatencyRecorder.Summary> summaries,
+      double elapsedSeconds) {
+
+    @Override
+    public String toString() {
+      var sb = new StringBuilder();
+      sb.append(String.format("Submitted %d items in %.1fs (%d submit failures)%n", submitted, elapsedSeconds, submitFailures));
+      sb.append("Terminal statuses: ").append(terminalStatuses).append(System.lineSeparator());
+      summaries.forEach(s -> sb.append(s).append(System.lineSeparator()));
+      return sb.toString();
+    }
+  }
+
+  /**
+   * @param threadsBefore live platform threads in this JVM, the service's included, before the run
+   * @param peakThreads   peak live platform threads during the run; clients run on virtual threads
+   */
+  public record ConcurrencyReport(
+      int concurrency,
+      long requests,
+      long failures,
+      double requestsPerSecond,
+      int threadsBefore,
+      int peakThreads,
+      List<LatencyRecorder.Summary> summaries) {
+
+    @Override
+    public String toString() {
+      var sb = new StringBuilder();
+      sb.append(String.format("%d clients: %d requests, %.1f/s (%d failures), platform threads %d before, %d peak%n",
+          concurrency, requests, requestsPerSecond, failures, threadsBefore, peakThreads));
+      summaries.forEach(s -> sb.append(s).append(System.lineSeparator()));
+      return sb.toString();
+    }
+  }
+
+  private final String baseUrl;
+  private final HttpClient httpClient;
+
+  public LoadDriver(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+  }
+
+  /**
+   * @param ratePerSecond submissions per second
+   * @param duration      how long to keep submitting
+   * @param drainTimeout  how long to wait for in-flight items to reach a terminal status afterwards
+   * @param payload       payload to submit, metadata is empty
+   */
+  public Report run(double ratePerSecond, Duration duration, Duration drainTimeout, String payload) throws InterruptedException {
+    var submitLatency = new LatencyRecorder("submit");
+    var endToEnd = new LatencyRecorder("end-to-end");
+    var perStep = new ConcurrentHashMap<String, LatencyRecorder>();
+    var terminalStatuses = new ConcurrentHashMap<String, Integer>();
+    var submitFailures = new AtomicInteger();
+    var inFlight = new ArrayList<CompletableFuture<Void>>();
+
+    var intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+    var total = (int) Math.max(1, ratePerSecond * duration.toMillis() / 1000.0);
+    var start = System.nanoTime();
+
+    for (int i = 0; i < total; i++) {
+      var sendAt = start + i * intervalNanos;
+      var delay = sendAt - System.nanoTime();
+      if (delay > 0) TimeUnit.NANOSECONDS.sleep(delay);
+      var contentId = "load-" + UUID.randomUUID();
+      var submittedAt = System.nanoTime();
+      var item = submit(contentId, payload, submitLatency, submitFailures)
+          .thenCompose(accepted -> accepted
+              ? follow(contentId, submittedAt, endToEnd, perStep, terminalStatuses)
+              : CompletableFuture.completedFuture(null));
+      inFlight.add(item);
+    }
+
+    try {
+      CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+          .get(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      // report whatever finished within the drain timeout
+    }
+    var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    var summaries = new ArrayList<LatencyRecorder.Summary>();
+    summaries.add(submitLatency.summarize(elapsedSeconds));
+    summaries.add(endToEnd.summarize(elapsedSeconds));
+    perStep.values().stream()
+        .map(r -> r.summarize(elapsedSeconds))
+        .sorted((a, b) -> a.name().compareTo(b.name()))
+        .forEach(summaries::add);
+    return new Report(total, submitFailures.get(), Map.copyOf(terminalStatuses), summaries, elapsedSeconds);
+  }
+
+  /**
+   * Runs {@code concurrency} clients in a closed loop, each submitting an item and then reading its
+   * status, to measure how many requests the endpoint handlers complete per second and how many platform
+   * threads they take. The service runs in this JVM, so its threads are counted.
+   */
+  public ConcurrencyReport saturate(int concurrency, Duration duration, String payload) throws InterruptedException {
+    var submitLatency = new LatencyRecorder("submit");
+    var statusLatency = new LatencyRecorder("status");
+    var requests = new AtomicLong();
+    var failures = new AtomicLong();
+    var threads = ManagementFactory.getThreadMXBean();
+    var threadsBefore = threads.getThreadCount();
+    threads.resetPeakThreadCount();
+
+    var start = System.nanoTime();
+    var deadline = start + duration.toNanos();
+    try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        clients.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            var contentId = "saturate-" + UUID.randomUUID();
+            var submitted = timed(HttpRequest.newBuilder(URI.create(baseUrl + "/content"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(submitBody(contentId, payload)))
+                .build(), submitLatency, requests, failures);
+            if (submitted) {
+              timed(HttpRequest.newBuilder(URI.create(baseUrl + "/content/" + contentId + "/status")).GET().build(),
+                  statusLatency, requests, failures);
+            }
+          }
+        });
+      }
+    }
+    var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    return new ConcurrencyReport(
+        concurrency,
+        requests.get(),
+        failures.get(),
+        requests.get() / elapsedSeconds,
+        threadsBefore,
+        threads.getPeakThreadCount(),
+        List.of(submitLatency.summarize(elapsedSeconds), statusLatency.summarize(elapsedSeconds)));
+  }
+
+  private boolean timed(HttpRequest request, LatencyRecorder latency, AtomicLong requests, AtomicLong failures) {
+    var sentAt = System.nanoTime();
+    try {
+      var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+      requests.incrementAndGet();
+      if (response.statusCode() >= 300) {
+        failures.incrementAndGet();
+        return false;
+      }
+      latency.record((System.nanoTime() - sentAt) / 1_000_000);
+      return true;
+    } catch (Exception e) {
+      failures.incrementAndGet();
+      return false;
+    }
+  }
+
+  private CompletableFuture<Boolean> submit(String contentId, String payload, LatencyRecorder submitLatency,
+                                            AtomicInteger submitFailures) {
+    var body = submitBody(contentId, payload);
+    var request = HttpRequest.newBuilder(URI.create(baseUrl + "/content"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    var sentAt = System.nanoTime();
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .handle((response, error) -> {
+          if (error != null || response.statusCode() >= 300) {
+            submitFailures.incrementAndGet();
+            return false;
+          }
+          submitLatency.record((System.nanoTime() - sentAt) / 1_000_000);
+          return true;
+        });
+  }
+
+  private CompletableFuture<Void> follow(String contentId, long submittedAt, LatencyRecorder endToEnd,
+                                         Map<String, LatencyRecorder> perStep,
+                                         Map<String, Integer> terminalStatuses) {
+    var request = HttpRequest.newBuilder(URI.create(baseUrl + "/content/" + contentId + "/stream"))
+        .header("Accept", "text/event-stream")
+        .GET()
+        .build();
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+        .thenAccept(response -> {
+          var previousStatus = "DETECTING";
+          var previousAt = submittedAt;
+          try (var lines = response.body()) {
+            var iterator = lines.iterator();
+            while (iterator.hasNext()) {
+              var line = iterator.next();
+              if (!line.startsWith("data:")) continue;
+              var status = line.substring("data:".length()).trim().replace("\"", "");
+              var now = System.nanoTime();
+              perStep.computeIfAbsent("step " + previousStatus, LatencyRecorder::new)
+                  .record((now - previousAt) / 1_000_000);
+              previousStatus = status;
+              previousAt = now;
+              if (TERMINAL.contains(status)) {
+                endToEnd.record((now - submittedAt) / 1_000_000);
+                terminalStatuses.merge(status, 1, Integer::sum);
+                break;
+              }
+            }
+          }
+        });
+  }
+
+  private static String submitBody(String contentId, String payload) {
+    return "{\"contentId\":\"" + contentId + "\",\"payload\":" + jsonString(payload) + ",\"metadata\":{}}";
+  }
+
+  private static String jsonString(String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+  }
+}
\ No newline at end of file
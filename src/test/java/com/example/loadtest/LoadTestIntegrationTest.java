@@ -0,0 +1,85 @@
+package com.example.loadtest;
+
+import akka.javasdk.testkit.TestKit;
+import akka.javasdk.testkit.TestKitSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline load test: the service runs in the TestKit with the real OpenAI client pointed at a local
+ * {@link StubModelServer}, and {@link LoadDriver} submits content through the Content API.
+ * Run with {@code mvn test -Pload-test}; tune with the {@code load-test.*} system properties.
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+public class LoadTestIntegrationTest extends TestKitSupport {
+
+  private final StubModelServer stub = startStub();
+
+  private static StubModelServer startStub() {
+    try {
+      return new StubModelServer(Integer.getInteger("load-test.stub-port", 0))
+          .withLatency(StubModelServer.LatencyDistribution.parse(System.getProperty("load-test.latency", "lognormal:300:0.5")))
+          .withErrorRate(Double.parseDouble(System.getProperty("load-test.error-rate", "0.0")))
+          .withThrottleRate(Double.parseDouble(System.getProperty("load-test.throttle-rate", "0.0")))
+          .start();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  protected TestKit.Settings testKitSettings() {
+    return TestKit.Settings.DEFAULT
+        .withAdditionalConfig("""
+            akka.javasdk.agent.openai.api-key = n/a
+            akka.javasdk.agent.openai.base-url = "%s"
+            """.formatted(stub.baseUrl()));
+  }
+
+  @AfterAll
+  public void stopStub() {
+    stub.close();
+  }
+
+  @Test
+  public void shouldSustainTargetRate() throws Exception {
+    var rate = Double.parseDouble(System.getProperty("load-test.rate", "20"));
+    var duration = Duration.parse(System.getProperty("load-test.duration", "PT30S"));
+    var payload = System.getProperty("load-test.payload",
+        "Dear Customer, your account has been successfully updated. Please log in to review your new settings.");
+
+    var driver = new LoadDriver("http://localhost:" + testKit.getPort());
+    var report = driver.run(rate, duration, Duration.ofSeconds(60), payload);
+
+    System.out.println(report);
+    System.out.println("Stub requests per agent: " + stub.requestsPerAgent()
+        + ", injected errors: " + stub.injectedErrors() + ", injected 429s: " + stub.injectedThrottles());
+
+    assertThat(report.submitted()).isPositive();
+  }
+
+  /**
+   * Handler throughput and platform threads with many concurrent clients. To compare with another
+   * revision of the endpoints, run the same command there.
+   */
+  @Test
+  @EnabledIfSystemProperty(named = "load-test.concurrency", matches = "\\d+")
+  public void shouldReportThroughputAtConcurrency() throws Exception {
+    var concurrency = Integer.getInteger("load-test.concurrency");
+    var duration = Duration.parse(System.getProperty("load-test.duration", "PT30S"));
+
+    var driver = new LoadDriver("http://localhost:" + testKit.getPort());
+    var report = driver.saturate(concurrency, duration, "Your invoice is ready. Log in to view it.");
+
+    System.out.println(report);
+
+    assertThat(report.requests()).isPositive();
+  }
+}
\ No newline at end of file
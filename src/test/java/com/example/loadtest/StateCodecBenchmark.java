@@ -0,0 +1,94 @@
+package com.example.loadtest;
+
+import akka.javasdk.JsonSupport;
+import com.example.domain.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serializes the workflow states of one item's lifecycle, as persisted on every step transition,
+ * with plain JSON and with the compact payload codec, and prints bytes per update and encode/decode
+ * time per update. The payload is compacted once, when the workflow builds its state, and inflated
+ * when it is read. Run with {@code mvn test -Pcodec-benchmark}.
+ */
+@EnabledIfSystemProperty(named = "codec-benchmark", matches = "true")
+public class StateCodecBenchmark {
+
+  private static final int ITERATIONS = Integer.getInteger("codec-benchmark.iterations", 20_000);
+
+  private static final String PAYLOAD = """
+      Dear Customer,
+
+      Your subscription to our Analytics Dashboard will renew on the first of next month. Your invoice is
+      ready and your payment method on file will be charged automatically. If you want to change your plan,
+      log in at https://app.example.com/billing or contact our support team at support@example.com.
+      Please do not reply to this email. For more information about your billing statement, refunds and our
+      terms of service, visit our website.
+
+      Thank you for choosing us.
+      Kind regards,
+      The Customer Service Team
+      """.repeat(3);
+
+  private record Result(String format, double bytesPerUpdate, double encodeMicros, double decodeMicros) {}
+
+  @Test
+  public void compareStateEncodings() throws Exception {
+    var states = lifecycle(PayloadCodec.DISABLED);
+    var plain = measure("json", states);
+    var compact = measure("json + z1 payload", lifecycle(new PayloadCodec(true, 256)));
+
+    System.out.printf("%n%d states per item, payload %d chars, %d iterations%n", states.size(), PAYLOAD.length(), ITERATIONS);
+    System.out.printf("%-20s %16s %14s %14s%n", "format", "bytes/update", "encode µs", "decode µs");
+    for (var result : List.of(plain, compact)) {
+      System.out.printf("%-20s %16.0f %14.2f %14.2f%n", result.format(), result.bytesPerUpdate(), result.encodeMicros(), result.decodeMicros());
+    }
+    assertThat(compact.bytesPerUpdate()).isLessThan(plain.bytesPerUpdate());
+  }
+
+  private static Result measure(String format, List<ContentValidationState> states) throws Exception {
+    ObjectMapper mapper = JsonSupport.getObjectMapper();
+    var encoded = new ArrayList<byte[]>();
+    for (var state : states) encoded.add(mapper.writeValueAsBytes(state));
+    var bytes = encoded.stream().mapToInt(b -> b.length).average().orElse(0);
+
+    // warm up before timing
+    for (int i = 0; i < ITERATIONS / 10; i++) {
+      mapper.readValue(mapper.writeValueAsBytes(states.get(i % states.size())), ContentValidationState.class);
+    }
+    var start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) mapper.writeValueAsBytes(states.get(i % states.size()));
+    var encodeMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      // the payload is decoded when it is read
+      mapper.readValue(encoded.get(i % encoded.size()), ContentValidationState.class).payload();
+    }
+    var decodeMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    return new Result(format, bytes, encodeMicros, decodeMicros);
+  }
+
+  private static List<ContentValidationState> lifecycle(PayloadCodec codec) {
+    var state = ContentValidationState.initial(
+        new ContentRequest("bench-1", PAYLOAD, Map.of("type", "email", "channel", "billing", "priority", "1")), Instant.now())
+        .compacted(codec);
+    var states = new ArrayList<ContentValidationState>();
+    states.add(state = state.withStatus(ContentValidationStatus.DETECTING));
+    states.add(state = state.withLanguage("en").withStatus(ContentValidationStatus.NLP));
+    states.add(state = state.withResult(new ValidationResult("localized-nlp-agent", true, List.of())).withStatus(ContentValidationStatus.VALIDATING_TEXT));
+    states.add(state = state.withResult(new ValidationResult("text-language-validation-agent", true, List.of())).withStatus(ContentValidationStatus.VALIDATING_LOGO));
+    states.add(state = state.withResult(new ValidationResult("logo-validation-agent", true, List.of("No image assets referenced"))).withStatus(ContentValidationStatus.VALIDATING_ENTERPRISE));
+    states.add(state = state.withResult(new ValidationResult("enterprise-validation-agent", true, List.of())).withStatus(ContentValidationStatus.AGGREGATING));
+    states.add(state = state.withAggregatedResult(new AggregatedResult(true, 0.93, "All checks passed")).withStatus(ContentValidationStatus.ROUTING));
+    states.add(state.withRoutingTarget("crm").withStatus(ContentValidationStatus.COMPLETED));
+    return states;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.example.loadtest;
+
+import akka.javasdk.JsonSupport;
+import com.example.domain.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OpenAI-compatible chat completions stub for offline load tests. Responses are picked by matching
+ * the agent's system message against {@link #cannedResponse(String, String)} keys, delayed according
+ * to a {@link LatencyDistribution}, and can be replaced by injected 500 or 429 errors.
+ */
+public class StubModelServer implements AutoCloseable {
+
+  /** Per-request model latency in milliseconds. */
+  public sealed interface LatencyDistribution {
+
+    long sampleMillis();
+
+    record Fixed(long millis) implements LatencyDistribution {
+      public long sampleMillis() {
+        return millis;
+      }
+    }
+
+    record Uniform(long minMillis, long maxMillis) implements LatencyDistribution {
+      public long sampleMillis() {
+        return ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+      }
+    }
+
+    /** Long-tailed latency, closest to what real providers show. */
+    record LogNormal(long medianMillis, double sigma) implements LatencyDistribution {
+      public long sampleMillis() {
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+      }
+    }
+
+    /** Parses "fixed:200", "uniform:100-400" or "lognormal:300:0.5". */
+    static LatencyDistribution parse(String spec) {
+      var parts = spec.split(":");
+      return switch (parts[0]) {
+        case "fixed" -> new Fixed(Long.parseLong(parts[1]));
+        case "uniform" -> {
+          var range = parts[1].split("-");
+          yield new Uniform(Long.parseLong(range[0]), Long.parseLong(range[1]));
+        }
+        case "lognormal" -> new LogNormal(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+        default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+      };
+    }
+  }
+
+  private final HttpServer server;
+  private final Map<String, String> cannedResponses = new LinkedHashMap<>();
+  private final Map<String, LongAdder> requestsPerAgent = new ConcurrentHashMap<>();
+  private final LongAdder injectedErrors = new LongAdder();
+  private final LongAdder injectedThrottles = new LongAdder();
+  private final AtomicLong idSequence = new AtomicLong();
+  private volatile LatencyDistribution latency = new LatencyDistribution.Fixed(0);
+  private volatile double errorRate;
+  private volatile double throttleRate;
+
+  public StubModelServer(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/v1/chat/completions", this::handle);
+    server.createContext("/chat/completions", this::handle);
+    defaultCannedResponses();
+  }
+
+  public StubModelServer start() {
+    server.start();
+    return this;
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public String baseUrl() {
+    return "http://localhost:" + port() + "/v1";
+  }
+
+  public StubModelServer withLatency(LatencyDistribution latency) {
+    this.latency = latency;
+    return this;
+  }
+
+  /** Fraction of requests answered with HTTP 500. */
+  public StubModelServer withErrorRate(double errorRate) {
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  /** Fraction of requests answered with HTTP 429 and a Retry-After header. */
+  public StubModelServer withThrottleRate(double throttleRate) {
+    this.throttleRate = throttleRate;
+    return this;
+  }
+
+  /**
+   * Registers the JSON returned for requests whose system message contains {@code systemMessageKeyword}.
+   * Keys are matched in registration order; registering an existing key replaces its response in place.
+   */
+  public StubModelServer cannedResponse(String systemMessageKeyword, String json) {
+    synchronized (cannedResponses) {
+      cannedResponses.put(systemMessageKeyword, json);
+    }
+    return this;
+  }
+
+  public Map<String, Long> requestsPerAgent() {
+    var counts = new LinkedHashMap<String, Long>();
+    requestsPerAgent.forEach((agent, count) -> counts.put(agent, count.sum()));
+    return counts;
+  }
+
+  public long injectedErrors() {
+    return injectedErrors.sum();
+  }
+
+  public long injectedThrottles() {
+    return injectedThrottles.sum();
+  }
+
+  private void defaultCannedResponses() {
+    // first, because the combined validator's system message also mentions the individual checks
+    cannedResponse("four independent sections", JsonSupport.encodeToString(new CombinedValidationResult(
+        new NLPResult("billing", true, List.of()),
+        new ValidationResult("stub", true, List.of()),
+        new LogoResult(true, List.of()),
+        new EnterpriseResult(true, List.of()))));
+    cannedResponse("Detect the language", JsonSupport.encodeToString(new DetectionResult("en", 0.99)));
+    cannedResponse("Classify the call reason", JsonSupport.encodeToString(new NLPResult("billing", true, List.of())));
+    cannedResponse("grammar correctness", JsonSupport.encodeToString(new ValidationResult("stub", true, List.of())));
+    cannedResponse("required logos", JsonSupport.encodeToString(new LogoResult(true, List.of())));
+    cannedResponse("enterprise business rules", JsonSupport.encodeToString(new EnterpriseResult(true, List.of())));
+    cannedResponse("consolidated report", JsonSupport.encodeToString(new AggregatedResult(true, 0.95, "All checks passed")));
+    cannedResponse("routing destination", JsonSupport.encodeToString(new RoutingDecision("channel-a", true, "Compliant")));
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      var request = JsonSupport.getObjectMapper().readTree(exchange.getRequestBody());
+      var systemMessage = systemMessage(request);
+      var match = match(systemMessage);
+      requestsPerAgent.computeIfAbsent(match.getKey(), k -> new LongAdder()).increment();
+
+      sleep(latency.sampleMillis());
+
+      var random = ThreadLocalRandom.current().nextDouble();
+      if (random < throttleRate) {
+        injectedThrottles.increment();
+        exchange.getResponseHeaders().add("Retry-After", "1");
+        respond(exchange, 429, "{\"error\":{\"message\":\"Rate limit reached (stub)\",\"type\":\"requests\",\"code\":\"rate_limit_exceeded\"}}");
+        return;
+      }
+      if (random < throttleRate + errorRate) {
+        injectedErrors.increment();
+        respond(exchange, 500, "{\"error\":{\"message\":\"Internal error (stub)\",\"type\":\"server_error\"}}");
+        return;
+      }
+      respond(exchange, 200, completion(request, match.getValue()));
+    }
+  }
+
+  private Map.Entry<String, String> match(String systemMessage) {
+    synchronized (cannedResponses) {
+      for (var entry : cannedResponses.entrySet()) {
+        if (systemMessage.contains(entry.getKey())) {
+          return entry;
+        }
+      }
+    }
+    return Map.entry("unmatched", "{}");
+  }
+
+  private static String systemMessage(JsonNode request) {
+    for (var message : request.path("messages")) {
+      if ("system".equals(message.path("role").asText())) {
+        var content = message.path("content");
+        return content.isTextual() ? content.asText() : content.toString();
+      }
+    }
+    return "";
+  }
+
+  private String completion(JsonNode request, String content) {
+    ObjectNode response = JsonSupport.getObjectMapper().createObjectNode();
+    response.put("id", "chatcmpl-stub-" + idSequence.incrementAndGet());
+    response.put("object", "chat.completion");
+    response.put("created", System.currentTimeMillis() / 1000);
+    response.put("model", request.path("model").asText("stub-model"));
+    var choice = response.putArray("choices").addObject();
+    choice.put("index", 0);
+    var message = choice.putObject("message");
+    message.put("role", "assistant");
+    message.put("content", content);
+    choice.put("finish_reason", "stop");
+    var usage = response.putObject("usage");
+    var promptTokens = request.path("messages").toString().length() / 4;
+    var completionTokens = content.length() / 4;
+    usage.put("prompt_tokens", promptTokens);
+    usage.put("completion_tokens", completionTokens);
+    usage.put("total_tokens", promptTokens + completionTokens);
+    return response.toString();
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    var bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) return;
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  /**
+   * Runs the stub standalone, e.g. for a service started with
+   * {@code OPENAI_BASE_URL=http://localhost:8089/v1 mvn compile exec:java}.
+   * Arguments: port, latency spec, error rate, throttle rate.
+   */
+  public static void main(String[] args) throws Exception {
+    var port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+    var stub = new StubModelServer(port)
+        .withLatency(LatencyDistribution.parse(args.length > 1 ? args[1] : "lognormal:300:0.5"))
+        .withErrorRate(args.length > 2 ? Double.parseDouble(args[2]) : 0.0)
+        .withThrottleRate(args.length > 3 ? Double.parseDouble(args[3]) : 0.0)
+        .start();
+    System.out.println("Stub model server listening on " + stub.baseUrl());
+    Thread.currentThread().join();
+  }
+}